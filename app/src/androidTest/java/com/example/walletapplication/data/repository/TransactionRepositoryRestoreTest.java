@@ -0,0 +1,87 @@
+package com.example.walletapplication.data.repository;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.database.DatabaseExecutors;
+import com.example.walletapplication.data.local.database.WalletDatabase;
+import com.example.walletapplication.data.local.entity.TombstoneEntity;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.Expense;
+import com.example.walletapplication.domain.entity.Transaction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs a restore followed by the change-log reads of an incremental backup against an
+ * in-memory database, the way RestoreBackupChainUseCase and the backup writers use them.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TransactionRepositoryRestoreTest {
+    private WalletDatabase database;
+    private ChangeLogDao changeLogDao;
+    private TransactionRepositoryImpl repository;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DatabaseExecutors executors = new DatabaseExecutors(1);
+        database = Room.inMemoryDatabaseBuilder(context, WalletDatabase.class)
+                .setQueryExecutor(executors.reader())
+                .setTransactionExecutor(executors.backgroundWriter())
+                .build();
+        changeLogDao = database.changeLogDao();
+        repository = new TransactionRepositoryImpl(database, database.transactionDao(),
+                database.monthlyRollupDao(), changeLogDao, executors, new TransactionCache(100));
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void deleteAllTransactions_ThenRestore_IncrementalShouldCarryDroppedRows() {
+        // Arrange
+        List<Long> ids = repository.insertAll(Arrays.asList(
+                expense(null, "10.00"), expense(null, "20.00"), expense(null, "30.00"))).join();
+        // A full backup taken here is the base of the next incremental backup
+        long fullBackupSeq = changeLogDao.getCurrentSequence();
+
+        // Act: restore a chain that only holds the first two rows
+        repository.deleteAllTransactions().join();
+        repository.upsertAll(Arrays.asList(
+                expense(ids.get(0), "10.00"), expense(ids.get(1), "20.00"))).join();
+
+        // Assert
+        List<TombstoneEntity> tombstones = changeLogDao.getTombstonesChangedSince(fullBackupSeq);
+        assertEquals(1, tombstones.size());
+        assertEquals(BackupDeletion.TYPE_TRANSACTION, tombstones.get(0).getRecordType());
+        assertEquals(String.valueOf(ids.get(2)), tombstones.get(0).getRecordKey());
+        assertEquals(2, database.transactionDao().getTransactionCountChangedSince(fullBackupSeq));
+    }
+
+    private static Transaction expense(Long id, String amount) {
+        return new Expense.Builder()
+                .setId(id)
+                .setAmount(new BigDecimal(amount))
+                .setDescription("Market")
+                .setCategory("market")
+                .setDate(LocalDateTime.of(2024, 3, 1, 12, 0))
+                .build();
+    }
+}
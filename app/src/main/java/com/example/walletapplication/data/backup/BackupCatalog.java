@@ -0,0 +1,131 @@
+package com.example.walletapplication.data.backup;
+
+import android.util.Log;
+
+import com.example.walletapplication.domain.entity.BackupCatalogEntry;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the backups in the backup directory, kept in a small JSON file next to them so the
+ * backup list can be shown without opening every file. The index is loaded on first use and
+ * rewritten through a temporary file after each change. A missing or unreadable index simply
+ * starts empty and is rebuilt by the caller from the file headers.
+ */
+public class BackupCatalog {
+    private static final String TAG = "BackupCatalog";
+    // The extension keeps the index out of BackupFormat.fromFileName and so out of backup listings
+    public static final String FILE_NAME = "backup_catalog.idx";
+    private static final int CATALOG_VERSION = 1;
+
+    private final File indexFile;
+    private final Gson gson;
+    private Map<String, BackupCatalogEntry> entries;
+
+    public BackupCatalog(String directoryPath, Gson gson) {
+        this.indexFile = new File(directoryPath, FILE_NAME);
+        this.gson = gson;
+    }
+
+    /**
+     * Returns a copy of the cataloged entries keyed by file path
+     */
+    public synchronized Map<String, BackupCatalogEntry> getEntries() {
+        return new LinkedHashMap<>(loadEntries());
+    }
+
+    public synchronized void put(BackupCatalogEntry entry) {
+        loadEntries().put(entry.getFilePath(), entry);
+        save();
+    }
+
+    public synchronized void remove(String filePath) {
+        if (loadEntries().remove(filePath) != null) {
+            save();
+        }
+    }
+
+    /**
+     * Replaces the whole catalog, used after reconciling it with the directory
+     */
+    public synchronized void replaceAll(Collection<BackupCatalogEntry> newEntries) {
+        Map<String, BackupCatalogEntry> replaced = new LinkedHashMap<>();
+        for (BackupCatalogEntry entry : newEntries) {
+            replaced.put(entry.getFilePath(), entry);
+        }
+        entries = replaced;
+        save();
+    }
+
+    private Map<String, BackupCatalogEntry> loadEntries() {
+        if (entries != null) {
+            return entries;
+        }
+        entries = new LinkedHashMap<>();
+        if (!indexFile.isFile()) {
+            return entries;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(indexFile), StandardCharsets.UTF_8)) {
+            CatalogFile file = gson.fromJson(reader, CatalogFile.class);
+            if (file != null && file.version == CATALOG_VERSION && file.entries != null) {
+                for (BackupCatalogEntry entry : file.entries) {
+                    if (entry != null && entry.getFilePath() != null) {
+                        entries.put(entry.getFilePath(), entry);
+                    }
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "Discarding unreadable backup catalog", e);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void save() {
+        File directory = indexFile.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            Log.w(TAG, "Failed to create backup directory for the catalog");
+            return;
+        }
+
+        CatalogFile file = new CatalogFile();
+        file.version = CATALOG_VERSION;
+        file.entries = new ArrayList<>(entries.values());
+
+        File tempFile = new File(indexFile.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+            gson.toJson(file, writer);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Failed to write backup catalog", e);
+            tempFile.delete();
+            return;
+        }
+        // rename replaces the old index atomically, so a crash never leaves a half written one
+        if (!tempFile.renameTo(indexFile)) {
+            Log.w(TAG, "Failed to replace backup catalog");
+            tempFile.delete();
+            // A stale index would hide changes; without one the next listing rebuilds it
+            indexFile.delete();
+        }
+    }
+
+    private static class CatalogFile {
+        int version;
+        List<BackupCatalogEntry> entries;
+    }
+}
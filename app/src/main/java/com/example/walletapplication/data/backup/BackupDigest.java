@@ -0,0 +1,135 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.data.local.converter.AmountConverter;
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+
+/**
+ * SHA-256 over the records of a backup in file order. Each field is fed in a canonical
+ * form (amounts as minor units, transaction dates as epoch millis, strings as UTF-8 with a
+ * length prefix), so JSON, gzip and binary backups of the same data share one checksum and
+ * writers can hash rows straight from their entities.
+ */
+public final class BackupDigest {
+    private static final byte TAG_TRANSACTION = 'T';
+    private static final byte TAG_CATEGORY = 'C';
+    private static final byte TAG_DELETION = 'D';
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[8];
+
+    public BackupDigest() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java and Android runtime is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void updateTransaction(Long id, long amountMinor, long dateMillis, String type, String description,
+                                  String category, String paymentMethod, String vendor, String source,
+                                  String incomeType) {
+        digest.update(TAG_TRANSACTION);
+        updateLong(id);
+        updateLong(amountMinor);
+        updateLong(dateMillis);
+        updateString(type);
+        updateString(description);
+        updateString(category);
+        updateString(paymentMethod);
+        updateString(vendor);
+        updateString(source);
+        updateString(incomeType);
+    }
+
+    public void updateTransaction(BackupTransaction transaction) {
+        updateTransaction(transaction.getId(),
+                transaction.getAmount() != null ? AmountConverter.toMinorUnits(transaction.getAmount()) : 0L,
+                transaction.getDate() != null ? EpochMillisConverter.toEpochMillis(transaction.getDate()) : 0L,
+                transaction.getType(),
+                transaction.getDescription(),
+                transaction.getCategory(),
+                transaction.getPaymentMethod(),
+                transaction.getVendor(),
+                transaction.getSource(),
+                transaction.getIncomeType());
+    }
+
+    public void updateCategory(Long id, String name, String displayName, String type, String iconName,
+                               String color, boolean isDefault, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        digest.update(TAG_CATEGORY);
+        updateLong(id);
+        updateString(name);
+        updateString(displayName);
+        updateString(type);
+        updateString(iconName);
+        updateString(color);
+        digest.update((byte) (isDefault ? 1 : 0));
+        updateString(createdAt != null ? createdAt.format(BackupJson.DATE_FORMATTER) : null);
+        updateString(updatedAt != null ? updatedAt.format(BackupJson.DATE_FORMATTER) : null);
+    }
+
+    public void updateCategory(BackupCategory category) {
+        updateCategory(category.getId(), category.getName(), category.getDisplayName(), category.getType(),
+                category.getIconName(), category.getColor(), category.isDefault(), category.getCreatedAt(),
+                category.getUpdatedAt());
+    }
+
+    public void updateDeletion(String recordType, String recordKey) {
+        digest.update(TAG_DELETION);
+        updateString(recordType);
+        updateString(recordKey);
+    }
+
+    public void updateDeletion(BackupDeletion deletion) {
+        updateDeletion(deletion.getRecordType(), deletion.getRecordKey());
+    }
+
+    /**
+     * Finishes the digest and returns it as lowercase hex. The digest is reset afterwards.
+     */
+    public String toHex() {
+        byte[] hash = digest.digest();
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private void updateLong(Long value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        digest.update((byte) 1);
+        updateLong(value.longValue());
+    }
+
+    private void updateLong(long value) {
+        for (int i = 7; i >= 0; i--) {
+            buffer[i] = (byte) value;
+            value >>>= 8;
+        }
+        digest.update(buffer, 0, 8);
+    }
+
+    private void updateString(String value) {
+        if (value == null) {
+            updateLong(-1L);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateLong(bytes.length);
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.walletapplication.data.backup;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Field names of the JSON backup document, matching the Gson layout of BackupData
+ */
+final class BackupJson {
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    static final String VERSION = "version";
+    static final String CREATED_AT = "createdAt";
+    static final String METADATA = "metadata";
+    static final String TRANSACTIONS = "transactions";
+    static final String CATEGORIES = "categories";
+    static final String DELETIONS = "deletions";
+
+    // Metadata
+    static final String APP_VERSION = "appVersion";
+    static final String DEVICE_MODEL = "deviceModel";
+    static final String DEVICE_ID = "deviceId";
+    static final String EXPORTED_AT = "exportedAt";
+    static final String TRANSACTION_COUNT = "transactionCount";
+    static final String CATEGORY_COUNT = "categoryCount";
+    static final String CHECKSUM = "checksum";
+    static final String CHANGE_SEQ = "changeSeq";
+    static final String BASE_CHANGE_SEQ = "baseChangeSeq";
+
+    // Shared by transactions and categories
+    static final String ID = "id";
+    static final String TYPE = "type";
+
+    // Transactions
+    static final String AMOUNT = "amount";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String DATE = "date";
+    static final String PAYMENT_METHOD = "paymentMethod";
+    static final String VENDOR = "vendor";
+    static final String SOURCE = "source";
+    static final String INCOME_TYPE = "incomeType";
+
+    // Categories
+    static final String NAME = "name";
+    static final String DISPLAY_NAME = "displayName";
+    static final String ICON_NAME = "iconName";
+    static final String COLOR = "color";
+    static final String IS_DEFAULT = "isDefault";
+    static final String UPDATED_AT = "updatedAt";
+
+    // Deletions
+    static final String RECORD_TYPE = "recordType";
+    static final String RECORD_KEY = "recordKey";
+
+    private BackupJson() {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.domain.repository.BackupRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parses one backup encoding record by record
+ */
+public interface BackupReader {
+
+    /**
+     * Reads the complete backup from the stream. The stream is not closed.
+     */
+    void read(InputStream in, BackupRepository.BackupVisitor visitor) throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.domain.entity.BackupMetadata;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Streams the database into one backup encoding
+ */
+public interface BackupWriter {
+
+    /**
+     * Receives the number of records written so far, once per page or block of rows
+     */
+    interface ProgressListener {
+        void onRecordsWritten(int recordsWritten);
+    }
+
+    /**
+     * Writes the complete backup to the stream. The stream is flushed but not closed.
+     */
+    void write(OutputStream out, String version, LocalDateTime createdAt, BackupMetadata metadata)
+            throws IOException;
+
+    int getTransactionsWritten();
+
+    int getCategoriesWritten();
+
+    /**
+     * SHA-256 of the records written, see BackupDigest. Available once write returns.
+     */
+    String getChecksum();
+
+    /**
+     * Sets the listener called from the writing thread while write runs, may be null
+     */
+    void setProgressListener(ProgressListener listener);
+}
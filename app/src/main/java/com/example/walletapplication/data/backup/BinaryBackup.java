@@ -0,0 +1,182 @@
+package com.example.walletapplication.data.backup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Layout and primitive encodings of the binary columnar backup.
+ *
+ * <pre>
+ * file     := MAGIC formatVersion:u8 header block* BLOCK_END
+ * header   := version:str createdAt:date hasMetadata:u8 [metadata]
+ * block    := BLOCK_TRANSACTIONS rows:varint newStrings:varint str* column*
+ *           | BLOCK_CATEGORIES rows:varint categoryRow*
+ *           | BLOCK_DELETIONS rows:varint (recordType:str recordKey:str)*
+ *           | BLOCK_CHECKSUM checksum:str
+ * </pre>
+ *
+ * Transaction blocks store each field as one column: ids and dates as zigzag deltas,
+ * amounts as zigzag minor units, types as one byte, and categories, payment methods,
+ * vendors, sources and income types as references into a string table that grows
+ * block by block. Descriptions are stored inline.
+ *
+ * Version 2 adds the change sequences to the metadata and the deletions block written by
+ * incremental backups. Version 3 adds the trailing checksum block. Older files are still
+ * read.
+ */
+final class BinaryBackup {
+    static final byte[] MAGIC = {'W', 'B', 'K', 'P'};
+    static final int FORMAT_VERSION = 3;
+    static final int MIN_FORMAT_VERSION = 1;
+
+    static final int BLOCK_END = 0;
+    static final int BLOCK_TRANSACTIONS = 1;
+    static final int BLOCK_CATEGORIES = 2;
+    static final int BLOCK_DELETIONS = 3;
+    static final int BLOCK_CHECKSUM = 4;
+
+    /** Rows per transaction block, also the database page size used while exporting */
+    static final int BLOCK_SIZE = 4096;
+
+    // Transaction type column
+    static final int TYPE_NULL = 0;
+    static final int TYPE_INCOME = 1;
+    static final int TYPE_EXPENSE = 2;
+
+    /** String table reference for null */
+    static final int NO_STRING = 0;
+
+    private BinaryBackup() {
+    }
+
+    /**
+     * Checks the stream for the binary magic without consuming it. Requires mark support.
+     */
+    static boolean hasMagic(InputStream in) throws IOException {
+        in.mark(MAGIC.length);
+        try {
+            for (byte b : MAGIC) {
+                if (in.read() != (b & 0xff)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            in.reset();
+        }
+    }
+
+    static void writeVarint(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarint(DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static int readCount(DataInput in) throws IOException {
+        long value = readVarint(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid count: " + value);
+        }
+        return (int) value;
+    }
+
+    static void writeSignedVarint(DataOutput out, long value) throws IOException {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readSignedVarint(DataInput in) throws IOException {
+        long value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes a nullable non-negative number as value + 1, with 0 meaning null
+     */
+    static void writeOptionalVarint(DataOutput out, Long value) throws IOException {
+        writeVarint(out, value != null ? value + 1 : 0L);
+    }
+
+    static Long readOptionalVarint(DataInput in) throws IOException {
+        long value = readVarint(in);
+        return value != 0 ? value - 1 : null;
+    }
+
+    /**
+     * Writes a nullable UTF-8 string as length + 1, with 0 meaning null
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = readCount(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a nullable date as a presence byte, epoch seconds (UTC wall clock) and nanos
+     */
+    static void writeDate(DataOutput out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        writeSignedVarint(out, value.toEpochSecond(ZoneOffset.UTC));
+        writeVarint(out, value.getNano());
+    }
+
+    static LocalDateTime readDate(DataInput in) throws IOException {
+        if (in.readUnsignedByte() == 0) {
+            return null;
+        }
+        long epochSecond = readSignedVarint(in);
+        int nano = readCount(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    static void readMagic(DataInput in) throws IOException {
+        for (byte b : MAGIC) {
+            int read;
+            try {
+                read = in.readUnsignedByte();
+            } catch (EOFException e) {
+                throw new IOException("Not a binary backup", e);
+            }
+            if (read != (b & 0xff)) {
+                throw new IOException("Not a binary backup");
+            }
+        }
+    }
+}
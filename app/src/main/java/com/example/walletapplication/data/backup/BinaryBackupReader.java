@@ -0,0 +1,201 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.data.local.converter.AmountConverter;
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+import com.example.walletapplication.domain.entity.TransactionType;
+import com.example.walletapplication.domain.repository.BackupRepository;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the binary columnar backup one block at a time and hands each record to a visitor
+ */
+public class BinaryBackupReader implements BackupReader {
+
+    /**
+     * Checks for the binary magic without consuming it. The stream must support mark.
+     */
+    public static boolean isBinaryBackup(InputStream in) throws IOException {
+        return BinaryBackup.hasMagic(in);
+    }
+
+    @Override
+    public void read(InputStream in, BackupRepository.BackupVisitor visitor) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+
+        BinaryBackup.readMagic(data);
+        int formatVersion = data.readUnsignedByte();
+        if (formatVersion < BinaryBackup.MIN_FORMAT_VERSION || formatVersion > BinaryBackup.FORMAT_VERSION) {
+            throw new IOException("Unsupported binary backup format version: " + formatVersion);
+        }
+
+        String version = BinaryBackup.readString(data);
+        LocalDateTime createdAt = BinaryBackup.readDate(data);
+        BackupMetadata metadata = readMetadata(data, formatVersion);
+        visitor.onHeader(version, createdAt, metadata);
+
+        // Dictionary entries are appended block by block; index 0 is the null reference
+        List<String> stringTable = new ArrayList<>();
+        stringTable.add(null);
+        long[] previous = new long[2];
+        boolean hasCategories = false;
+
+        int block;
+        while ((block = data.readUnsignedByte()) != BinaryBackup.BLOCK_END) {
+            switch (block) {
+                case BinaryBackup.BLOCK_TRANSACTIONS:
+                    readTransactionBlock(data, stringTable, previous, visitor);
+                    break;
+                case BinaryBackup.BLOCK_CATEGORIES:
+                    hasCategories = true;
+                    readCategoryBlock(data, visitor);
+                    break;
+                case BinaryBackup.BLOCK_DELETIONS:
+                    readDeletionBlock(data, visitor);
+                    break;
+                case BinaryBackup.BLOCK_CHECKSUM:
+                    visitor.onChecksum(BinaryBackup.readString(data));
+                    break;
+                default:
+                    throw new IOException("Unknown block type: " + block);
+            }
+        }
+
+        // The transaction section is always present, it is just empty for an empty ledger
+        visitor.onEnd(true, hasCategories);
+    }
+
+    private static BackupMetadata readMetadata(DataInputStream data, int formatVersion) throws IOException {
+        if (data.readUnsignedByte() == 0) {
+            return null;
+        }
+        BackupMetadata.Builder builder = new BackupMetadata.Builder()
+                .setAppVersion(BinaryBackup.readString(data))
+                .setDeviceModel(BinaryBackup.readString(data))
+                .setDeviceId(BinaryBackup.readString(data))
+                .setExportedAt(BinaryBackup.readDate(data))
+                .setTransactionCount(BinaryBackup.readCount(data))
+                .setCategoryCount(BinaryBackup.readCount(data))
+                .setChecksum(BinaryBackup.readString(data));
+        if (formatVersion >= 2) {
+            builder.setChangeSeq(BinaryBackup.readOptionalVarint(data))
+                    .setBaseChangeSeq(BinaryBackup.readOptionalVarint(data));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param previous Last id and date of the previous block, the base for the delta columns
+     */
+    private static void readTransactionBlock(DataInputStream data, List<String> stringTable, long[] previous,
+                                             BackupRepository.BackupVisitor visitor) throws IOException {
+        int count = BinaryBackup.readCount(data);
+        int newStrings = BinaryBackup.readCount(data);
+        for (int i = 0; i < newStrings; i++) {
+            stringTable.add(BinaryBackup.readString(data));
+        }
+
+        long[] ids = new long[count];
+        long[] amounts = new long[count];
+        long[] dates = new long[count];
+        int[] types = new int[count];
+        for (int i = 0; i < count; i++) {
+            previous[0] += BinaryBackup.readSignedVarint(data);
+            ids[i] = previous[0];
+        }
+        for (int i = 0; i < count; i++) {
+            amounts[i] = BinaryBackup.readSignedVarint(data);
+        }
+        for (int i = 0; i < count; i++) {
+            previous[1] += BinaryBackup.readSignedVarint(data);
+            dates[i] = previous[1];
+        }
+        for (int i = 0; i < count; i++) {
+            types[i] = data.readUnsignedByte();
+        }
+        String[] categories = readReferences(data, stringTable, count);
+        String[] paymentMethods = readReferences(data, stringTable, count);
+        String[] vendors = readReferences(data, stringTable, count);
+        String[] sources = readReferences(data, stringTable, count);
+        String[] incomeTypes = readReferences(data, stringTable, count);
+
+        // Descriptions are the last column, so rows can be emitted while reading it
+        for (int i = 0; i < count; i++) {
+            visitor.onTransaction(new BackupTransaction.Builder()
+                    .setId(ids[i])
+                    .setAmount(AmountConverter.fromMinorUnits(amounts[i]))
+                    .setDescription(BinaryBackup.readString(data))
+                    .setCategory(categories[i])
+                    .setDate(EpochMillisConverter.fromEpochMillis(dates[i]))
+                    .setType(typeName(types[i]))
+                    .setPaymentMethod(paymentMethods[i])
+                    .setVendor(vendors[i])
+                    .setSource(sources[i])
+                    .setIncomeType(incomeTypes[i])
+                    .build());
+        }
+    }
+
+    private static void readCategoryBlock(DataInputStream data, BackupRepository.BackupVisitor visitor)
+            throws IOException {
+        int count = BinaryBackup.readCount(data);
+        for (int i = 0; i < count; i++) {
+            long id = BinaryBackup.readVarint(data);
+            visitor.onCategory(new BackupCategory.Builder()
+                    .setId(id != 0 ? id - 1 : null)
+                    .setName(BinaryBackup.readString(data))
+                    .setDisplayName(BinaryBackup.readString(data))
+                    .setType(BinaryBackup.readString(data))
+                    .setIconName(BinaryBackup.readString(data))
+                    .setColor(BinaryBackup.readString(data))
+                    .setIsDefault(data.readUnsignedByte() != 0)
+                    .setCreatedAt(BinaryBackup.readDate(data))
+                    .setUpdatedAt(BinaryBackup.readDate(data))
+                    .build());
+        }
+    }
+
+    private static void readDeletionBlock(DataInputStream data, BackupRepository.BackupVisitor visitor)
+            throws IOException {
+        int count = BinaryBackup.readCount(data);
+        for (int i = 0; i < count; i++) {
+            visitor.onDeletion(new BackupDeletion(BinaryBackup.readString(data), BinaryBackup.readString(data)));
+        }
+    }
+
+    private static String[] readReferences(DataInputStream data, List<String> stringTable, int count)
+            throws IOException {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int reference = BinaryBackup.readCount(data);
+            if (reference >= stringTable.size()) {
+                throw new IOException("Invalid string reference: " + reference);
+            }
+            values[i] = stringTable.get(reference);
+        }
+        return values;
+    }
+
+    private static String typeName(int code) throws IOException {
+        switch (code) {
+            case BinaryBackup.TYPE_NULL:
+                return null;
+            case BinaryBackup.TYPE_INCOME:
+                return TransactionType.INCOME.name();
+            case BinaryBackup.TYPE_EXPENSE:
+                return TransactionType.EXPENSE.name();
+            default:
+                throw new IOException("Invalid transaction type code: " + code);
+        }
+    }
+}
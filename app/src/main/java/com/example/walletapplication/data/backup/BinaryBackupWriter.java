@@ -0,0 +1,267 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.dao.TransactionDao;
+import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.data.local.entity.TombstoneEntity;
+import com.example.walletapplication.data.local.entity.TransactionEntity;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.TransactionType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the database into the binary columnar backup layout described in BinaryBackup.
+ * Amounts and dates are written straight from their integer columns, so no BigDecimal or
+ * LocalDateTime is created per transaction. When the metadata names a base change sequence
+ * only rows changed after it are written, followed by a deletions block.
+ */
+public class BinaryBackupWriter implements BackupWriter {
+    private final TransactionDao transactionDao;
+    private final CategoryDao categoryDao;
+    private final ChangeLogDao changeLogDao;
+    private final int blockSize;
+
+    private final Map<String, Integer> stringTable = new HashMap<>();
+    private final BackupDigest digest = new BackupDigest();
+    private long previousId;
+    private long previousDate;
+    private int transactionsWritten;
+    private int categoriesWritten;
+    private String checksum;
+    private ProgressListener progressListener;
+
+    public BinaryBackupWriter(TransactionDao transactionDao, CategoryDao categoryDao, ChangeLogDao changeLogDao) {
+        this(transactionDao, categoryDao, changeLogDao, BinaryBackup.BLOCK_SIZE);
+    }
+
+    public BinaryBackupWriter(TransactionDao transactionDao, CategoryDao categoryDao, ChangeLogDao changeLogDao,
+                              int blockSize) {
+        this.transactionDao = transactionDao;
+        this.categoryDao = categoryDao;
+        this.changeLogDao = changeLogDao;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public void write(OutputStream out, String version, LocalDateTime createdAt, BackupMetadata metadata)
+            throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+
+        data.write(BinaryBackup.MAGIC);
+        data.writeByte(BinaryBackup.FORMAT_VERSION);
+        BinaryBackup.writeString(data, version);
+        BinaryBackup.writeDate(data, createdAt);
+        writeMetadata(data, metadata);
+
+        Long baseChangeSeq = metadata != null ? metadata.getBaseChangeSeq() : null;
+        if (baseChangeSeq != null) {
+            writeChangedTransactions(data, baseChangeSeq);
+            writeCategoryBlock(data, categoryDao.getCategoriesChangedSince(baseChangeSeq));
+            writeDeletionBlock(data, changeLogDao.getTombstonesChangedSince(baseChangeSeq));
+        } else {
+            writeTransactions(data);
+            writeCategoryBlock(data, categoryDao.getAllCategories());
+        }
+
+        checksum = digest.toHex();
+        data.writeByte(BinaryBackup.BLOCK_CHECKSUM);
+        BinaryBackup.writeString(data, checksum);
+        data.writeByte(BinaryBackup.BLOCK_END);
+        data.flush();
+    }
+
+    @Override
+    public int getTransactionsWritten() {
+        return transactionsWritten;
+    }
+
+    @Override
+    public int getCategoriesWritten() {
+        return categoriesWritten;
+    }
+
+    @Override
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    private void reportProgress() {
+        if (progressListener != null) {
+            progressListener.onRecordsWritten(transactionsWritten + categoriesWritten);
+        }
+    }
+
+    private void writeTransactions(DataOutputStream data) throws IOException {
+        List<TransactionEntity> page = transactionDao.getFirstTransactionPage(blockSize);
+        while (!page.isEmpty()) {
+            writeTransactionBlock(data, page);
+            if (page.size() < blockSize) {
+                break;
+            }
+            TransactionEntity last = page.get(page.size() - 1);
+            page = transactionDao.getTransactionPageAfter(last.getDate(), last.getId(), blockSize);
+        }
+    }
+
+    private void writeChangedTransactions(DataOutputStream data, long baseChangeSeq) throws IOException {
+        List<TransactionEntity> page = transactionDao.getTransactionsChangedAfter(baseChangeSeq, blockSize);
+        while (!page.isEmpty()) {
+            writeTransactionBlock(data, page);
+            if (page.size() < blockSize) {
+                break;
+            }
+            long lastSeq = page.get(page.size() - 1).getChangeSeq();
+            page = transactionDao.getTransactionsChangedAfter(lastSeq, blockSize);
+        }
+    }
+
+    private static void writeMetadata(DataOutputStream data, BackupMetadata metadata) throws IOException {
+        if (metadata == null) {
+            data.writeByte(0);
+            return;
+        }
+        data.writeByte(1);
+        BinaryBackup.writeString(data, metadata.getAppVersion());
+        BinaryBackup.writeString(data, metadata.getDeviceModel());
+        BinaryBackup.writeString(data, metadata.getDeviceId());
+        BinaryBackup.writeDate(data, metadata.getExportedAt());
+        BinaryBackup.writeVarint(data, metadata.getTransactionCount());
+        BinaryBackup.writeVarint(data, metadata.getCategoryCount());
+        BinaryBackup.writeString(data, metadata.getChecksum());
+        BinaryBackup.writeOptionalVarint(data, metadata.getChangeSeq());
+        BinaryBackup.writeOptionalVarint(data, metadata.getBaseChangeSeq());
+    }
+
+    private void writeTransactionBlock(DataOutputStream data, List<TransactionEntity> rows) throws IOException {
+        int count = rows.size();
+        List<String> newStrings = new ArrayList<>();
+        int[] categories = new int[count];
+        int[] paymentMethods = new int[count];
+        int[] vendors = new int[count];
+        int[] sources = new int[count];
+        int[] incomeTypes = new int[count];
+        for (int i = 0; i < count; i++) {
+            TransactionEntity row = rows.get(i);
+            digest.updateTransaction(row.getId(), row.getAmountMinor(), row.getDate(),
+                    row.getType() != null ? row.getType().name() : null, row.getDescription(), row.getCategory(),
+                    row.getPaymentMethod(), row.getVendor(), row.getSource(), row.getIncomeType());
+            categories[i] = reference(row.getCategory(), newStrings);
+            paymentMethods[i] = reference(row.getPaymentMethod(), newStrings);
+            vendors[i] = reference(row.getVendor(), newStrings);
+            sources[i] = reference(row.getSource(), newStrings);
+            incomeTypes[i] = reference(row.getIncomeType(), newStrings);
+        }
+
+        data.writeByte(BinaryBackup.BLOCK_TRANSACTIONS);
+        BinaryBackup.writeVarint(data, count);
+        BinaryBackup.writeVarint(data, newStrings.size());
+        for (String value : newStrings) {
+            BinaryBackup.writeString(data, value);
+        }
+
+        for (TransactionEntity row : rows) {
+            long id = row.getId() != null ? row.getId() : 0L;
+            BinaryBackup.writeSignedVarint(data, id - previousId);
+            previousId = id;
+        }
+        for (TransactionEntity row : rows) {
+            BinaryBackup.writeSignedVarint(data, row.getAmountMinor());
+        }
+        for (TransactionEntity row : rows) {
+            BinaryBackup.writeSignedVarint(data, row.getDate() - previousDate);
+            previousDate = row.getDate();
+        }
+        for (TransactionEntity row : rows) {
+            data.writeByte(typeCode(row.getType()));
+        }
+        writeReferences(data, categories);
+        writeReferences(data, paymentMethods);
+        writeReferences(data, vendors);
+        writeReferences(data, sources);
+        writeReferences(data, incomeTypes);
+        for (TransactionEntity row : rows) {
+            BinaryBackup.writeString(data, row.getDescription());
+        }
+
+        transactionsWritten += count;
+        reportProgress();
+    }
+
+    private void writeCategoryBlock(DataOutputStream data, List<CategoryEntity> categories) throws IOException {
+        data.writeByte(BinaryBackup.BLOCK_CATEGORIES);
+        BinaryBackup.writeVarint(data, categories.size());
+        for (CategoryEntity category : categories) {
+            String type = category.getType() != null ? category.getType().name() : null;
+            digest.updateCategory(category.getId(), category.getName(), category.getDisplayName(), type,
+                    category.getIconName(), category.getColor(), category.isDefault(), category.getCreatedAt(),
+                    category.getUpdatedAt());
+            BinaryBackup.writeVarint(data, category.getId() != null ? category.getId() + 1 : 0L);
+            BinaryBackup.writeString(data, category.getName());
+            BinaryBackup.writeString(data, category.getDisplayName());
+            BinaryBackup.writeString(data, type);
+            BinaryBackup.writeString(data, category.getIconName());
+            BinaryBackup.writeString(data, category.getColor());
+            data.writeByte(category.isDefault() ? 1 : 0);
+            BinaryBackup.writeDate(data, category.getCreatedAt());
+            BinaryBackup.writeDate(data, category.getUpdatedAt());
+            categoriesWritten++;
+        }
+        reportProgress();
+    }
+
+    private void writeDeletionBlock(DataOutputStream data, List<TombstoneEntity> tombstones)
+            throws IOException {
+        data.writeByte(BinaryBackup.BLOCK_DELETIONS);
+        BinaryBackup.writeVarint(data, tombstones.size());
+        for (TombstoneEntity tombstone : tombstones) {
+            digest.updateDeletion(tombstone.getRecordType(), tombstone.getRecordKey());
+            BinaryBackup.writeString(data, tombstone.getRecordType());
+            BinaryBackup.writeString(data, tombstone.getRecordKey());
+        }
+    }
+
+    /**
+     * Returns the string table reference for a value, adding it to the block's new strings
+     * the first time it is seen
+     */
+    private int reference(String value, List<String> newStrings) {
+        if (value == null) {
+            return BinaryBackup.NO_STRING;
+        }
+        Integer reference = stringTable.get(value);
+        if (reference == null) {
+            reference = stringTable.size() + 1;
+            stringTable.put(value, reference);
+            newStrings.add(value);
+        }
+        return reference;
+    }
+
+    private static void writeReferences(DataOutputStream data, int[] references) throws IOException {
+        for (int reference : references) {
+            BinaryBackup.writeVarint(data, reference);
+        }
+    }
+
+    private static int typeCode(TransactionType type) {
+        if (type == null) {
+            return BinaryBackup.TYPE_NULL;
+        }
+        return type == TransactionType.INCOME ? BinaryBackup.TYPE_INCOME : BinaryBackup.TYPE_EXPENSE;
+    }
+}
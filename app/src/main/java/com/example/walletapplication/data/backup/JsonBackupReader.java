@@ -0,0 +1,282 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+import com.example.walletapplication.domain.repository.BackupRepository;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Parses a JSON backup record by record and hands each one to a visitor, so the
+ * file is never held in memory as a whole
+ */
+public class JsonBackupReader implements BackupReader {
+
+    @Override
+    public void read(InputStream in, BackupRepository.BackupVisitor visitor) throws IOException {
+        JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        String version = null;
+        LocalDateTime createdAt = null;
+        BackupMetadata metadata = null;
+        boolean headerReported = false;
+        boolean hasTransactions = false;
+        boolean hasCategories = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case BackupJson.VERSION:
+                    version = nextString(reader);
+                    break;
+                case BackupJson.CREATED_AT:
+                    createdAt = nextDate(reader);
+                    break;
+                case BackupJson.METADATA:
+                    metadata = readMetadata(reader);
+                    break;
+                case BackupJson.CHECKSUM:
+                    String checksum = nextString(reader);
+                    if (checksum != null) {
+                        visitor.onChecksum(checksum);
+                    }
+                    break;
+                case BackupJson.TRANSACTIONS:
+                case BackupJson.CATEGORIES:
+                case BackupJson.DELETIONS:
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        break;
+                    }
+                    // Files written by this app always put the header before the data arrays
+                    if (!headerReported) {
+                        visitor.onHeader(version, createdAt, metadata);
+                        headerReported = true;
+                    }
+                    if (BackupJson.TRANSACTIONS.equals(name)) {
+                        hasTransactions = true;
+                        readTransactions(reader, visitor);
+                    } else if (BackupJson.CATEGORIES.equals(name)) {
+                        hasCategories = true;
+                        readCategories(reader, visitor);
+                    } else {
+                        readDeletions(reader, visitor);
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (!headerReported) {
+            visitor.onHeader(version, createdAt, metadata);
+        }
+        visitor.onEnd(hasTransactions, hasCategories);
+    }
+
+    private static void readTransactions(JsonReader reader, BackupRepository.BackupVisitor visitor) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            visitor.onTransaction(readTransaction(reader));
+        }
+        reader.endArray();
+    }
+
+    private static void readCategories(JsonReader reader, BackupRepository.BackupVisitor visitor) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            visitor.onCategory(readCategory(reader));
+        }
+        reader.endArray();
+    }
+
+    private static void readDeletions(JsonReader reader, BackupRepository.BackupVisitor visitor) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String recordType = null;
+            String recordKey = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case BackupJson.RECORD_TYPE:
+                        recordType = nextString(reader);
+                        break;
+                    case BackupJson.RECORD_KEY:
+                        recordKey = nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            visitor.onDeletion(new BackupDeletion(recordType, recordKey));
+        }
+        reader.endArray();
+    }
+
+    private static BackupMetadata readMetadata(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        BackupMetadata.Builder builder = new BackupMetadata.Builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case BackupJson.APP_VERSION:
+                    builder.setAppVersion(nextString(reader));
+                    break;
+                case BackupJson.DEVICE_MODEL:
+                    builder.setDeviceModel(nextString(reader));
+                    break;
+                case BackupJson.DEVICE_ID:
+                    builder.setDeviceId(nextString(reader));
+                    break;
+                case BackupJson.EXPORTED_AT:
+                    builder.setExportedAt(nextDate(reader));
+                    break;
+                case BackupJson.TRANSACTION_COUNT:
+                    builder.setTransactionCount(reader.nextInt());
+                    break;
+                case BackupJson.CATEGORY_COUNT:
+                    builder.setCategoryCount(reader.nextInt());
+                    break;
+                case BackupJson.CHECKSUM:
+                    builder.setChecksum(nextString(reader));
+                    break;
+                case BackupJson.CHANGE_SEQ:
+                    builder.setChangeSeq(nextLong(reader));
+                    break;
+                case BackupJson.BASE_CHANGE_SEQ:
+                    builder.setBaseChangeSeq(nextLong(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+
+    private static BackupTransaction readTransaction(JsonReader reader) throws IOException {
+        BackupTransaction.Builder builder = new BackupTransaction.Builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case BackupJson.ID:
+                    builder.setId(nextLong(reader));
+                    break;
+                case BackupJson.AMOUNT:
+                    String amount = nextString(reader);
+                    builder.setAmount(amount != null ? new BigDecimal(amount) : null);
+                    break;
+                case BackupJson.DESCRIPTION:
+                    builder.setDescription(nextString(reader));
+                    break;
+                case BackupJson.CATEGORY:
+                    builder.setCategory(nextString(reader));
+                    break;
+                case BackupJson.DATE:
+                    builder.setDate(nextDate(reader));
+                    break;
+                case BackupJson.TYPE:
+                    builder.setType(nextString(reader));
+                    break;
+                case BackupJson.PAYMENT_METHOD:
+                    builder.setPaymentMethod(nextString(reader));
+                    break;
+                case BackupJson.VENDOR:
+                    builder.setVendor(nextString(reader));
+                    break;
+                case BackupJson.SOURCE:
+                    builder.setSource(nextString(reader));
+                    break;
+                case BackupJson.INCOME_TYPE:
+                    builder.setIncomeType(nextString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+
+    private static BackupCategory readCategory(JsonReader reader) throws IOException {
+        BackupCategory.Builder builder = new BackupCategory.Builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case BackupJson.ID:
+                    builder.setId(nextLong(reader));
+                    break;
+                case BackupJson.NAME:
+                    builder.setName(nextString(reader));
+                    break;
+                case BackupJson.DISPLAY_NAME:
+                    builder.setDisplayName(nextString(reader));
+                    break;
+                case BackupJson.TYPE:
+                    builder.setType(nextString(reader));
+                    break;
+                case BackupJson.ICON_NAME:
+                    builder.setIconName(nextString(reader));
+                    break;
+                case BackupJson.COLOR:
+                    builder.setColor(nextString(reader));
+                    break;
+                case BackupJson.IS_DEFAULT:
+                    builder.setIsDefault(reader.nextBoolean());
+                    break;
+                case BackupJson.CREATED_AT:
+                    builder.setCreatedAt(nextDate(reader));
+                    break;
+                case BackupJson.UPDATED_AT:
+                    builder.setUpdatedAt(nextDate(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static Long nextLong(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextLong();
+    }
+
+    private static LocalDateTime nextDate(JsonReader reader) throws IOException {
+        String value = nextString(reader);
+        return value != null ? LocalDateTime.parse(value, BackupJson.DATE_FORMATTER) : null;
+    }
+}
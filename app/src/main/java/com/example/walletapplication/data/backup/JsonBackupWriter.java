@@ -0,0 +1,226 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.data.local.converter.AmountConverter;
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.dao.TransactionDao;
+import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.data.local.entity.TombstoneEntity;
+import com.example.walletapplication.data.local.entity.TransactionEntity;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Streams the database into the JSON backup layout one page of transactions at a time,
+ * so memory use does not grow with the size of the ledger. When the metadata names a base
+ * change sequence only rows changed after it are written, followed by the deletions.
+ */
+public class JsonBackupWriter implements BackupWriter {
+    static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final TransactionDao transactionDao;
+    private final CategoryDao categoryDao;
+    private final ChangeLogDao changeLogDao;
+    private final int pageSize;
+
+    private final BackupDigest digest = new BackupDigest();
+    private int transactionsWritten;
+    private int categoriesWritten;
+    private String checksum;
+    private ProgressListener progressListener;
+
+    public JsonBackupWriter(TransactionDao transactionDao, CategoryDao categoryDao, ChangeLogDao changeLogDao) {
+        this(transactionDao, categoryDao, changeLogDao, DEFAULT_PAGE_SIZE);
+    }
+
+    public JsonBackupWriter(TransactionDao transactionDao, CategoryDao categoryDao, ChangeLogDao changeLogDao,
+                            int pageSize) {
+        this.transactionDao = transactionDao;
+        this.categoryDao = categoryDao;
+        this.changeLogDao = changeLogDao;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void write(OutputStream out, String version, LocalDateTime createdAt, BackupMetadata metadata)
+            throws IOException {
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        writer.setSerializeNulls(false);
+
+        writer.beginObject();
+        writer.name(BackupJson.VERSION).value(version);
+        writer.name(BackupJson.CREATED_AT).value(formatDate(createdAt));
+        writer.name(BackupJson.METADATA);
+        writeMetadata(writer, metadata);
+
+        Long baseChangeSeq = metadata != null ? metadata.getBaseChangeSeq() : null;
+
+        writer.name(BackupJson.TRANSACTIONS);
+        writer.beginArray();
+        if (baseChangeSeq != null) {
+            writeChangedTransactions(writer, baseChangeSeq);
+        } else {
+            writeTransactions(writer);
+        }
+        writer.endArray();
+
+        writer.name(BackupJson.CATEGORIES);
+        writer.beginArray();
+        List<CategoryEntity> categories = baseChangeSeq != null
+                ? categoryDao.getCategoriesChangedSince(baseChangeSeq) : categoryDao.getAllCategories();
+        for (CategoryEntity category : categories) {
+            writeCategory(writer, category);
+            categoriesWritten++;
+        }
+        writer.endArray();
+        reportProgress();
+
+        if (baseChangeSeq != null) {
+            writer.name(BackupJson.DELETIONS);
+            writer.beginArray();
+            for (TombstoneEntity tombstone : changeLogDao.getTombstonesChangedSince(baseChangeSeq)) {
+                digest.updateDeletion(tombstone.getRecordType(), tombstone.getRecordKey());
+                writer.beginObject();
+                writer.name(BackupJson.RECORD_TYPE).value(tombstone.getRecordType());
+                writer.name(BackupJson.RECORD_KEY).value(tombstone.getRecordKey());
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+
+        // The checksum trails the records it covers so it can be computed in the same pass
+        checksum = digest.toHex();
+        writer.name(BackupJson.CHECKSUM).value(checksum);
+        writer.endObject();
+
+        writer.flush();
+    }
+
+    @Override
+    public int getTransactionsWritten() {
+        return transactionsWritten;
+    }
+
+    @Override
+    public int getCategoriesWritten() {
+        return categoriesWritten;
+    }
+
+    @Override
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    private void reportProgress() {
+        if (progressListener != null) {
+            progressListener.onRecordsWritten(transactionsWritten + categoriesWritten);
+        }
+    }
+
+    private void writeTransactions(JsonWriter writer) throws IOException {
+        List<TransactionEntity> page = transactionDao.getFirstTransactionPage(pageSize);
+        while (!page.isEmpty()) {
+            for (TransactionEntity transaction : page) {
+                writeTransaction(writer, transaction);
+                transactionsWritten++;
+            }
+            reportProgress();
+            if (page.size() < pageSize) {
+                break;
+            }
+            TransactionEntity last = page.get(page.size() - 1);
+            page = transactionDao.getTransactionPageAfter(last.getDate(), last.getId(), pageSize);
+        }
+    }
+
+    private void writeChangedTransactions(JsonWriter writer, long baseChangeSeq) throws IOException {
+        List<TransactionEntity> page = transactionDao.getTransactionsChangedAfter(baseChangeSeq, pageSize);
+        while (!page.isEmpty()) {
+            for (TransactionEntity transaction : page) {
+                writeTransaction(writer, transaction);
+                transactionsWritten++;
+            }
+            reportProgress();
+            if (page.size() < pageSize) {
+                break;
+            }
+            long lastSeq = page.get(page.size() - 1).getChangeSeq();
+            page = transactionDao.getTransactionsChangedAfter(lastSeq, pageSize);
+        }
+    }
+
+    private static void writeMetadata(JsonWriter writer, BackupMetadata metadata) throws IOException {
+        if (metadata == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginObject();
+        writer.name(BackupJson.APP_VERSION).value(metadata.getAppVersion());
+        writer.name(BackupJson.DEVICE_MODEL).value(metadata.getDeviceModel());
+        writer.name(BackupJson.DEVICE_ID).value(metadata.getDeviceId());
+        writer.name(BackupJson.EXPORTED_AT).value(formatDate(metadata.getExportedAt()));
+        writer.name(BackupJson.TRANSACTION_COUNT).value(metadata.getTransactionCount());
+        writer.name(BackupJson.CATEGORY_COUNT).value(metadata.getCategoryCount());
+        writer.name(BackupJson.CHECKSUM).value(metadata.getChecksum());
+        writer.name(BackupJson.CHANGE_SEQ).value(metadata.getChangeSeq());
+        writer.name(BackupJson.BASE_CHANGE_SEQ).value(metadata.getBaseChangeSeq());
+        writer.endObject();
+    }
+
+    private void writeTransaction(JsonWriter writer, TransactionEntity transaction) throws IOException {
+        String type = transaction.getType() != null ? transaction.getType().name() : null;
+        digest.updateTransaction(transaction.getId(), transaction.getAmountMinor(), transaction.getDate(), type,
+                transaction.getDescription(), transaction.getCategory(), transaction.getPaymentMethod(),
+                transaction.getVendor(), transaction.getSource(), transaction.getIncomeType());
+
+        writer.beginObject();
+        writer.name(BackupJson.ID).value(transaction.getId());
+        writer.name(BackupJson.AMOUNT).value(AmountConverter.fromMinorUnits(transaction.getAmountMinor()).toString());
+        writer.name(BackupJson.DESCRIPTION).value(transaction.getDescription());
+        writer.name(BackupJson.CATEGORY).value(transaction.getCategory());
+        writer.name(BackupJson.DATE).value(formatDate(EpochMillisConverter.fromEpochMillis(transaction.getDate())));
+        writer.name(BackupJson.TYPE).value(type);
+        writer.name(BackupJson.PAYMENT_METHOD).value(transaction.getPaymentMethod());
+        writer.name(BackupJson.VENDOR).value(transaction.getVendor());
+        writer.name(BackupJson.SOURCE).value(transaction.getSource());
+        writer.name(BackupJson.INCOME_TYPE).value(transaction.getIncomeType());
+        writer.endObject();
+    }
+
+    private void writeCategory(JsonWriter writer, CategoryEntity category) throws IOException {
+        String type = category.getType() != null ? category.getType().name() : null;
+        digest.updateCategory(category.getId(), category.getName(), category.getDisplayName(), type,
+                category.getIconName(), category.getColor(), category.isDefault(), category.getCreatedAt(),
+                category.getUpdatedAt());
+
+        writer.beginObject();
+        writer.name(BackupJson.ID).value(category.getId());
+        writer.name(BackupJson.NAME).value(category.getName());
+        writer.name(BackupJson.DISPLAY_NAME).value(category.getDisplayName());
+        writer.name(BackupJson.TYPE).value(type);
+        writer.name(BackupJson.ICON_NAME).value(category.getIconName());
+        writer.name(BackupJson.COLOR).value(category.getColor());
+        writer.name(BackupJson.IS_DEFAULT).value(category.isDefault());
+        writer.name(BackupJson.CREATED_AT).value(formatDate(category.getCreatedAt()));
+        writer.name(BackupJson.UPDATED_AT).value(formatDate(category.getUpdatedAt()));
+        writer.endObject();
+    }
+
+    private static String formatDate(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(BackupJson.DATE_FORMATTER) : null;
+    }
+}
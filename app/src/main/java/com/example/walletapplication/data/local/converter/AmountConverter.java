@@ -0,0 +1,35 @@
+package com.example.walletapplication.data.local.converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Converts monetary amounts to and from fixed-scale integer minor units (kuruş)
+ */
+public class AmountConverter {
+    public static final int SCALE = 2;
+
+    private AmountConverter() {
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Parses a legacy TEXT amount as written by BigDecimalConverter
+     */
+    public static long parseToMinorUnits(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return 0L;
+        }
+        return toMinorUnits(new BigDecimal(value.trim()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.walletapplication.data.local.converter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converts LocalDateTime to and from epoch milliseconds for indexed date columns.
+ * Wall-clock values are encoded as UTC so the mapping does not depend on the device time zone.
+ */
+public class EpochMillisConverter {
+    private static final DateTimeFormatter LEGACY_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private EpochMillisConverter() {
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0L;
+        }
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * Parses a legacy TEXT date as written by DateConverter
+     */
+    public static long parseToEpochMillis(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return 0L;
+        }
+        return toEpochMillis(LocalDateTime.parse(value.trim(), LEGACY_FORMATTER));
+    }
+}
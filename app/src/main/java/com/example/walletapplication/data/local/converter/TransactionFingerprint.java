@@ -0,0 +1,81 @@
+package com.example.walletapplication.data.local.converter;
+
+import com.example.walletapplication.data.local.entity.TransactionEntity;
+
+/**
+ * 64-bit content hash of a transaction, stored in the indexed fingerprint column so that
+ * an import can find rows it already holds without comparing every field. The id and
+ * changeSeq are left out: two rows with the same amount, date, type, category, description
+ * and type specific fields are the same transaction for this purpose.
+ *
+ * FNV-1a over the fields in a fixed order, each string prefixed with its length (-1 for
+ * null), followed by a finalizing mix so nearby inputs spread over all 64 bits.
+ */
+public final class TransactionFingerprint {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private TransactionFingerprint() {
+    }
+
+    public static long of(TransactionEntity entity) {
+        return of(entity.getAmountMinor(), entity.getDate(),
+                entity.getType() != null ? entity.getType().name() : null,
+                entity.getCategory(), entity.getDescription(), entity.getPaymentMethod(), entity.getVendor(),
+                entity.getSource(), entity.getIncomeType());
+    }
+
+    /**
+     * @param type TransactionType name as stored in the type column, or null
+     */
+    public static long of(long amountMinor, long dateMillis, String type, String category, String description,
+                          String paymentMethod, String vendor, String source, String incomeType) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, amountMinor);
+        hash = mix(hash, dateMillis);
+        hash = mix(hash, type);
+        hash = mix(hash, category);
+        hash = mix(hash, description);
+        hash = mix(hash, paymentMethod);
+        hash = mix(hash, vendor);
+        hash = mix(hash, source);
+        hash = mix(hash, incomeType);
+        return finish(hash);
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= value & 0xff;
+            hash *= FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash ^= c & 0xff;
+            hash *= FNV_PRIME;
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * MurmurHash3 fmix64
+     */
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
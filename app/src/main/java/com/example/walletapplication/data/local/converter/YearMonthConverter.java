@@ -0,0 +1,29 @@
+package com.example.walletapplication.data.local.converter;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Converts YearMonth to and from the integer yyyyMM key used by monthly_rollups
+ */
+public class YearMonthConverter {
+
+    private YearMonthConverter() {
+    }
+
+    public static int toKey(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+
+    public static YearMonth fromKey(int key) {
+        return YearMonth.of(key / 100, key % 100);
+    }
+
+    /**
+     * Same bucketing as strftime('%Y%m', date / 1000, 'unixepoch') in SQL
+     */
+    public static int keyFromEpochMillis(long epochMillis) {
+        LocalDateTime dateTime = EpochMillisConverter.fromEpochMillis(epochMillis);
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
+    }
+}
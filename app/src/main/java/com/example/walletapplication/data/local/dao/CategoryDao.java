@@ -8,6 +8,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.data.local.model.CategoryNameRow;
 import com.example.walletapplication.domain.entity.CategoryType;
 
 import java.util.List;
@@ -24,6 +25,9 @@ public interface CategoryDao {
     @Update
     void updateCategory(CategoryEntity category);
     
+    @Update
+    void updateCategories(List<CategoryEntity> categories);
+    
     @Query("DELETE FROM categories WHERE id = :categoryId")
     void deleteCategoryById(long categoryId);
     
@@ -48,6 +52,9 @@ public interface CategoryDao {
     @Query("SELECT * FROM categories WHERE isDefault = 0 ORDER BY displayName ASC")
     List<CategoryEntity> getCustomCategories();
     
+    @Query("SELECT id, name FROM categories")
+    List<CategoryNameRow> getCategoryNames();
+    
     @Query("SELECT COUNT(*) > 0 FROM categories WHERE name = :name")
     boolean isCategoryNameExists(String name);
     
@@ -56,4 +63,10 @@ public interface CategoryDao {
     
     @Query("SELECT COUNT(*) FROM categories")
     int getCategoryCount();
-} 
\ No newline at end of file
+    
+    @Query("SELECT * FROM categories WHERE changeSeq > :changeSeq ORDER BY changeSeq ASC")
+    List<CategoryEntity> getCategoriesChangedSince(long changeSeq);
+    
+    @Query("SELECT COUNT(*) FROM categories WHERE changeSeq > :changeSeq")
+    int getCategoryCountChangedSince(long changeSeq);
+}
@@ -0,0 +1,45 @@
+package com.example.walletapplication.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.walletapplication.data.local.entity.TombstoneEntity;
+
+import java.util.List;
+
+/**
+ * Change sequence and deletion tombstones used by incremental backups
+ */
+@Dao
+public interface ChangeLogDao {
+    
+    @Query("INSERT OR IGNORE INTO change_sequence (id, value) VALUES (1, 0)")
+    void ensureSequence();
+    
+    @Query("UPDATE change_sequence SET value = value + :count WHERE id = 1")
+    void advanceSequence(long count);
+    
+    @Query("SELECT COALESCE((SELECT value FROM change_sequence WHERE id = 1), 0)")
+    long getCurrentSequence();
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertTombstone(TombstoneEntity tombstone);
+    
+    /**
+     * Writes a tombstone for every stored transaction, ahead of clearing the table
+     */
+    @Query("INSERT OR REPLACE INTO tombstones (recordType, recordKey, changeSeq) "
+            + "SELECT :recordType, CAST(id AS TEXT), :changeSeq FROM transactions")
+    void insertTransactionTombstones(String recordType, long changeSeq);
+    
+    @Query("DELETE FROM tombstones WHERE recordType = :recordType AND recordKey = :recordKey")
+    void deleteTombstone(String recordType, String recordKey);
+    
+    @Query("SELECT * FROM tombstones WHERE changeSeq > :changeSeq ORDER BY changeSeq ASC")
+    List<TombstoneEntity> getTombstonesChangedSince(long changeSeq);
+    
+    @Query("SELECT COUNT(*) FROM tombstones WHERE changeSeq > :changeSeq")
+    int getTombstoneCountChangedSince(long changeSeq);
+}
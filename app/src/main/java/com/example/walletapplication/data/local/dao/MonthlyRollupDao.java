@@ -0,0 +1,43 @@
+package com.example.walletapplication.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.walletapplication.data.local.model.MonthlyTotalRow;
+import com.example.walletapplication.domain.entity.TransactionType;
+
+import java.util.List;
+
+@Dao
+public interface MonthlyRollupDao {
+    
+    @Query("INSERT OR IGNORE INTO monthly_rollups (yearMonth, type, category, totalMinor, transactionCount) "
+            + "VALUES (:yearMonth, :type, :category, 0, 0)")
+    void ensureRollup(int yearMonth, TransactionType type, String category);
+    
+    @Query("UPDATE monthly_rollups SET totalMinor = totalMinor + :amountDeltaMinor, "
+            + "transactionCount = transactionCount + :countDelta "
+            + "WHERE yearMonth = :yearMonth AND type = :type AND category = :category")
+    void applyDelta(int yearMonth, TransactionType type, String category, long amountDeltaMinor, int countDelta);
+    
+    @Query("DELETE FROM monthly_rollups WHERE yearMonth = :yearMonth AND type = :type AND category = :category "
+            + "AND transactionCount <= 0")
+    void deleteIfEmpty(int yearMonth, TransactionType type, String category);
+    
+    @Query("SELECT yearMonth, type, SUM(totalMinor) AS totalMinor, SUM(transactionCount) AS transactionCount "
+            + "FROM monthly_rollups WHERE yearMonth BETWEEN :fromYearMonth AND :toYearMonth "
+            + "GROUP BY yearMonth, type ORDER BY yearMonth ASC")
+    List<MonthlyTotalRow> getMonthlyTotals(int fromYearMonth, int toYearMonth);
+    
+    @Query("DELETE FROM monthly_rollups")
+    void deleteAll();
+    
+    /**
+     * Recomputes every rollup row from the transactions table
+     */
+    @Query("INSERT INTO monthly_rollups (yearMonth, type, category, totalMinor, transactionCount) "
+            + "SELECT CAST(strftime('%Y%m', date / 1000, 'unixepoch') AS INTEGER), type, COALESCE(category, ''), "
+            + "SUM(amountMinor), COUNT(*) FROM transactions WHERE type IS NOT NULL "
+            + "GROUP BY 1, 2, 3")
+    void insertFromTransactions();
+}
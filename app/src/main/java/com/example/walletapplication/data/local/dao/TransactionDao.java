@@ -4,13 +4,16 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Update;
+import androidx.room.Upsert;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import com.example.walletapplication.data.local.entity.TransactionEntity;
+import com.example.walletapplication.data.local.model.CategoryTotalRow;
+import com.example.walletapplication.data.local.query.FtsMatchQuery;
 import com.example.walletapplication.domain.entity.TransactionType;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Dao
@@ -19,21 +22,53 @@ public interface TransactionDao {
     @Insert
     long insertTransaction(TransactionEntity transaction);
     
+    @Insert
+    List<Long> insertTransactions(List<TransactionEntity> transactions);
+    
+    /**
+     * Inserts rows with their ids kept, updating rows that already exist. Unlike REPLACE this
+     * runs a real UPDATE, so the transactions_fts triggers stay in sync.
+     */
+    @Upsert
+    void upsertTransactions(List<TransactionEntity> transactions);
+    
     @Update
     void updateTransaction(TransactionEntity transaction);
     
     @Query("DELETE FROM transactions WHERE id = :transactionId")
     void deleteTransactionById(long transactionId);
     
+    @Query("DELETE FROM transactions WHERE id IN (:ids)")
+    int deleteTransactionsByIds(List<Long> ids);
+    
+    @Query("DELETE FROM transactions")
+    void deleteAllTransactions();
+    
     @Delete
     void deleteTransaction(TransactionEntity transaction);
     
     @Query("SELECT * FROM transactions WHERE id = :id")
     TransactionEntity getTransactionById(long id);
     
+    @Query("SELECT * FROM transactions WHERE id IN (:ids)")
+    List<TransactionEntity> getTransactionsByIds(List<Long> ids);
+    
     @Query("SELECT * FROM transactions ORDER BY date DESC")
     List<TransactionEntity> getAllTransactions();
     
+    /**
+     * First page of the keyset-paginated list, ordered by (date DESC, id DESC)
+     */
+    @Query("SELECT * FROM transactions ORDER BY date DESC, id DESC LIMIT :limit")
+    List<TransactionEntity> getFirstTransactionPage(int limit);
+    
+    /**
+     * Page that follows the row (date, id); the date bound keeps the scan on index_transactions_date
+     */
+    @Query("SELECT * FROM transactions WHERE date <= :date AND (date < :date OR id < :id) "
+            + "ORDER BY date DESC, id DESC LIMIT :limit")
+    List<TransactionEntity> getTransactionPageAfter(long date, long id, int limit);
+    
     @Query("SELECT * FROM transactions WHERE type = :type ORDER BY date DESC")
     List<TransactionEntity> getTransactionsByType(TransactionType type);
     
@@ -41,23 +76,60 @@ public interface TransactionDao {
     List<TransactionEntity> getTransactionsByCategory(String category);
     
     @Query("SELECT * FROM transactions WHERE date BETWEEN :startDate AND :endDate ORDER BY date DESC")
-    List<TransactionEntity> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    List<TransactionEntity> getTransactionsByDateRange(long startDate, long endDate);
+    
+    @Query("SELECT * FROM transactions WHERE amountMinor BETWEEN :minAmountMinor AND :maxAmountMinor ORDER BY date DESC")
+    List<TransactionEntity> getTransactionsByAmountRange(long minAmountMinor, long maxAmountMinor);
     
-    @Query("SELECT * FROM transactions WHERE amount BETWEEN :minAmount AND :maxAmount ORDER BY date DESC")
-    List<TransactionEntity> getTransactionsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount);
+    /**
+     * Full-text search through transactions_fts; ranks by number of matched terms, then newest first
+     * @param matchQuery FTS MATCH expression, see FtsMatchQuery
+     */
+    @Query("SELECT transactions.* FROM transactions "
+            + "JOIN transactions_fts ON transactions.id = transactions_fts.docid "
+            + "WHERE transactions_fts MATCH :matchQuery "
+            + "ORDER BY " + FtsMatchQuery.MATCH_COUNT_SQL + " DESC, transactions.date DESC")
+    List<TransactionEntity> searchTransactions(String matchQuery);
     
-    @Query("SELECT * FROM transactions WHERE description LIKE '%' || :query || '%' OR category LIKE '%' || :query || '%' ORDER BY date DESC")
-    List<TransactionEntity> searchTransactions(String query);
+    /**
+     * Executes a filtered search built by TransactionQueryBuilder
+     */
+    @RawQuery
+    List<TransactionEntity> filterTransactions(SupportSQLiteQuery query);
     
-    @Query("SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE type = 'INCOME' AND date BETWEEN :startDate AND :endDate")
-    BigDecimal getTotalIncomeByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    @Query("SELECT COALESCE(SUM(amountMinor), 0) FROM transactions WHERE type = 'INCOME' AND date BETWEEN :startDate AND :endDate")
+    long getTotalIncomeMinorByDateRange(long startDate, long endDate);
     
-    @Query("SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE type = 'EXPENSE' AND date BETWEEN :startDate AND :endDate")
-    BigDecimal getTotalExpenseByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    @Query("SELECT COALESCE(SUM(amountMinor), 0) FROM transactions WHERE type = 'EXPENSE' AND date BETWEEN :startDate AND :endDate")
+    long getTotalExpenseMinorByDateRange(long startDate, long endDate);
+    
+    @Query("SELECT category, type, SUM(amountMinor) AS totalMinor, COUNT(*) AS transactionCount "
+            + "FROM transactions WHERE date BETWEEN :startDate AND :endDate "
+            + "GROUP BY category, type ORDER BY totalMinor DESC")
+    List<CategoryTotalRow> getCategoryTotalsByDateRange(long startDate, long endDate);
     
     @Query("SELECT DISTINCT category FROM transactions ORDER BY category ASC")
     List<String> getAllCategories();
     
     @Query("SELECT COUNT(*) FROM transactions")
     int getTransactionCount();
-} 
\ No newline at end of file
+    
+    /**
+     * Rows written after the given change sequence, keyset-paginated by changeSeq
+     */
+    @Query("SELECT * FROM transactions WHERE changeSeq > :changeSeq ORDER BY changeSeq ASC LIMIT :limit")
+    List<TransactionEntity> getTransactionsChangedAfter(long changeSeq, int limit);
+    
+    @Query("SELECT COUNT(*) FROM transactions WHERE changeSeq > :changeSeq")
+    int getTransactionCountChangedSince(long changeSeq);
+    
+    @Query("SELECT COALESCE(MAX(id), 0) FROM transactions")
+    long getMaxTransactionId();
+    
+    /**
+     * Returns the fingerprint of every row with id up to maxId that matches one of the given
+     * fingerprints, once per row, so identical rows are counted
+     */
+    @Query("SELECT fingerprint FROM transactions WHERE fingerprint IN (:fingerprints) AND id <= :maxId")
+    List<Long> getMatchingFingerprints(List<Long> fingerprints, long maxId);
+} 
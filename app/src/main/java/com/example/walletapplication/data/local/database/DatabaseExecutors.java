@@ -0,0 +1,123 @@
+package com.example.walletapplication.data.local.database;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread lanes for database work. SQLite runs one writer at a time, so all writes share a
+ * single thread instead of queueing on the connection lock; reads run on a small pool.
+ * Both lanes order their queue by priority, so screen-driven work (a list page, a search
+ * keystroke, adding a transaction) runs ahead of queued background work such as backup
+ * export, import batches and rollup rebuilds. Tasks of equal priority run in submission
+ * order. A running task is never interrupted.
+ *
+ * Tasks on the writer lane must not block on other writer lane tasks: with one thread
+ * that would never complete.
+ *
+ * File work (backup files and the import and restore stages) runs on a separate I/O pool,
+ * so a task blocked on a disk read or on a full import queue never holds a reader thread.
+ */
+public final class DatabaseExecutors {
+    private static final int PRIORITY_FOREGROUND = 0;
+    private static final int PRIORITY_BACKGROUND = 1;
+    private static final long IO_KEEP_ALIVE_SECONDS = 30L;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor readPool;
+    private final ThreadPoolExecutor writePool;
+    private final ThreadPoolExecutor ioPool;
+
+    public DatabaseExecutors(int readerThreads) {
+        this.readPool = newPriorityPool(readerThreads, "db-reader");
+        this.writePool = newPriorityPool(1, "db-writer");
+        // Threads are made on demand: these tasks wait on each other (the import parser fills
+        // the queue its writer drains), so a fixed pool could run out of threads and stall
+        this.ioPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, IO_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), newThreadFactory("file-io"));
+    }
+
+    /**
+     * Reads whose result a screen is waiting for
+     */
+    public Executor reader() {
+        return lane(readPool, PRIORITY_FOREGROUND);
+    }
+
+    /**
+     * Long or bulk reads nobody is looking at yet, such as streaming a backup
+     */
+    public Executor backgroundReader() {
+        return lane(readPool, PRIORITY_BACKGROUND);
+    }
+
+    /**
+     * Single-row writes made by the user
+     */
+    public Executor writer() {
+        return lane(writePool, PRIORITY_FOREGROUND);
+    }
+
+    /**
+     * Bulk writes such as import batches, restores and rollup rebuilds
+     */
+    public Executor backgroundWriter() {
+        return lane(writePool, PRIORITY_BACKGROUND);
+    }
+
+    /**
+     * Backup file reads and writes, and the import and restore stages that wait on them
+     */
+    public Executor io() {
+        return ioPool;
+    }
+
+    private Executor lane(ThreadPoolExecutor pool, int priority) {
+        return task -> pool.execute(new PrioritizedTask(task, priority, sequence.getAndIncrement()));
+    }
+
+    private static ThreadPoolExecutor newPriorityPool(int threads, String name) {
+        // With an unbounded queue the pool never grows past its core size
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), newThreadFactory(name));
+    }
+
+    private static ThreadFactory newThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private final Runnable task;
+        private final int priority;
+        private final long sequence;
+
+        PrioritizedTask(Runnable task, int priority, long sequence) {
+            this.task = task;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -11,12 +11,19 @@ import com.example.walletapplication.data.local.converter.BigDecimalConverter;
 import com.example.walletapplication.data.local.converter.DateConverter;
 import com.example.walletapplication.data.local.dao.TransactionDao;
 import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.MonthlyRollupDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.entity.ChangeSequenceEntity;
 import com.example.walletapplication.data.local.entity.TransactionEntity;
+import com.example.walletapplication.data.local.entity.TransactionFtsEntity;
 import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.data.local.entity.MonthlyRollupEntity;
+import com.example.walletapplication.data.local.entity.TombstoneEntity;
 
 @Database(
-    entities = {TransactionEntity.class, CategoryEntity.class},
-    version = 2,
+    entities = {TransactionEntity.class, TransactionFtsEntity.class, CategoryEntity.class,
+        MonthlyRollupEntity.class, ChangeSequenceEntity.class, TombstoneEntity.class},
+    version = 8,
     exportSchema = false
 )
 @TypeConverters({DateConverter.class, BigDecimalConverter.class})
@@ -27,8 +34,15 @@ public abstract class WalletDatabase extends RoomDatabase {
     
     public abstract TransactionDao transactionDao();
     public abstract CategoryDao categoryDao();
+    public abstract MonthlyRollupDao monthlyRollupDao();
+    public abstract ChangeLogDao changeLogDao();
     
-    public static WalletDatabase getInstance(Context context) {
+    /**
+     * @param executors Room runs its own queries (invalidation tracking, observable queries)
+     *                  and transactions on the same lanes as the repositories, so there is
+     *                  one set of database threads
+     */
+    public static WalletDatabase getInstance(Context context, DatabaseExecutors executors) {
         if (INSTANCE == null) {
             synchronized (WalletDatabase.class) {
                 if (INSTANCE == null) {
@@ -37,7 +51,13 @@ public abstract class WalletDatabase extends RoomDatabase {
                         WalletDatabase.class,
                         DATABASE_NAME
                     )
-                    .fallbackToDestructiveMigration()
+                    .addMigrations(WalletMigrations.ALL)
+                    // Readers see the last commit while a long import or rollup rebuild writes
+                    .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                    .setQueryExecutor(executors.reader())
+                    .setTransactionExecutor(executors.backgroundWriter())
+                    // Only the pre-release v1 schema has no migration path
+                    .fallbackToDestructiveMigrationFrom(1)
                     .build();
                 }
             }
@@ -0,0 +1,244 @@
+package com.example.walletapplication.data.local.database;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.example.walletapplication.data.local.converter.AmountConverter;
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.data.local.converter.TransactionFingerprint;
+
+/**
+ * Schema migrations for WalletDatabase
+ */
+public final class WalletMigrations {
+    private static final String TAG = "WalletMigrations";
+
+    private WalletMigrations() {
+    }
+
+    /**
+     * Replaces the TEXT amount column with integer minor units (amountMinor)
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `transactions_new` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "`amountMinor` INTEGER NOT NULL, "
+                    + "`description` TEXT, "
+                    + "`category` TEXT, "
+                    + "`date` TEXT, "
+                    + "`type` TEXT, "
+                    + "`paymentMethod` TEXT, "
+                    + "`vendor` TEXT, "
+                    + "`source` TEXT, "
+                    + "`incomeType` TEXT)");
+
+            db.execSQL("INSERT INTO `transactions_new` (id, amountMinor, description, category, date, type, "
+                    + "paymentMethod, vendor, source, incomeType) "
+                    + "SELECT id, 0, description, category, date, type, paymentMethod, vendor, source, incomeType "
+                    + "FROM `transactions`");
+
+            // Backfill in Java so decimal strings are converted exactly (no REAL rounding)
+            SupportSQLiteStatement update = db.compileStatement(
+                    "UPDATE `transactions_new` SET amountMinor = ? WHERE id = ?");
+            try (Cursor cursor = db.query("SELECT id, amount FROM `transactions`")) {
+                while (cursor.moveToNext()) {
+                    long id = cursor.getLong(0);
+                    String amount = cursor.isNull(1) ? null : cursor.getString(1);
+                    update.bindLong(1, legacyAmountToMinorUnits(id, amount));
+                    update.bindLong(2, id);
+                    update.executeUpdateDelete();
+                    update.clearBindings();
+                }
+            }
+
+            db.execSQL("DROP TABLE `transactions`");
+            db.execSQL("ALTER TABLE `transactions_new` RENAME TO `transactions`");
+        }
+    };
+
+    /**
+     * Converts the ISO-8601 TEXT date column to epoch millis and adds the date indices
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `transactions_new` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "`amountMinor` INTEGER NOT NULL, "
+                    + "`description` TEXT, "
+                    + "`category` TEXT, "
+                    + "`date` INTEGER NOT NULL, "
+                    + "`type` TEXT, "
+                    + "`paymentMethod` TEXT, "
+                    + "`vendor` TEXT, "
+                    + "`source` TEXT, "
+                    + "`incomeType` TEXT)");
+
+            db.execSQL("INSERT INTO `transactions_new` (id, amountMinor, description, category, date, type, "
+                    + "paymentMethod, vendor, source, incomeType) "
+                    + "SELECT id, amountMinor, description, category, 0, type, paymentMethod, vendor, source, incomeType "
+                    + "FROM `transactions`");
+
+            SupportSQLiteStatement update = db.compileStatement(
+                    "UPDATE `transactions_new` SET date = ? WHERE id = ?");
+            try (Cursor cursor = db.query("SELECT id, date FROM `transactions`")) {
+                while (cursor.moveToNext()) {
+                    long id = cursor.getLong(0);
+                    String date = cursor.isNull(1) ? null : cursor.getString(1);
+                    update.bindLong(1, EpochMillisConverter.parseToEpochMillis(date));
+                    update.bindLong(2, id);
+                    update.executeUpdateDelete();
+                    update.clearBindings();
+                }
+            }
+
+            db.execSQL("DROP TABLE `transactions`");
+            db.execSQL("ALTER TABLE `transactions_new` RENAME TO `transactions`");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_date` ON `transactions` (`date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_type_date` ON `transactions` (`type`, `date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_category_date` ON `transactions` (`category`, `date`)");
+        }
+    };
+
+    /**
+     * Adds the transactions_fts full-text index with the same sync triggers Room generates
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `transactions_fts` USING FTS4("
+                    + "`description` TEXT, `category` TEXT, `vendor` TEXT, `source` TEXT, "
+                    + "tokenize=unicode61, content=`transactions`)");
+
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_transactions_fts_BEFORE_UPDATE "
+                    + "BEFORE UPDATE ON `transactions` BEGIN "
+                    + "DELETE FROM `transactions_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_transactions_fts_BEFORE_DELETE "
+                    + "BEFORE DELETE ON `transactions` BEGIN "
+                    + "DELETE FROM `transactions_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_transactions_fts_AFTER_UPDATE "
+                    + "AFTER UPDATE ON `transactions` BEGIN "
+                    + "INSERT INTO `transactions_fts`(`docid`, `description`, `category`, `vendor`, `source`) "
+                    + "VALUES (NEW.`rowid`, NEW.`description`, NEW.`category`, NEW.`vendor`, NEW.`source`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_transactions_fts_AFTER_INSERT "
+                    + "AFTER INSERT ON `transactions` BEGIN "
+                    + "INSERT INTO `transactions_fts`(`docid`, `description`, `category`, `vendor`, `source`) "
+                    + "VALUES (NEW.`rowid`, NEW.`description`, NEW.`category`, NEW.`vendor`, NEW.`source`); END");
+
+            // Index the rows that already exist
+            db.execSQL("INSERT INTO `transactions_fts`(`transactions_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * Adds monthly_rollups and fills it from the existing transactions
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `monthly_rollups` ("
+                    + "`yearMonth` INTEGER NOT NULL, "
+                    + "`type` TEXT NOT NULL, "
+                    + "`category` TEXT NOT NULL, "
+                    + "`totalMinor` INTEGER NOT NULL, "
+                    + "`transactionCount` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`yearMonth`, `type`, `category`))");
+
+            db.execSQL("INSERT INTO `monthly_rollups` (yearMonth, type, category, totalMinor, transactionCount) "
+                    + "SELECT CAST(strftime('%Y%m', date / 1000, 'unixepoch') AS INTEGER), type, COALESCE(category, ''), "
+                    + "SUM(amountMinor), COUNT(*) FROM `transactions` WHERE type IS NOT NULL "
+                    + "GROUP BY 1, 2, 3");
+        }
+    };
+
+    /**
+     * Adds the changeSeq columns, the change_sequence counter and the tombstones table for
+     * incremental backups. Existing rows keep changeSeq 0, older than any backup taken later.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `transactions` ADD COLUMN `changeSeq` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `categories` ADD COLUMN `changeSeq` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_changeSeq` ON `transactions` (`changeSeq`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_categories_changeSeq` ON `categories` (`changeSeq`)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `change_sequence` ("
+                    + "`id` INTEGER NOT NULL, "
+                    + "`value` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`))");
+            db.execSQL("INSERT OR IGNORE INTO `change_sequence` (id, value) VALUES (1, 0)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `tombstones` ("
+                    + "`recordType` TEXT NOT NULL, "
+                    + "`recordKey` TEXT NOT NULL, "
+                    + "`changeSeq` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`recordType`, `recordKey`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tombstones_changeSeq` ON `tombstones` (`changeSeq`)");
+        }
+    };
+
+    /**
+     * Adds the indexed fingerprint column used to skip duplicate transactions on import and
+     * fills it for the existing rows
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `transactions` ADD COLUMN `fingerprint` INTEGER NOT NULL DEFAULT 0");
+
+            // Hashed in Java so existing rows get exactly the value new writes compute
+            SupportSQLiteStatement update = db.compileStatement(
+                    "UPDATE `transactions` SET fingerprint = ? WHERE id = ?");
+            try (Cursor cursor = db.query("SELECT id, amountMinor, date, type, category, description, "
+                    + "paymentMethod, vendor, source, incomeType FROM `transactions`")) {
+                while (cursor.moveToNext()) {
+                    update.bindLong(1, TransactionFingerprint.of(cursor.getLong(1), cursor.getLong(2),
+                            stringOrNull(cursor, 3), stringOrNull(cursor, 4), stringOrNull(cursor, 5),
+                            stringOrNull(cursor, 6), stringOrNull(cursor, 7), stringOrNull(cursor, 8),
+                            stringOrNull(cursor, 9)));
+                    update.bindLong(2, cursor.getLong(0));
+                    update.executeUpdateDelete();
+                    update.clearBindings();
+                }
+            }
+
+            // Created after the backfill so it is built once instead of updated per row
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_fingerprint` ON `transactions` (`fingerprint`)");
+        }
+    };
+
+    /**
+     * Converts a TEXT amount from before version 3. A value that does not parse is stored as 0
+     * and logged: failing would abort the migration on every launch and lock the user out.
+     */
+    private static long legacyAmountToMinorUnits(long id, String amount) {
+        try {
+            return AmountConverter.parseToMinorUnits(amount);
+        } catch (NumberFormatException | ArithmeticException e) {
+            Log.w(TAG, "Unparsable amount '" + amount + "' for transaction " + id + ", stored as 0", e);
+            return 0L;
+        }
+    }
+
+    private static String stringOrNull(Cursor cursor, int column) {
+        return cursor.isNull(column) ? null : cursor.getString(column);
+    }
+
+    public static final Migration[] ALL = {
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8
+    };
+}
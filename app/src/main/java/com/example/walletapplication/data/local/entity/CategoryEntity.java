@@ -1,5 +1,6 @@
 package com.example.walletapplication.data.local.entity;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
 import androidx.room.Index;
@@ -12,7 +13,7 @@ import com.example.walletapplication.domain.entity.CategoryType;
 import java.time.LocalDateTime;
 
 @Entity(tableName = "categories", 
-        indices = {@Index(value = "name", unique = true)})
+        indices = {@Index(value = "name", unique = true), @Index(value = "changeSeq")})
 @TypeConverters({DateConverter.class})
 public class CategoryEntity {
     @PrimaryKey(autoGenerate = true)
@@ -26,6 +27,10 @@ public class CategoryEntity {
     private boolean isDefault;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    // Value of change_sequence at the last write, see ChangeLogDao
+    @ColumnInfo(defaultValue = "0")
+    private long changeSeq;
 
     public CategoryEntity() {
     }
@@ -115,4 +120,12 @@ public class CategoryEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-} 
\ No newline at end of file
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
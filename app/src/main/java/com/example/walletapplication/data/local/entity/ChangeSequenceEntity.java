@@ -0,0 +1,37 @@
+package com.example.walletapplication.data.local.entity;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Single-row counter behind the changeSeq columns. Every write to transactions or
+ * categories takes the next value, so rows changed after a backup can be selected by it.
+ */
+@Entity(tableName = "change_sequence")
+public class ChangeSequenceEntity {
+    public static final int SINGLETON_ID = 1;
+
+    @PrimaryKey
+    private int id = SINGLETON_ID;
+
+    private long value;
+
+    public ChangeSequenceEntity() {
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+}
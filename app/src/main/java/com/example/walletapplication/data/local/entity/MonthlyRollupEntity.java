@@ -0,0 +1,71 @@
+package com.example.walletapplication.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+import com.example.walletapplication.domain.entity.TransactionType;
+
+/**
+ * Pre-aggregated transaction totals per (month, type, category), maintained on every write
+ */
+@Entity(tableName = "monthly_rollups",
+        primaryKeys = {"yearMonth", "type", "category"})
+public class MonthlyRollupEntity {
+    // yyyyMM, see YearMonthConverter
+    private int yearMonth;
+    
+    @NonNull
+    private TransactionType type = TransactionType.EXPENSE;
+    
+    // Empty string when the transaction has no category
+    @NonNull
+    private String category = "";
+    
+    private long totalMinor;
+    private int transactionCount;
+
+    public MonthlyRollupEntity() {
+    }
+
+    public int getYearMonth() {
+        return yearMonth;
+    }
+
+    public void setYearMonth(int yearMonth) {
+        this.yearMonth = yearMonth;
+    }
+
+    @NonNull
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(@NonNull TransactionType type) {
+        this.type = type;
+    }
+
+    @NonNull
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(@NonNull String category) {
+        this.category = category;
+    }
+
+    public long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public void setTotalMinor(long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(int transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.walletapplication.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Records a deleted transaction or category so incremental backups can carry the deletion
+ */
+@Entity(tableName = "tombstones",
+        primaryKeys = {"recordType", "recordKey"},
+        indices = {@Index(value = {"changeSeq"})})
+public class TombstoneEntity {
+    // See BackupDeletion for the record types
+    @NonNull
+    private String recordType = "";
+
+    // Transaction id or category name
+    @NonNull
+    private String recordKey = "";
+
+    private long changeSeq;
+
+    public TombstoneEntity() {
+    }
+
+    public TombstoneEntity(@NonNull String recordType, @NonNull String recordKey, long changeSeq) {
+        this.recordType = recordType;
+        this.recordKey = recordKey;
+        this.changeSeq = changeSeq;
+    }
+
+    @NonNull
+    public String getRecordType() {
+        return recordType;
+    }
+
+    public void setRecordType(@NonNull String recordType) {
+        this.recordType = recordType;
+    }
+
+    @NonNull
+    public String getRecordKey() {
+        return recordKey;
+    }
+
+    public void setRecordKey(@NonNull String recordKey) {
+        this.recordKey = recordKey;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
@@ -1,27 +1,33 @@
 package com.example.walletapplication.data.local.entity;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
-import androidx.room.TypeConverters;
 
-import com.example.walletapplication.data.local.converter.DateConverter;
-import com.example.walletapplication.data.local.converter.BigDecimalConverter;
 import com.example.walletapplication.domain.entity.TransactionType;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-
-@Entity(tableName = "transactions")
-@TypeConverters({DateConverter.class, BigDecimalConverter.class})
+@Entity(
+    tableName = "transactions",
+    indices = {
+        @Index(value = {"date"}),
+        @Index(value = {"type", "date"}),
+        @Index(value = {"category", "date"}),
+        @Index(value = {"changeSeq"}),
+        @Index(value = {"fingerprint"})
+    }
+)
 public class TransactionEntity {
     @PrimaryKey(autoGenerate = true)
     private Long id;
     
-    private BigDecimal amount;
+    // Amount in minor units (kuruş), see AmountConverter
+    private long amountMinor;
     private String description;
     private String category;
-    private LocalDateTime date;
+    // Epoch milliseconds (UTC wall clock), see EpochMillisConverter
+    private long date;
     private TransactionType type;
     
     // Expense specific fields
@@ -31,15 +37,23 @@ public class TransactionEntity {
     // Income specific fields
     private String source;
     private String incomeType;
+    
+    // Value of change_sequence at the last write, see ChangeLogDao
+    @ColumnInfo(defaultValue = "0")
+    private long changeSeq;
+    
+    // Content hash used to skip duplicates on import, see TransactionFingerprint
+    @ColumnInfo(defaultValue = "0")
+    private long fingerprint;
 
     public TransactionEntity() {
     }
 
     @Ignore
-    public TransactionEntity(BigDecimal amount, String description, String category, 
-                           LocalDateTime date, TransactionType type, String paymentMethod, 
+    public TransactionEntity(long amountMinor, String description, String category, 
+                           long date, TransactionType type, String paymentMethod, 
                            String vendor, String source, String incomeType) {
-        this.amount = amount;
+        this.amountMinor = amountMinor;
         this.description = description;
         this.category = category;
         this.date = date;
@@ -59,12 +73,12 @@ public class TransactionEntity {
         this.id = id;
     }
 
-    public BigDecimal getAmount() {
-        return amount;
+    public long getAmountMinor() {
+        return amountMinor;
     }
 
-    public void setAmount(BigDecimal amount) {
-        this.amount = amount;
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
     }
 
     public String getDescription() {
@@ -83,11 +97,11 @@ public class TransactionEntity {
         this.category = category;
     }
 
-    public LocalDateTime getDate() {
+    public long getDate() {
         return date;
     }
 
-    public void setDate(LocalDateTime date) {
+    public void setDate(long date) {
         this.date = date;
     }
 
@@ -130,4 +144,20 @@ public class TransactionEntity {
     public void setIncomeType(String incomeType) {
         this.incomeType = incomeType;
     }
-} 
\ No newline at end of file
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.walletapplication.data.local.entity;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * External-content FTS4 index over the searchable text columns of transactions.
+ * Room keeps it in sync with the transactions table through triggers.
+ */
+@Entity(tableName = "transactions_fts")
+@Fts4(contentEntity = TransactionEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+public class TransactionFtsEntity {
+    private String description;
+    private String category;
+    private String vendor;
+    private String source;
+
+    public TransactionFtsEntity() {
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public void setVendor(String vendor) {
+        this.vendor = vendor;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.walletapplication.data.local.model;
+
+/**
+ * Id and unique name of a stored category, enough to match categories by name in bulk
+ */
+public class CategoryNameRow {
+    public long id;
+    public String name;
+}
@@ -0,0 +1,13 @@
+package com.example.walletapplication.data.local.model;
+
+import com.example.walletapplication.domain.entity.TransactionType;
+
+/**
+ * Per-category, per-type totals aggregated in SQL
+ */
+public class CategoryTotalRow {
+    public String category;
+    public TransactionType type;
+    public long totalMinor;
+    public int transactionCount;
+}
@@ -0,0 +1,13 @@
+package com.example.walletapplication.data.local.model;
+
+import com.example.walletapplication.domain.entity.TransactionType;
+
+/**
+ * Per-month, per-type totals read from monthly_rollups
+ */
+public class MonthlyTotalRow {
+    public int yearMonth;
+    public TransactionType type;
+    public long totalMinor;
+    public int transactionCount;
+}
@@ -0,0 +1,65 @@
+package com.example.walletapplication.data.local.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds FTS MATCH expressions from free-form user input.
+ * Every token becomes a quoted prefix term and all terms must match;
+ * case folding is left to the unicode61 tokenizer.
+ */
+public final class FtsMatchQuery {
+
+    /**
+     * Number of term matches in the current transactions_fts row, for ranking. offsets() returns
+     * four space-separated integers per match, so this counts the integers and divides by four.
+     */
+    public static final String MATCH_COUNT_SQL = "((length(offsets(transactions_fts)) "
+            + "- length(replace(offsets(transactions_fts), ' ', '')) + 1) / 4)";
+
+    private FtsMatchQuery() {
+    }
+
+    /**
+     * @param userQuery Raw text typed by the user
+     * @return MATCH expression, or null if the input has no searchable tokens
+     */
+    public static String build(String userQuery) {
+        List<String> tokens = tokenize(userQuery);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (String token : tokens) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append('"').append(token).append("\"*");
+        }
+        return builder.toString();
+    }
+
+    static List<String> tokenize(String userQuery) {
+        List<String> tokens = new ArrayList<>();
+        if (userQuery == null) {
+            return tokens;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < userQuery.length(); i++) {
+            char c = userQuery.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                // FTS operators and punctuation act as separators, like the unicode61 tokenizer
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.walletapplication.data.local.query;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+
+import com.example.walletapplication.data.local.converter.AmountConverter;
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.domain.entity.SearchFilters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles a text query and SearchFilters into a single parameterized SQL query over transactions.
+ * Every predicate is bound as an argument and maps onto the FTS table or the transactions indices.
+ */
+public final class TransactionQueryBuilder {
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> args = new ArrayList<>();
+    private boolean fullText;
+
+    private TransactionQueryBuilder() {
+    }
+
+    /**
+     * @param textQuery Free-form text, matched through transactions_fts (may be null)
+     * @param filters Structured filters (may be null)
+     */
+    public static SimpleSQLiteQuery build(String textQuery, SearchFilters filters) {
+        TransactionQueryBuilder builder = new TransactionQueryBuilder();
+        builder.addTextQuery(textQuery);
+        if (filters != null) {
+            builder.addFilters(filters);
+        }
+        return new SimpleSQLiteQuery(builder.toSql(), builder.args.toArray());
+    }
+
+    private void addTextQuery(String textQuery) {
+        String matchQuery = FtsMatchQuery.build(textQuery);
+        if (matchQuery != null) {
+            fullText = true;
+            conditions.add("transactions_fts MATCH ?");
+            args.add(matchQuery);
+        }
+    }
+
+    private void addFilters(SearchFilters filters) {
+        if (filters.getCategory() != null && !filters.getCategory().trim().isEmpty()) {
+            // Case-insensitive like the old in-memory filter. The collation is on this predicate
+            // only: grouping and rollups keep the column's binary comparison. NOCASE folds ASCII
+            // letters only, and index_transactions_category_date cannot serve the comparison.
+            conditions.add("transactions.category = ? COLLATE NOCASE");
+            args.add(filters.getCategory().trim());
+        }
+        if (filters.getType() != null) {
+            conditions.add("transactions.type = ?");
+            args.add(filters.getType().name());
+        }
+        if (filters.getMinAmount() != null) {
+            conditions.add("transactions.amountMinor >= ?");
+            args.add(AmountConverter.toMinorUnits(filters.getMinAmount()));
+        }
+        if (filters.getMaxAmount() != null) {
+            conditions.add("transactions.amountMinor <= ?");
+            args.add(AmountConverter.toMinorUnits(filters.getMaxAmount()));
+        }
+        if (filters.getStartDate() != null) {
+            conditions.add("transactions.date >= ?");
+            args.add(EpochMillisConverter.toEpochMillis(filters.getStartDate()));
+        }
+        if (filters.getEndDate() != null) {
+            conditions.add("transactions.date <= ?");
+            args.add(EpochMillisConverter.toEpochMillis(filters.getEndDate()));
+        }
+    }
+
+    private String toSql() {
+        StringBuilder sql = new StringBuilder("SELECT transactions.* FROM transactions");
+        if (fullText) {
+            sql.append(" JOIN transactions_fts ON transactions.id = transactions_fts.docid");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ");
+        if (fullText) {
+            sql.append(FtsMatchQuery.MATCH_COUNT_SQL).append(" DESC, ");
+        }
+        sql.append("transactions.date DESC");
+        return sql.toString();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.walletapplication.data.mapper;
 
+import com.example.walletapplication.data.local.converter.AmountConverter;
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.data.local.converter.TransactionFingerprint;
 import com.example.walletapplication.data.local.entity.TransactionEntity;
 import com.example.walletapplication.domain.entity.Expense;
 import com.example.walletapplication.domain.entity.Income;
@@ -14,10 +17,10 @@ public class TransactionMapper {
     public static TransactionEntity toEntity(Transaction transaction) {
         TransactionEntity entity = new TransactionEntity();
         entity.setId(transaction.getId());
-        entity.setAmount(transaction.getAmount());
+        entity.setAmountMinor(AmountConverter.toMinorUnits(transaction.getAmount()));
         entity.setDescription(transaction.getDescription());
         entity.setCategory(transaction.getCategory());
-        entity.setDate(transaction.getDate());
+        entity.setDate(EpochMillisConverter.toEpochMillis(transaction.getDate()));
         entity.setType(transaction.getType());
         
         if (transaction instanceof Expense) {
@@ -29,6 +32,7 @@ public class TransactionMapper {
             entity.setSource(income.getSource());
             entity.setIncomeType(income.getIncomeType());
         }
+        entity.setFingerprint(TransactionFingerprint.of(entity));
         
         return entity;
     }
@@ -37,20 +41,20 @@ public class TransactionMapper {
         if (entity.getType() == TransactionType.EXPENSE) {
             return new Expense.Builder()
                     .setId(entity.getId())
-                    .setAmount(entity.getAmount())
+                    .setAmount(AmountConverter.fromMinorUnits(entity.getAmountMinor()))
                     .setDescription(entity.getDescription())
                     .setCategory(entity.getCategory())
-                    .setDate(entity.getDate())
+                    .setDate(EpochMillisConverter.fromEpochMillis(entity.getDate()))
                     .setPaymentMethod(entity.getPaymentMethod())
                     .setVendor(entity.getVendor())
                     .build();
         } else {
             return new Income.Builder()
                     .setId(entity.getId())
-                    .setAmount(entity.getAmount())
+                    .setAmount(AmountConverter.fromMinorUnits(entity.getAmountMinor()))
                     .setDescription(entity.getDescription())
                     .setCategory(entity.getCategory())
-                    .setDate(entity.getDate())
+                    .setDate(EpochMillisConverter.fromEpochMillis(entity.getDate()))
                     .setSource(entity.getSource())
                     .setIncomeType(entity.getIncomeType())
                     .build();
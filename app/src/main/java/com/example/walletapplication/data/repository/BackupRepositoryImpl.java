@@ -1,8 +1,26 @@
 package com.example.walletapplication.data.repository;
 
 import android.net.Uri;
+import com.example.walletapplication.data.backup.BackupCatalog;
+import com.example.walletapplication.data.backup.BackupDigest;
+import com.example.walletapplication.data.backup.BackupReader;
+import com.example.walletapplication.data.backup.BackupWriter;
+import com.example.walletapplication.data.backup.BinaryBackupReader;
+import com.example.walletapplication.data.backup.BinaryBackupWriter;
+import com.example.walletapplication.data.backup.JsonBackupReader;
+import com.example.walletapplication.data.backup.JsonBackupWriter;
+import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.dao.TransactionDao;
 import com.example.walletapplication.data.service.FileStorageService;
+import com.example.walletapplication.domain.entity.BackupCatalogEntry;
+import com.example.walletapplication.domain.entity.BackupCategory;
 import com.example.walletapplication.domain.entity.BackupData;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupFileInfo;
+import com.example.walletapplication.domain.entity.BackupFormat;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
 import com.example.walletapplication.domain.repository.BackupRepository;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -14,23 +32,46 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Implementation of BackupRepository using file storage and JSON serialization
  */
 public class BackupRepositoryImpl implements BackupRepository {
     private final FileStorageService fileStorageService;
+    private final TransactionDao transactionDao;
+    private final CategoryDao categoryDao;
+    private final ChangeLogDao changeLogDao;
+    private final Executor backgroundReadExecutor;
     private final Gson gson;
+    private final BackupCatalog catalog;
     
-    public BackupRepositoryImpl(FileStorageService fileStorageService) {
+    public BackupRepositoryImpl(FileStorageService fileStorageService, TransactionDao transactionDao,
+                                CategoryDao categoryDao, ChangeLogDao changeLogDao,
+                                Executor backgroundReadExecutor) {
         this.fileStorageService = fileStorageService;
+        this.transactionDao = transactionDao;
+        this.categoryDao = categoryDao;
+        this.changeLogDao = changeLogDao;
+        this.backgroundReadExecutor = backgroundReadExecutor;
         this.gson = createGson();
+        this.catalog = new BackupCatalog(fileStorageService.getBackupDirectoryPath(), gson);
     }
     
     private Gson createGson() {
@@ -39,7 +80,6 @@ public class BackupRepositoryImpl implements BackupRepository {
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeDeserializer())
                 .registerTypeAdapter(BigDecimal.class, new BigDecimalSerializer())
                 .registerTypeAdapter(BigDecimal.class, new BigDecimalDeserializer())
-                .setPrettyPrinting()
                 .create();
     }
     
@@ -56,15 +96,171 @@ public class BackupRepositoryImpl implements BackupRepository {
     }
     
     @Override
-    public CompletableFuture<BackupData> loadBackupFromFile(String filePath) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String jsonContent = fileStorageService.readFromFile(filePath).join();
-                return gson.fromJson(jsonContent, BackupData.class);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to load backup from file", e);
-            }
+    public CompletableFuture<BackupFileInfo> exportBackupToFile(String version, BackupMetadata metadata, String fileName) {
+        return exportBackupToFile(version, metadata, fileName, null);
+    }
+    
+    @Override
+    public CompletableFuture<BackupFileInfo> exportBackupToFile(String version, BackupMetadata metadata, String fileName,
+                                                                ExportProgressListener listener) {
+        BackupWriter writer = createWriter(fileName);
+        LocalDateTime createdAt = LocalDateTime.now();
+        return fileStorageService.writeToInternalStorage(fileName,
+                        out -> writer.write(out, version, createdAt, metadata),
+                        trackExport(writer, metadata, listener))
+                .thenApply(filePath -> {
+                    // Only the internal backup directory is listed, so only its files are cataloged
+                    File file = new File(filePath);
+                    catalog.put(new BackupCatalogEntry(filePath, BackupFormat.fromFileName(fileName), file.length(),
+                            file.lastModified(), version, createdAt, metadata, writer.getChecksum()));
+                    return new BackupFileInfo(filePath, writer.getTransactionsWritten(),
+                            writer.getCategoriesWritten(), writer.getChecksum());
+                });
+    }
+    
+    @Override
+    public CompletableFuture<BackupFileInfo> exportBackupToExternalStorage(String version, BackupMetadata metadata,
+                                                                           String fileName) {
+        return exportBackupToExternalStorage(version, metadata, fileName, null);
+    }
+    
+    @Override
+    public CompletableFuture<BackupFileInfo> exportBackupToExternalStorage(String version, BackupMetadata metadata,
+                                                                           String fileName,
+                                                                           ExportProgressListener listener) {
+        BackupWriter writer = createWriter(fileName);
+        return fileStorageService.writeToExternalStorage(fileName,
+                        out -> writer.write(out, version, LocalDateTime.now(), metadata),
+                        trackExport(writer, metadata, listener))
+                .thenApply(filePath -> new BackupFileInfo(filePath, writer.getTransactionsWritten(),
+                        writer.getCategoriesWritten(), writer.getChecksum()));
+    }
+    
+    /**
+     * Joins the writer's record count with the byte count of the file layer into one
+     * listener. Records are reported per page, bytes per buffer, and each reports the
+     * latest value of the other.
+     * @return The byte listener for the file layer, or null when there is nothing to report to
+     */
+    private static FileStorageService.ByteCountListener trackExport(BackupWriter writer, BackupMetadata metadata,
+                                                                   ExportProgressListener listener) {
+        if (listener == null) {
+            return null;
+        }
+        int recordsExpected = metadata != null ? metadata.getTransactionCount() + metadata.getCategoryCount() : 0;
+        AtomicInteger records = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        writer.setProgressListener(recordsWritten -> {
+            records.set(recordsWritten);
+            listener.onExportProgress(recordsWritten, recordsExpected, bytes.get());
         });
+        return (bytesWritten, totalBytes) -> {
+            bytes.set(bytesWritten);
+            listener.onExportProgress(records.get(), recordsExpected, bytesWritten);
+        };
+    }
+    
+    @Override
+    public CompletableFuture<Void> readBackupFromFile(String filePath, BackupVisitor visitor) {
+        return readBackupFromFile(filePath, visitor, null);
+    }
+    
+    @Override
+    public CompletableFuture<Void> readBackupFromFile(String filePath, BackupVisitor visitor,
+                                                      ReadProgressListener listener) {
+        return fileStorageService.readFile(filePath, in -> {
+            readBackup(in, visitor);
+            return null;
+        }, listener != null ? listener::onBytesRead : null);
+    }
+    
+    @Override
+    public CompletableFuture<Void> readBackupFromContentUri(Uri uri, BackupVisitor visitor) {
+        return readBackupFromContentUri(uri, visitor, null);
+    }
+    
+    @Override
+    public CompletableFuture<Void> readBackupFromContentUri(Uri uri, BackupVisitor visitor,
+                                                            ReadProgressListener listener) {
+        return fileStorageService.readContentUri(uri, in -> {
+            readBackup(in, visitor);
+            return null;
+        }, listener != null ? listener::onBytesRead : null);
+    }
+    
+    @Override
+    public CompletableFuture<BackupMetadata> readBackupMetadata(String filePath) {
+        return readHeader(visitor -> readBackupFromFile(filePath, visitor)).thenApply(header -> header.metadata);
+    }
+    
+    /**
+     * Runs a read that stops right after the header, so only the first bytes of the file
+     * are decoded
+     */
+    private static CompletableFuture<HeaderVisitor> readHeader(
+            Function<BackupVisitor, CompletableFuture<Void>> read) {
+        HeaderVisitor visitor = new HeaderVisitor();
+        return read.apply(visitor)
+                .handle((ignored, throwable) -> {
+                    Throwable cause = throwable;
+                    while (cause != null && !(cause instanceof HeaderReadException)) {
+                        cause = cause.getCause();
+                    }
+                    if (throwable != null && cause == null) {
+                        throw new RuntimeException("Failed to read backup header", throwable);
+                    }
+                    return visitor;
+                });
+    }
+    
+    @Override
+    public CompletableFuture<Long> getCurrentChangeSequence() {
+        return CompletableFuture.supplyAsync(changeLogDao::getCurrentSequence, backgroundReadExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Integer> getTransactionCount() {
+        return CompletableFuture.supplyAsync(transactionDao::getTransactionCount, backgroundReadExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Integer> getChangedTransactionCount(long baseChangeSeq) {
+        return CompletableFuture.supplyAsync(() -> transactionDao.getTransactionCountChangedSince(baseChangeSeq),
+                backgroundReadExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Integer> getChangedCategoryCount(long baseChangeSeq) {
+        return CompletableFuture.supplyAsync(() -> categoryDao.getCategoryCountChangedSince(baseChangeSeq),
+                backgroundReadExecutor);
+    }
+    
+    private BackupWriter createWriter(String fileName) {
+        if (BackupFormat.fromFileName(fileName) == BackupFormat.BINARY) {
+            return new BinaryBackupWriter(transactionDao, categoryDao, changeLogDao);
+        }
+        return new JsonBackupWriter(transactionDao, categoryDao, changeLogDao);
+    }
+    
+    /**
+     * Picks the decoder from the content itself, since picked URIs rarely keep their file name
+     */
+    private static void readBackup(InputStream in, BackupVisitor visitor) throws IOException {
+        InputStream markable = in.markSupported() ? in : new BufferedInputStream(in);
+        BackupReader reader = BinaryBackupReader.isBinaryBackup(markable)
+                ? new BinaryBackupReader()
+                : new JsonBackupReader();
+        reader.read(markable, visitor);
+    }
+    
+    @Override
+    public CompletableFuture<BackupData> loadBackupFromFile(String filePath) {
+        CollectingVisitor visitor = new CollectingVisitor();
+        return readBackupFromFile(filePath, visitor)
+                .thenApply(ignored -> visitor.toBackupData())
+                .exceptionally(throwable -> {
+                    throw new RuntimeException("Failed to load backup from file", throwable);
+                });
     }
     
     @Override
@@ -81,35 +277,31 @@ public class BackupRepositoryImpl implements BackupRepository {
     
     @Override
     public String getDefaultBackupFileName() {
+        return getDefaultBackupFileName(BackupFormat.JSON_GZIP);
+    }
+    
+    @Override
+    public String getDefaultBackupFileName(BackupFormat format) {
         LocalDateTime now = LocalDateTime.now();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
-        return "wallet_backup_" + now.format(formatter) + ".json";
+        return "wallet_backup_" + now.format(formatter) + format.getFileExtension();
+    }
+    
+    @Override
+    public String getDefaultIncrementalBackupFileName() {
+        LocalDateTime now = LocalDateTime.now();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+        return "wallet_backup_incremental_" + now.format(formatter) + BackupFormat.JSON_GZIP.getFileExtension();
     }
     
     @Override
     public CompletableFuture<Boolean> isValidBackupFile(String filePath) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Check if file exists and is valid JSON
-                boolean isValidJson = fileStorageService.isValidJsonFile(filePath).join();
-                if (!isValidJson) {
-                    return false;
-                }
-                
-                // Try to parse as BackupData
-                String jsonContent = fileStorageService.readFromFile(filePath).join();
-                BackupData backupData = gson.fromJson(jsonContent, BackupData.class);
-                
-                // Basic validation
-                return backupData != null && 
-                       backupData.getVersion() != null && 
-                       backupData.getTransactions() != null && 
-                       backupData.getCategories() != null;
-                       
-            } catch (Exception e) {
-                return false;
-            }
-        });
+        return isValidBackupFile(filePath, false);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> isValidBackupFile(String filePath, boolean verifyContent) {
+        return validate(visitor -> readBackupFromFile(filePath, visitor), verifyContent);
     }
     
     @Override
@@ -118,41 +310,235 @@ public class BackupRepositoryImpl implements BackupRepository {
     }
     
     @Override
-    public CompletableFuture<BackupData> loadBackupFromContentUri(Uri uri) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String jsonContent = fileStorageService.readFromContentUri(uri).join();
-                return gson.fromJson(jsonContent, BackupData.class);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to load backup from content URI", e);
+    public CompletableFuture<List<BackupCatalogEntry>> getBackupCatalog() {
+        return fileStorageService.getBackupFiles().thenCompose(filePaths -> {
+            Map<String, BackupCatalogEntry> known = catalog.getEntries();
+            List<BackupCatalogEntry> entries = new ArrayList<>();
+            List<CompletableFuture<BackupCatalogEntry>> described = new ArrayList<>();
+            for (String filePath : filePaths) {
+                File file = new File(filePath);
+                BackupCatalogEntry entry = known.get(filePath);
+                if (entry != null && entry.matches(file.length(), file.lastModified())) {
+                    entries.add(entry);
+                } else {
+                    described.add(describeBackupFile(file));
+                }
             }
+            // New or changed files were read above; a size mismatch means some were deleted
+            boolean changed = !described.isEmpty() || entries.size() != known.size();
+            
+            return CompletableFuture.allOf(described.toArray(new CompletableFuture[0]))
+                    .thenApply(ignored -> {
+                        for (CompletableFuture<BackupCatalogEntry> entry : described) {
+                            entries.add(entry.join());
+                        }
+                        if (changed) {
+                            catalog.replaceAll(entries);
+                        }
+                        entries.sort(Comparator.comparingLong(BackupCatalogEntry::getLastModified).reversed());
+                        return entries;
+                    });
         });
     }
     
+    /**
+     * Catalogs a file from its header alone. The checksum is only known if the header
+     * carries one, since the trailer would mean reading the whole file.
+     */
+    private CompletableFuture<BackupCatalogEntry> describeBackupFile(File file) {
+        String filePath = file.getAbsolutePath();
+        BackupFormat format = BackupFormat.fromFileName(file.getName());
+        long sizeBytes = file.length();
+        long lastModified = file.lastModified();
+        return readHeader(visitor -> readBackupFromFile(filePath, visitor))
+                .handle((header, throwable) -> {
+                    if (throwable != null) {
+                        // Still listed, as an invalid backup
+                        return new BackupCatalogEntry(filePath, format, sizeBytes, lastModified,
+                                null, null, null, null);
+                    }
+                    String checksum = header.metadata != null ? header.metadata.getChecksum() : null;
+                    return new BackupCatalogEntry(filePath, format, sizeBytes, lastModified,
+                            header.version, header.createdAt, header.metadata, checksum);
+                });
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> deleteBackupFile(String filePath) {
+        return fileStorageService.deleteFile(filePath)
+                .thenApply(deleted -> {
+                    catalog.remove(filePath);
+                    return deleted;
+                });
+    }
+    
+    @Override
+    public CompletableFuture<BackupData> loadBackupFromContentUri(Uri uri) {
+        CollectingVisitor visitor = new CollectingVisitor();
+        return readBackupFromContentUri(uri, visitor)
+                .thenApply(ignored -> visitor.toBackupData())
+                .exceptionally(throwable -> {
+                    throw new RuntimeException("Failed to load backup from content URI", throwable);
+                });
+    }
+    
     @Override
     public CompletableFuture<Boolean> isValidBackupContentUri(Uri uri) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Check if URI is valid JSON
-                boolean isValidJson = fileStorageService.isValidJsonContentUri(uri).join();
-                if (!isValidJson) {
-                    return false;
-                }
-                
-                // Try to parse as BackupData
-                String jsonContent = fileStorageService.readFromContentUri(uri).join();
-                BackupData backupData = gson.fromJson(jsonContent, BackupData.class);
-                
-                // Basic validation
-                return backupData != null && 
-                       backupData.getVersion() != null && 
-                       backupData.getTransactions() != null && 
-                       backupData.getCategories() != null;
-                       
-            } catch (Exception e) {
-                return false;
+        return isValidBackupContentUri(uri, false);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> isValidBackupContentUri(Uri uri, boolean verifyContent) {
+        return validate(visitor -> readBackupFromContentUri(uri, visitor), verifyContent);
+    }
+    
+    /**
+     * Checks the header, or with verifyContent streams every record through the checksum
+     * without keeping any of them
+     */
+    private static CompletableFuture<Boolean> validate(Function<BackupVisitor, CompletableFuture<Void>> read,
+                                                       boolean verifyContent) {
+        CompletableFuture<Boolean> result;
+        if (verifyContent) {
+            ValidatingVisitor visitor = new ValidatingVisitor();
+            result = read.apply(visitor).thenApply(ignored -> visitor.isValid());
+        } else {
+            result = readHeader(read).thenApply(header -> header.version != null);
+        }
+        return result.exceptionally(throwable -> false);
+    }
+    
+    /**
+     * Accepts a backup whose header has a version, which contains both data arrays and
+     * whose records match its checksum trailer. Files written before the trailer existed
+     * are accepted without a checksum.
+     */
+    private static class ValidatingVisitor implements BackupVisitor {
+        private final BackupDigest digest = new BackupDigest();
+        private String version;
+        private boolean complete;
+        private boolean checksumMatches = true;
+        
+        @Override
+        public void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata) {
+            this.version = version;
+        }
+        
+        @Override
+        public void onTransaction(BackupTransaction transaction) {
+            digest.updateTransaction(transaction);
+        }
+        
+        @Override
+        public void onCategory(BackupCategory category) {
+            digest.updateCategory(category);
+        }
+        
+        @Override
+        public void onDeletion(BackupDeletion deletion) {
+            digest.updateDeletion(deletion);
+        }
+        
+        @Override
+        public void onChecksum(String checksum) {
+            checksumMatches = checksum.equals(digest.toHex());
+        }
+        
+        @Override
+        public void onEnd(boolean hasTransactions, boolean hasCategories) {
+            complete = hasTransactions && hasCategories;
+        }
+        
+        boolean isValid() {
+            return version != null && complete && checksumMatches;
+        }
+    }
+    
+    /**
+     * Keeps the header and stops the read before the first record
+     */
+    private static class HeaderVisitor implements BackupVisitor {
+        private String version;
+        private LocalDateTime createdAt;
+        private BackupMetadata metadata;
+        
+        @Override
+        public void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata) {
+            this.version = version;
+            this.createdAt = createdAt;
+            this.metadata = metadata;
+            throw new HeaderReadException();
+        }
+        
+        @Override
+        public void onTransaction(BackupTransaction transaction) {
+        }
+        
+        @Override
+        public void onCategory(BackupCategory category) {
+        }
+        
+        @Override
+        public void onEnd(boolean hasTransactions, boolean hasCategories) {
+        }
+    }
+    
+    /**
+     * Thrown by HeaderVisitor to abandon the rest of the file
+     */
+    private static class HeaderReadException extends RuntimeException {
+        HeaderReadException() {
+            super(null, null, false, false);
+        }
+    }
+    
+    /**
+     * Builds the full BackupData tree for callers that still need it in memory
+     */
+    private static class CollectingVisitor implements BackupVisitor {
+        private final BackupData.Builder builder = new BackupData.Builder();
+        private final List<BackupTransaction> transactions = new ArrayList<>();
+        private final List<BackupCategory> categories = new ArrayList<>();
+        private BackupMetadata metadata;
+        private boolean hasTransactions;
+        private boolean hasCategories;
+        
+        @Override
+        public void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata) {
+            builder.setVersion(version).setCreatedAt(createdAt);
+            this.metadata = metadata;
+        }
+        
+        @Override
+        public void onTransaction(BackupTransaction transaction) {
+            transactions.add(transaction);
+        }
+        
+        @Override
+        public void onCategory(BackupCategory category) {
+            categories.add(category);
+        }
+        
+        @Override
+        public void onChecksum(String checksum) {
+            if (metadata != null) {
+                metadata = metadata.withChecksum(checksum);
             }
-        });
+        }
+        
+        @Override
+        public void onEnd(boolean hasTransactions, boolean hasCategories) {
+            this.hasTransactions = hasTransactions;
+            this.hasCategories = hasCategories;
+        }
+        
+        BackupData toBackupData() {
+            return builder
+                    .setMetadata(metadata)
+                    .setTransactions(hasTransactions ? transactions : null)
+                    .setCategories(hasCategories ? categories : null)
+                    .build();
+        }
     }
     
     // Custom serializers for LocalDateTime
@@ -1,111 +1,181 @@
 package com.example.walletapplication.data.repository;
 
 import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.database.DatabaseExecutors;
+import com.example.walletapplication.data.local.database.WalletDatabase;
 import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.data.local.model.CategoryNameRow;
 import com.example.walletapplication.data.mapper.CategoryMapper;
+import com.example.walletapplication.domain.entity.BackupDeletion;
 import com.example.walletapplication.domain.entity.Category;
 import com.example.walletapplication.domain.entity.CategoryType;
 import com.example.walletapplication.domain.repository.CategoryRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class CategoryRepositoryImpl implements CategoryRepository {
     
+    private final WalletDatabase database;
     private final CategoryDao categoryDao;
-    private final Executor executor;
+    private final ChangeTracker changeTracker;
+    private final Executor readExecutor;
+    private final Executor writeExecutor;
+    private final Executor backgroundWriteExecutor;
+    // Null until first read; replaced as a whole after every write
+    private final AtomicReference<CategorySnapshot> snapshot = new AtomicReference<>();
     
-    public CategoryRepositoryImpl(CategoryDao categoryDao, Executor executor) {
+    public CategoryRepositoryImpl(WalletDatabase database, CategoryDao categoryDao, ChangeLogDao changeLogDao,
+                                  DatabaseExecutors executors) {
+        this.database = database;
         this.categoryDao = categoryDao;
-        this.executor = executor;
+        this.changeTracker = new ChangeTracker(changeLogDao);
+        this.readExecutor = executors.reader();
+        this.writeExecutor = executors.writer();
+        this.backgroundWriteExecutor = executors.backgroundWriter();
     }
     
     @Override
     public CompletableFuture<Long> insertCategory(Category category) {
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(() -> writeAndPublish(() -> {
             CategoryEntity entity = CategoryMapper.toEntity(category);
-            return categoryDao.insertCategory(entity);
-        }, executor);
+            entity.setChangeSeq(changeTracker.next());
+            long id = categoryDao.insertCategory(entity);
+            changeTracker.clearDeletion(BackupDeletion.TYPE_CATEGORY, entity.getName());
+            return id;
+        }), writeExecutor);
     }
     
     @Override
     public CompletableFuture<Void> updateCategory(Category category) {
-        return CompletableFuture.runAsync(() -> {
+        return CompletableFuture.runAsync(() -> writeAndPublish(() -> {
             CategoryEntity entity = CategoryMapper.toEntity(category);
             entity.setUpdatedAt(LocalDateTime.now());
+            CategoryEntity previous = entity.getId() != null ? categoryDao.getCategoryById(entity.getId()) : null;
+            entity.setChangeSeq(changeTracker.next());
             categoryDao.updateCategory(entity);
-        }, executor);
+            if (previous != null && !previous.getName().equals(entity.getName())) {
+                // A rename looks like delete + insert to a restore that matches by name
+                changeTracker.recordDeletion(BackupDeletion.TYPE_CATEGORY, previous.getName());
+                changeTracker.clearDeletion(BackupDeletion.TYPE_CATEGORY, entity.getName());
+            }
+        }), writeExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Integer> upsertAll(List<Category> categories, boolean updateExisting) {
+        return CompletableFuture.supplyAsync(() -> {
+            // A name given twice keeps its last version, as sequential writes would
+            Map<String, CategoryEntity> byName = new LinkedHashMap<>();
+            for (Category category : categories) {
+                CategoryEntity entity = CategoryMapper.toEntity(category);
+                byName.put(entity.getName(), entity);
+            }
+            return writeAndPublish(() -> {
+                Map<String, Long> storedIds = new HashMap<>();
+                for (CategoryNameRow row : categoryDao.getCategoryNames()) {
+                    storedIds.put(row.name, row.id);
+                }
+
+                List<CategoryEntity> inserts = new ArrayList<>();
+                List<CategoryEntity> updates = new ArrayList<>();
+                LocalDateTime now = LocalDateTime.now();
+                for (CategoryEntity entity : byName.values()) {
+                    Long storedId = storedIds.get(entity.getName());
+                    if (storedId == null) {
+                        entity.setId(null);
+                        inserts.add(entity);
+                    } else if (updateExisting) {
+                        // Ids are local to each device, so take the stored one
+                        entity.setId(storedId);
+                        entity.setUpdatedAt(now);
+                        updates.add(entity);
+                    }
+                }
+
+                int written = inserts.size() + updates.size();
+                if (written == 0) {
+                    return 0;
+                }
+                long seq = changeTracker.reserve(written);
+                for (CategoryEntity entity : inserts) {
+                    entity.setChangeSeq(seq++);
+                    changeTracker.clearDeletion(BackupDeletion.TYPE_CATEGORY, entity.getName());
+                }
+                for (CategoryEntity entity : updates) {
+                    entity.setChangeSeq(seq++);
+                }
+                if (!inserts.isEmpty()) {
+                    categoryDao.insertCategories(inserts);
+                }
+                if (!updates.isEmpty()) {
+                    categoryDao.updateCategories(updates);
+                }
+                return written;
+            });
+        }, backgroundWriteExecutor);
     }
     
     @Override
     public CompletableFuture<Void> deleteCategory(Long categoryId) {
-        return CompletableFuture.runAsync(() -> {
+        return CompletableFuture.runAsync(() -> writeAndPublish(() -> {
+            CategoryEntity previous = categoryDao.getCategoryById(categoryId);
             categoryDao.deleteCategoryById(categoryId);
-        }, executor);
+            if (previous != null) {
+                // Ids differ between devices, so deletions are keyed by the unique name
+                changeTracker.recordDeletion(BackupDeletion.TYPE_CATEGORY, previous.getName());
+            }
+        }), writeExecutor);
     }
     
     @Override
     public CompletableFuture<Optional<Category>> getCategoryById(Long id) {
-        return CompletableFuture.supplyAsync(() -> {
-            CategoryEntity entity = categoryDao.getCategoryById(id);
-            if (entity != null) {
-                return Optional.of(CategoryMapper.toDomain(entity));
-            }
-            return Optional.empty();
-        }, executor);
+        return snapshot().thenApply(categories -> Optional.ofNullable(categories.getById(id)));
     }
     
     @Override
     public CompletableFuture<Optional<Category>> getCategoryByName(String name) {
-        return CompletableFuture.supplyAsync(() -> {
-            CategoryEntity entity = categoryDao.getCategoryByName(name);
-            if (entity != null) {
-                return Optional.of(CategoryMapper.toDomain(entity));
-            }
-            return Optional.empty();
-        }, executor);
+        return snapshot().thenApply(categories -> Optional.ofNullable(categories.getByName(name)));
     }
     
     @Override
     public CompletableFuture<List<Category>> getAllCategories() {
-        return CompletableFuture.supplyAsync(() -> {
-            List<CategoryEntity> entities = categoryDao.getAllCategories();
-            return CategoryMapper.toDomainList(entities);
-        }, executor);
+        return snapshot().thenApply(CategorySnapshot::getAll);
     }
     
     @Override
     public CompletableFuture<List<Category>> getCategoriesByType(CategoryType type) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<CategoryEntity> entities = categoryDao.getCategoriesByType(type);
-            return CategoryMapper.toDomainList(entities);
-        }, executor);
+        return snapshot().thenApply(categories -> categories.getByType(type));
     }
     
     @Override
     public CompletableFuture<List<Category>> getDefaultCategories() {
-        return CompletableFuture.supplyAsync(() -> {
-            List<CategoryEntity> entities = categoryDao.getDefaultCategories();
-            return CategoryMapper.toDomainList(entities);
-        }, executor);
+        return snapshot().thenApply(CategorySnapshot::getDefaults);
     }
     
     @Override
     public CompletableFuture<List<Category>> getCustomCategories() {
-        return CompletableFuture.supplyAsync(() -> {
-            List<CategoryEntity> entities = categoryDao.getCustomCategories();
-            return CategoryMapper.toDomainList(entities);
-        }, executor);
+        return snapshot().thenApply(CategorySnapshot::getCustom);
     }
     
     @Override
     public CompletableFuture<Boolean> isCategoryNameExists(String name) {
-        return CompletableFuture.supplyAsync(() -> {
-            return categoryDao.isCategoryNameExists(name);
-        }, executor);
+        return snapshot().thenApply(categories -> categories.getByName(name) != null);
+    }
+    
+    @Override
+    public CompletableFuture<Integer> getCategoryCount() {
+        return snapshot().thenApply(CategorySnapshot::size);
     }
     
     @Override
@@ -119,8 +189,44 @@ public class CategoryRepositoryImpl implements CategoryRepository {
             
             // Create default categories
             List<CategoryEntity> defaultCategories = createDefaultCategories();
-            categoryDao.insertCategories(defaultCategories);
-        }, executor);
+            writeAndPublish(() -> {
+                long seq = changeTracker.reserve(defaultCategories.size());
+                for (CategoryEntity category : defaultCategories) {
+                    category.setChangeSeq(seq++);
+                }
+                categoryDao.insertCategories(defaultCategories);
+            });
+        }, writeExecutor);
+    }
+    
+    /**
+     * Returns the current snapshot, loading it on the read lane the first time
+     */
+    private CompletableFuture<CategorySnapshot> snapshot() {
+        CategorySnapshot current = snapshot.get();
+        if (current != null) {
+            return CompletableFuture.completedFuture(current);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            CategorySnapshot loaded = CategorySnapshot.of(categoryDao.getAllCategories());
+            // A write that finished while loading has published a newer snapshot; keep that one
+            return snapshot.compareAndSet(null, loaded) ? loaded : snapshot.get();
+        }, readExecutor);
+    }
+    
+    /**
+     * Runs a write in a database transaction and, once it has committed, publishes a fresh
+     * snapshot. Writes run on the single writer thread, so snapshots are published in commit order.
+     */
+    private <T> T writeAndPublish(Callable<T> write) {
+        T result = database.runInTransaction(write);
+        snapshot.set(CategorySnapshot.of(categoryDao.getAllCategories()));
+        return result;
+    }
+    
+    private void writeAndPublish(Runnable write) {
+        database.runInTransaction(write);
+        snapshot.set(CategorySnapshot.of(categoryDao.getAllCategories()));
     }
     
     private List<CategoryEntity> createDefaultCategories() {
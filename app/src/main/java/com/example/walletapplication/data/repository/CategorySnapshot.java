@@ -0,0 +1,95 @@
+package com.example.walletapplication.data.repository;
+
+import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.data.mapper.CategoryMapper;
+import com.example.walletapplication.domain.entity.Category;
+import com.example.walletapplication.domain.entity.CategoryType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the whole categories table, indexed the ways the repository is queried.
+ * Built from the rows in getAllCategories order (defaults first, then by display name); every
+ * list keeps that order, matching the DAO queries it replaces. Lists are unmodifiable and
+ * shared between callers, which is safe because Category is immutable.
+ */
+final class CategorySnapshot {
+    private final List<Category> all;
+    private final Map<Long, Category> byId;
+    private final Map<String, Category> byName;
+    private final Map<CategoryType, List<Category>> byType;
+    private final List<Category> defaults;
+    private final List<Category> custom;
+
+    private CategorySnapshot(List<Category> all) {
+        this.all = Collections.unmodifiableList(all);
+        Map<Long, Category> byId = new HashMap<>();
+        Map<String, Category> byName = new HashMap<>();
+        List<Category> defaults = new ArrayList<>();
+        List<Category> custom = new ArrayList<>();
+        for (Category category : all) {
+            byId.put(category.getId(), category);
+            byName.put(category.getName(), category);
+            (category.isDefault() ? defaults : custom).add(category);
+        }
+
+        Map<CategoryType, List<Category>> byType = new EnumMap<>(CategoryType.class);
+        for (CategoryType type : CategoryType.values()) {
+            List<Category> matching = new ArrayList<>();
+            for (Category category : all) {
+                // Same rule as CategoryDao.getCategoriesByType: BOTH categories fit every type
+                if (category.getType() == type || category.getType() == CategoryType.BOTH) {
+                    matching.add(category);
+                }
+            }
+            byType.put(type, Collections.unmodifiableList(matching));
+        }
+
+        this.byId = byId;
+        this.byName = byName;
+        this.byType = byType;
+        this.defaults = Collections.unmodifiableList(defaults);
+        this.custom = Collections.unmodifiableList(custom);
+    }
+
+    /**
+     * @param entities Rows as returned by CategoryDao.getAllCategories
+     */
+    static CategorySnapshot of(List<CategoryEntity> entities) {
+        return new CategorySnapshot(CategoryMapper.toDomainList(entities));
+    }
+
+    List<Category> getAll() {
+        return all;
+    }
+
+    Category getById(Long id) {
+        return byId.get(id);
+    }
+
+    Category getByName(String name) {
+        return byName.get(name);
+    }
+
+    List<Category> getByType(CategoryType type) {
+        List<Category> categories = byType.get(type);
+        return categories != null ? categories : Collections.emptyList();
+    }
+
+    List<Category> getDefaults() {
+        return defaults;
+    }
+
+    List<Category> getCustom() {
+        return custom;
+    }
+
+    int size() {
+        return all.size();
+    }
+}
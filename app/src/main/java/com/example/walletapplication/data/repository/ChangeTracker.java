@@ -0,0 +1,49 @@
+package com.example.walletapplication.data.repository;
+
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.entity.TombstoneEntity;
+
+/**
+ * Hands out change sequence numbers for incremental backups. Every method must run inside
+ * the database transaction of the write it stamps, so a sequence number is only ever seen
+ * together with its row.
+ */
+class ChangeTracker {
+    private final ChangeLogDao changeLogDao;
+
+    ChangeTracker(ChangeLogDao changeLogDao) {
+        this.changeLogDao = changeLogDao;
+    }
+
+    /**
+     * Reserves count consecutive sequence numbers and returns the first one
+     */
+    long reserve(int count) {
+        changeLogDao.ensureSequence();
+        long first = changeLogDao.getCurrentSequence() + 1;
+        changeLogDao.advanceSequence(count);
+        return first;
+    }
+
+    long next() {
+        return reserve(1);
+    }
+
+    void recordDeletion(String recordType, String recordKey) {
+        changeLogDao.insertTombstone(new TombstoneEntity(recordType, recordKey, next()));
+    }
+
+    /**
+     * Records the deletion of every stored transaction under one sequence number
+     */
+    void recordAllTransactionDeletions(String recordType) {
+        changeLogDao.insertTransactionTombstones(recordType, next());
+    }
+
+    /**
+     * Drops the tombstone of a record that has been written again
+     */
+    void clearDeletion(String recordType, String recordKey) {
+        changeLogDao.deleteTombstone(recordType, recordKey);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.walletapplication.data.repository;
+
+import com.example.walletapplication.domain.entity.CategoryBreakdown;
+import com.example.walletapplication.domain.entity.MonthlySummary;
+import com.example.walletapplication.domain.entity.SearchFilters;
+import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.entity.TransactionPageKey;
+import com.example.walletapplication.domain.entity.TransactionType;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * TransactionRepository decorator that runs identical concurrent reads once. When several
+ * screens refresh together and ask for the same data, the later callers share the query the
+ * first one started (see SingleFlight). Reads are keyed by method name and arguments.
+ *
+ * Writes pass straight through. When a write completes, all in-flight keys are released, so a
+ * read issued after the write never joins a query that may have started before it. Each
+ * caller gets its own copy of a shared list result.
+ */
+public class CoalescingTransactionRepository implements TransactionRepository, ReadCoalescingStats {
+    private final TransactionRepository delegate;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    public CoalescingTransactionRepository(TransactionRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public long getCoalescedReadCount() {
+        return singleFlight.getHitCount();
+    }
+
+    @Override
+    public long getExecutedReadCount() {
+        return singleFlight.getMissCount();
+    }
+
+    @Override
+    public CompletableFuture<Long> insertTransaction(Transaction transaction) {
+        return write(delegate.insertTransaction(transaction));
+    }
+
+    @Override
+    public CompletableFuture<List<Long>> insertAll(List<Transaction> transactions) {
+        return write(delegate.insertAll(transactions));
+    }
+
+    @Override
+    public CompletableFuture<List<Long>> insertAll(List<Transaction> transactions, int batchSize) {
+        return write(delegate.insertAll(transactions, batchSize));
+    }
+
+    @Override
+    public CompletableFuture<Long> getLastTransactionId() {
+        // Read once per import, so there is nothing to coalesce
+        return delegate.getLastTransactionId();
+    }
+
+    @Override
+    public CompletableFuture<List<Long>> insertAllMissing(List<Transaction> transactions, long existingUpToId,
+                                                          Map<Long, Integer> unmatched) {
+        return write(delegate.insertAllMissing(transactions, existingUpToId, unmatched));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateTransaction(Transaction transaction) {
+        return write(delegate.updateTransaction(transaction));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTransaction(Long transactionId) {
+        return write(delegate.deleteTransaction(transactionId));
+    }
+
+    @Override
+    public CompletableFuture<Integer> upsertAll(List<Transaction> transactions) {
+        return write(delegate.upsertAll(transactions));
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteTransactions(List<Long> transactionIds) {
+        return write(delegate.deleteTransactions(transactionIds));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllTransactions() {
+        return write(delegate.deleteAllTransactions());
+    }
+
+    @Override
+    public CompletableFuture<Optional<Transaction>> getTransactionById(Long id) {
+        return read(Arrays.asList("getTransactionById", id), () -> delegate.getTransactionById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getAllTransactions() {
+        return readList(Arrays.asList("getAllTransactions"), delegate::getAllTransactions);
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionsPage(TransactionPageKey after, int limit) {
+        return readList(Arrays.asList("getTransactionsPage", after, limit),
+                () -> delegate.getTransactionsPage(after, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionsByType(TransactionType type) {
+        return readList(Arrays.asList("getTransactionsByType", type), () -> delegate.getTransactionsByType(type));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionsByCategory(String category) {
+        return readList(Arrays.asList("getTransactionsByCategory", category),
+                () -> delegate.getTransactionsByCategory(category));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return readList(Arrays.asList("getTransactionsByDateRange", startDate, endDate),
+                () -> delegate.getTransactionsByDateRange(startDate, endDate));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
+        return readList(Arrays.asList("getTransactionsByAmountRange", amountKey(minAmount), amountKey(maxAmount)),
+                () -> delegate.getTransactionsByAmountRange(minAmount, maxAmount));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> searchTransactions(String query) {
+        return readList(Arrays.asList("searchTransactions", query), () -> delegate.searchTransactions(query));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> searchTransactions(String textQuery, SearchFilters filters) {
+        return readList(Arrays.asList("searchTransactions", textQuery, filters),
+                () -> delegate.searchTransactions(textQuery, filters));
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getTotalIncomeByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return read(Arrays.asList("getTotalIncomeByDateRange", startDate, endDate),
+                () -> delegate.getTotalIncomeByDateRange(startDate, endDate));
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getTotalExpenseByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return read(Arrays.asList("getTotalExpenseByDateRange", startDate, endDate),
+                () -> delegate.getTotalExpenseByDateRange(startDate, endDate));
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getBalanceByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return read(Arrays.asList("getBalanceByDateRange", startDate, endDate),
+                () -> delegate.getBalanceByDateRange(startDate, endDate));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getAllCategories() {
+        return readList(Arrays.asList("getAllCategories"), delegate::getAllCategories);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getTransactionCount() {
+        return read(Arrays.asList("getTransactionCount"), delegate::getTransactionCount);
+    }
+
+    @Override
+    public CompletableFuture<List<CategoryBreakdown>> getCategoryBreakdown(LocalDateTime startDate, LocalDateTime endDate) {
+        return readList(Arrays.asList("getCategoryBreakdown", startDate, endDate),
+                () -> delegate.getCategoryBreakdown(startDate, endDate));
+    }
+
+    @Override
+    public CompletableFuture<List<MonthlySummary>> getMonthlySummaries(YearMonth from, YearMonth to) {
+        return readList(Arrays.asList("getMonthlySummaries", from, to), () -> delegate.getMonthlySummaries(from, to));
+    }
+
+    @Override
+    public CompletableFuture<Void> rebuildMonthlyRollups() {
+        return write(delegate.rebuildMonthlyRollups());
+    }
+
+    private <T> CompletableFuture<T> read(List<Object> key, Supplier<CompletableFuture<T>> call) {
+        return singleFlight.execute(key, call);
+    }
+
+    /**
+     * Shared lists are copied per caller, since callers may sort or filter them in place
+     */
+    private <T> CompletableFuture<List<T>> readList(List<Object> key, Supplier<CompletableFuture<List<T>>> call) {
+        return singleFlight.execute(key, call).thenApply(ArrayList::new);
+    }
+
+    /**
+     * BigDecimal.equals compares scale too, so 10 and 10.00 would otherwise be different keys
+     */
+    private static BigDecimal amountKey(BigDecimal amount) {
+        return amount != null ? amount.stripTrailingZeros() : null;
+    }
+
+    private <T> CompletableFuture<T> write(CompletableFuture<T> write) {
+        return write.whenComplete((result, error) -> singleFlight.forgetAll());
+    }
+}
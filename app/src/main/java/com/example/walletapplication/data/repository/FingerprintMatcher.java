@@ -0,0 +1,63 @@
+package com.example.walletapplication.data.repository;
+
+import com.example.walletapplication.data.local.entity.TransactionEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Matches input rows to stored rows by fingerprint, one to one. The remaining count per
+ * fingerprint lives in a map the caller keeps for the whole merge import, so identical rows
+ * split across batches still consume each stored row only once. A hash match alone is
+ * enough: with 64 bits a false match is not a practical concern.
+ */
+final class FingerprintMatcher {
+    private final Map<Long, Integer> unmatched;
+    private final Function<List<Long>, List<Long>> storedFingerprints;
+
+    /**
+     * @param unmatched Stored rows per fingerprint not yet matched by an input row
+     * @param storedFingerprints Returns one entry per stored row carrying one of the given fingerprints
+     */
+    FingerprintMatcher(Map<Long, Integer> unmatched, Function<List<Long>, List<Long>> storedFingerprints) {
+        this.unmatched = unmatched;
+        this.storedFingerprints = storedFingerprints;
+    }
+
+    /**
+     * Returns the rows of the batch left over once every stored row has been matched
+     */
+    List<TransactionEntity> selectMissing(List<TransactionEntity> batch) {
+        loadStoredFingerprints(batch);
+        List<TransactionEntity> missing = new ArrayList<>(batch.size());
+        for (TransactionEntity entity : batch) {
+            Integer stored = unmatched.get(entity.getFingerprint());
+            if (stored != null && stored > 0) {
+                unmatched.put(entity.getFingerprint(), stored - 1);
+            } else {
+                missing.add(entity);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Counts the stored rows for the batch's fingerprints that have not been looked up yet
+     */
+    private void loadStoredFingerprints(List<TransactionEntity> batch) {
+        List<Long> lookup = new ArrayList<>(batch.size());
+        for (TransactionEntity entity : batch) {
+            if (unmatched.putIfAbsent(entity.getFingerprint(), 0) == null) {
+                lookup.add(entity.getFingerprint());
+            }
+        }
+        if (lookup.isEmpty()) {
+            return;
+        }
+        for (Long fingerprint : storedFingerprints.apply(lookup)) {
+            unmatched.merge(fingerprint, 1, Integer::sum);
+        }
+    }
+}
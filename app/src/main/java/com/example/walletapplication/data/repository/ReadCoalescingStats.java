@@ -0,0 +1,18 @@
+package com.example.walletapplication.data.repository;
+
+/**
+ * Counters of a repository that coalesces identical in-flight reads, see
+ * CoalescingTransactionRepository
+ */
+public interface ReadCoalescingStats {
+
+    /**
+     * Number of reads answered by joining an identical read already in flight
+     */
+    long getCoalescedReadCount();
+
+    /**
+     * Number of reads that went to the underlying repository
+     */
+    long getExecutedReadCount();
+}
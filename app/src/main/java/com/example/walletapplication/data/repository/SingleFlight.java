@@ -0,0 +1,77 @@
+package com.example.walletapplication.data.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share one in-flight call. The first caller
+ * starts the call; callers arriving before it completes get the same result without starting
+ * another. Once the call completes the key is released, so nothing is cached: the next caller
+ * starts a fresh call.
+ *
+ * Each caller receives its own dependent future, so one caller cancelling or completing its
+ * future does not affect the others.
+ */
+public class SingleFlight {
+    private final ConcurrentHashMap<Object, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param key  Identifies the request; must implement equals and hashCode by value
+     * @param call Starts the request when no identical one is in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(Object key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            hits.incrementAndGet();
+            return ((CompletableFuture<T>) existing).thenApply(result -> result);
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+            return shared.thenApply(result -> result);
+        }
+        started.whenComplete((result, error) -> {
+            // Released before completing so that callers woken by the result start fresh calls
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(result);
+            }
+        });
+        return shared.thenApply(result -> result);
+    }
+
+    /**
+     * Releases all keys without affecting the calls already running. Callers from then on start
+     * new calls, for example because a write has made the running ones stale.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    /**
+     * Number of callers that joined a call already in flight
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Number of callers that started a new call
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+}
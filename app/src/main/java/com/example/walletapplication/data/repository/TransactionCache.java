@@ -0,0 +1,100 @@
+package com.example.walletapplication.data.repository;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+
+import com.example.walletapplication.domain.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapped results of transaction list queries, kept so that screens reloading the same list
+ * skip both the query and the mapping. Entries are evicted least recently used first once
+ * the cached lists together hold more than maxTransactions rows.
+ *
+ * Every write to the transactions table calls invalidate, which drops all entries and bumps
+ * the version. A reader takes the version before it queries and passes it to put, so a
+ * result read before a concurrent write is never stored after that write's invalidation.
+ * Transactions are immutable, so lists are copied but their elements are shared.
+ */
+public class TransactionCache implements ComponentCallbacks2 {
+    private final int maxTransactions;
+    private final LinkedHashMap<Object, List<Transaction>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version;
+    private int cachedTransactions;
+
+    public TransactionCache(int maxTransactions) {
+        this.maxTransactions = maxTransactions;
+    }
+
+    /**
+     * @return A copy of the cached list, or null on a miss
+     */
+    public synchronized List<Transaction> get(Object key) {
+        List<Transaction> cached = entries.get(key);
+        return cached != null ? new ArrayList<>(cached) : null;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Stores a query result unless the cache was invalidated since version was taken
+     */
+    public synchronized void put(Object key, long version, List<Transaction> transactions) {
+        if (version != this.version || transactions.size() > maxTransactions) {
+            return;
+        }
+        List<Transaction> previous = entries.put(key, new ArrayList<>(transactions));
+        if (previous != null) {
+            cachedTransactions -= previous.size();
+        }
+        cachedTransactions += transactions.size();
+        trimTo(maxTransactions);
+    }
+
+    public synchronized void invalidate() {
+        version++;
+        entries.clear();
+        cachedTransactions = 0;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            // Includes the app moving to the background; the lists are rebuilt on next use
+            clear();
+        } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+            synchronized (this) {
+                trimTo(maxTransactions / 2);
+            }
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        clear();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        cachedTransactions = 0;
+    }
+
+    private void trimTo(int limit) {
+        Iterator<Map.Entry<Object, List<Transaction>>> iterator = entries.entrySet().iterator();
+        while (cachedTransactions > limit && iterator.hasNext()) {
+            cachedTransactions -= iterator.next().getValue().size();
+            iterator.remove();
+        }
+    }
+}
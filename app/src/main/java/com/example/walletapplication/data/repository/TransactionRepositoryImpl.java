@@ -1,50 +1,305 @@
 package com.example.walletapplication.data.repository;
 
+import com.example.walletapplication.data.local.converter.AmountConverter;
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.data.local.converter.YearMonthConverter;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.dao.MonthlyRollupDao;
 import com.example.walletapplication.data.local.dao.TransactionDao;
+import com.example.walletapplication.data.local.database.DatabaseExecutors;
+import com.example.walletapplication.data.local.database.WalletDatabase;
 import com.example.walletapplication.data.local.entity.TransactionEntity;
+import com.example.walletapplication.data.local.model.CategoryTotalRow;
+import com.example.walletapplication.data.local.model.MonthlyTotalRow;
+import com.example.walletapplication.data.local.query.FtsMatchQuery;
+import com.example.walletapplication.data.local.query.TransactionQueryBuilder;
 import com.example.walletapplication.data.mapper.TransactionMapper;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.CategoryBreakdown;
+import com.example.walletapplication.domain.entity.MonthlySummary;
+import com.example.walletapplication.domain.entity.SearchFilters;
 import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.entity.TransactionPageKey;
 import com.example.walletapplication.domain.entity.TransactionType;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 public class TransactionRepositoryImpl implements TransactionRepository {
     
+    static final int DEFAULT_INSERT_BATCH_SIZE = 500;
+    
+    private final WalletDatabase database;
     private final TransactionDao transactionDao;
-    private final Executor executor;
+    private final MonthlyRollupDao monthlyRollupDao;
+    private final ChangeTracker changeTracker;
+    private final Executor readExecutor;
+    private final Executor backgroundReadExecutor;
+    private final Executor writeExecutor;
+    private final Executor backgroundWriteExecutor;
+    private final TransactionCache cache;
     
-    public TransactionRepositoryImpl(TransactionDao transactionDao, Executor executor) {
+    public TransactionRepositoryImpl(WalletDatabase database, TransactionDao transactionDao,
+                                     MonthlyRollupDao monthlyRollupDao, ChangeLogDao changeLogDao,
+                                     DatabaseExecutors executors, TransactionCache cache) {
+        this.database = database;
         this.transactionDao = transactionDao;
-        this.executor = executor;
+        this.monthlyRollupDao = monthlyRollupDao;
+        this.changeTracker = new ChangeTracker(changeLogDao);
+        this.readExecutor = executors.reader();
+        this.backgroundReadExecutor = executors.backgroundReader();
+        this.writeExecutor = executors.writer();
+        // Bulk writes from import, restore and rollup rebuilds yield to the user's own edits
+        this.backgroundWriteExecutor = executors.backgroundWriter();
+        this.cache = cache;
     }
     
     @Override
     public CompletableFuture<Long> insertTransaction(Transaction transaction) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidating(CompletableFuture.supplyAsync(() -> database.runInTransaction(() -> {
             TransactionEntity entity = TransactionMapper.toEntity(transaction);
-            return transactionDao.insertTransaction(entity);
-        }, executor);
+            entity.setChangeSeq(changeTracker.next());
+            long id = transactionDao.insertTransaction(entity);
+            applyRollupDelta(entity, 1);
+            return id;
+        }), writeExecutor));
+    }
+    
+    @Override
+    public CompletableFuture<List<Long>> insertAll(List<Transaction> transactions) {
+        return insertAll(transactions, DEFAULT_INSERT_BATCH_SIZE);
+    }
+    
+    @Override
+    public CompletableFuture<List<Long>> insertAll(List<Transaction> transactions, int batchSize) {
+        if (batchSize <= 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("batchSize must be positive"));
+        }
+        return invalidating(CompletableFuture.supplyAsync(() -> {
+            List<TransactionEntity> entities = TransactionMapper.toEntityList(transactions);
+            List<Long> ids = new ArrayList<>(entities.size());
+            for (int start = 0; start < entities.size(); start += batchSize) {
+                List<TransactionEntity> batch = entities.subList(start, Math.min(start + batchSize, entities.size()));
+                ids.addAll(database.runInTransaction(() -> {
+                    stampChangeSeq(batch);
+                    List<Long> batchIds = transactionDao.insertTransactions(batch);
+                    applyRollupDeltas(batch);
+                    return batchIds;
+                }));
+                // Each batch is visible once committed, so cached lists go stale per batch
+                cache.invalidate();
+            }
+            return ids;
+        }, backgroundWriteExecutor));
+    }
+    
+    @Override
+    public CompletableFuture<Long> getLastTransactionId() {
+        return CompletableFuture.supplyAsync(transactionDao::getMaxTransactionId, backgroundReadExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<List<Long>> insertAllMissing(List<Transaction> transactions, long existingUpToId,
+                                                          Map<Long, Integer> unmatched) {
+        return invalidating(CompletableFuture.supplyAsync(() -> {
+            List<TransactionEntity> entities = TransactionMapper.toEntityList(transactions);
+            FingerprintMatcher matcher = new FingerprintMatcher(unmatched,
+                    lookup -> transactionDao.getMatchingFingerprints(lookup, existingUpToId));
+            List<Long> ids = new ArrayList<>(entities.size());
+            for (int start = 0; start < entities.size(); start += DEFAULT_INSERT_BATCH_SIZE) {
+                List<TransactionEntity> batch = entities.subList(
+                        start, Math.min(start + DEFAULT_INSERT_BATCH_SIZE, entities.size()));
+                ids.addAll(database.runInTransaction(() -> {
+                    List<TransactionEntity> missing = matcher.selectMissing(batch);
+                    if (missing.isEmpty()) {
+                        return new ArrayList<Long>();
+                    }
+                    stampChangeSeq(missing);
+                    List<Long> batchIds = transactionDao.insertTransactions(missing);
+                    applyRollupDeltas(missing);
+                    return batchIds;
+                }));
+                cache.invalidate();
+            }
+            return ids;
+        }, backgroundWriteExecutor));
     }
     
     @Override
     public CompletableFuture<Void> updateTransaction(Transaction transaction) {
-        return CompletableFuture.runAsync(() -> {
+        return invalidating(CompletableFuture.runAsync(() -> database.runInTransaction(() -> {
             TransactionEntity entity = TransactionMapper.toEntity(transaction);
+            TransactionEntity previous = entity.getId() != null
+                    ? transactionDao.getTransactionById(entity.getId()) : null;
+            entity.setChangeSeq(changeTracker.next());
             transactionDao.updateTransaction(entity);
-        }, executor);
+            if (previous != null) {
+                applyRollupDelta(previous, -1);
+                applyRollupDelta(entity, 1);
+            }
+        }), writeExecutor));
     }
     
     @Override
     public CompletableFuture<Void> deleteTransaction(Long transactionId) {
-        return CompletableFuture.runAsync(() -> {
+        return invalidating(CompletableFuture.runAsync(() -> database.runInTransaction(() -> {
+            TransactionEntity previous = transactionDao.getTransactionById(transactionId);
             transactionDao.deleteTransactionById(transactionId);
-        }, executor);
+            if (previous != null) {
+                applyRollupDelta(previous, -1);
+                changeTracker.recordDeletion(BackupDeletion.TYPE_TRANSACTION, String.valueOf(transactionId));
+            }
+        }), writeExecutor));
+    }
+    
+    @Override
+    public CompletableFuture<Integer> upsertAll(List<Transaction> transactions) {
+        return invalidating(CompletableFuture.supplyAsync(() -> {
+            List<TransactionEntity> entities = TransactionMapper.toEntityList(transactions);
+            for (int start = 0; start < entities.size(); start += DEFAULT_INSERT_BATCH_SIZE) {
+                List<TransactionEntity> batch = entities.subList(
+                        start, Math.min(start + DEFAULT_INSERT_BATCH_SIZE, entities.size()));
+                database.runInTransaction(() -> {
+                    List<Long> ids = new ArrayList<>(batch.size());
+                    for (TransactionEntity entity : batch) {
+                        if (entity.getId() != null) {
+                            ids.add(entity.getId());
+                        }
+                    }
+                    // Rows being overwritten leave their old rollup buckets first
+                    List<TransactionEntity> previous = ids.isEmpty()
+                            ? new ArrayList<>() : transactionDao.getTransactionsByIds(ids);
+                    for (TransactionEntity entity : previous) {
+                        applyRollupDelta(entity, -1);
+                    }
+                    stampChangeSeq(batch);
+                    transactionDao.upsertTransactions(batch);
+                    applyRollupDeltas(batch);
+                    for (Long id : ids) {
+                        changeTracker.clearDeletion(BackupDeletion.TYPE_TRANSACTION, String.valueOf(id));
+                    }
+                });
+                cache.invalidate();
+            }
+            return entities.size();
+        }, backgroundWriteExecutor));
+    }
+    
+    @Override
+    public CompletableFuture<Integer> deleteTransactions(List<Long> transactionIds) {
+        return invalidating(CompletableFuture.supplyAsync(() -> database.runInTransaction(() -> {
+            if (transactionIds.isEmpty()) {
+                return 0;
+            }
+            List<TransactionEntity> previous = transactionDao.getTransactionsByIds(transactionIds);
+            int deleted = transactionDao.deleteTransactionsByIds(transactionIds);
+            for (TransactionEntity entity : previous) {
+                applyRollupDelta(entity, -1);
+                changeTracker.recordDeletion(BackupDeletion.TYPE_TRANSACTION, String.valueOf(entity.getId()));
+            }
+            return deleted;
+        }), backgroundWriteExecutor));
+    }
+    
+    @Override
+    public CompletableFuture<Void> deleteAllTransactions() {
+        return invalidating(CompletableFuture.runAsync(() -> database.runInTransaction(() -> {
+            // Without tombstones an incremental backup taken after this would not carry the
+            // deletions, and replaying it on an older full backup would bring the rows back
+            changeTracker.recordAllTransactionDeletions(BackupDeletion.TYPE_TRANSACTION);
+            transactionDao.deleteAllTransactions();
+            monthlyRollupDao.deleteAll();
+        }), backgroundWriteExecutor));
+    }
+    
+    /**
+     * Drops the cached lists once a write has finished, whether or not it succeeded: a failed
+     * bulk write may still have committed its earlier batches. The returned future completes
+     * after the invalidation, so a caller reading after it never sees the old lists.
+     */
+    private <T> CompletableFuture<T> invalidating(CompletableFuture<T> write) {
+        return write.whenComplete((result, error) -> cache.invalidate());
+    }
+    
+    /**
+     * Serves a list query from the cache, or runs it on the read lane and caches the result
+     */
+    private CompletableFuture<List<Transaction>> cachedQuery(Object key, Supplier<List<TransactionEntity>> query) {
+        List<Transaction> cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            long version = cache.getVersion();
+            List<Transaction> transactions = TransactionMapper.toDomainList(query.get());
+            cache.put(key, version, transactions);
+            return transactions;
+        }, readExecutor);
+    }
+    
+    /**
+     * Gives each row of a batch its own change sequence number, in list order
+     */
+    private void stampChangeSeq(List<TransactionEntity> batch) {
+        long seq = changeTracker.reserve(batch.size());
+        for (TransactionEntity entity : batch) {
+            entity.setChangeSeq(seq++);
+        }
+    }
+    
+    /**
+     * Adds (sign = 1) or removes (sign = -1) a transaction from its monthly rollup row.
+     * Must run inside the same database transaction as the write it mirrors.
+     */
+    private void applyRollupDelta(TransactionEntity entity, int sign) {
+        if (entity.getType() == null) {
+            return;
+        }
+        int yearMonth = YearMonthConverter.keyFromEpochMillis(entity.getDate());
+        String category = entity.getCategory() != null ? entity.getCategory() : "";
+        
+        monthlyRollupDao.ensureRollup(yearMonth, entity.getType(), category);
+        monthlyRollupDao.applyDelta(yearMonth, entity.getType(), category, sign * entity.getAmountMinor(), sign);
+        if (sign < 0) {
+            monthlyRollupDao.deleteIfEmpty(yearMonth, entity.getType(), category);
+        }
+    }
+    
+    /**
+     * Adds a batch of new transactions to the rollups with one update per affected row
+     */
+    private void applyRollupDeltas(List<TransactionEntity> entities) {
+        Map<List<Object>, long[]> deltas = new LinkedHashMap<>();
+        for (TransactionEntity entity : entities) {
+            if (entity.getType() == null) {
+                continue;
+            }
+            int yearMonth = YearMonthConverter.keyFromEpochMillis(entity.getDate());
+            String category = entity.getCategory() != null ? entity.getCategory() : "";
+            long[] delta = deltas.computeIfAbsent(Arrays.asList(yearMonth, entity.getType(), category), k -> new long[2]);
+            delta[0] += entity.getAmountMinor();
+            delta[1]++;
+        }
+        
+        for (Map.Entry<List<Object>, long[]> entry : deltas.entrySet()) {
+            int yearMonth = (Integer) entry.getKey().get(0);
+            TransactionType type = (TransactionType) entry.getKey().get(1);
+            String category = (String) entry.getKey().get(2);
+            monthlyRollupDao.ensureRollup(yearMonth, type, category);
+            monthlyRollupDao.applyDelta(yearMonth, type, category, entry.getValue()[0], (int) entry.getValue()[1]);
+        }
     }
     
     @Override
@@ -55,90 +310,168 @@ public class TransactionRepositoryImpl implements TransactionRepository {
                 return Optional.of(TransactionMapper.toDomain(entity));
             }
             return Optional.empty();
-        }, executor);
+        }, readExecutor);
     }
     
     @Override
     public CompletableFuture<List<Transaction>> getAllTransactions() {
-        return CompletableFuture.supplyAsync(() -> {
-            List<TransactionEntity> entities = transactionDao.getAllTransactions();
-            return TransactionMapper.toDomainList(entities);
-        }, executor);
+        return cachedQuery("all", transactionDao::getAllTransactions);
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionsPage(TransactionPageKey after, int limit) {
+        if (after == null) {
+            return cachedQuery(Arrays.asList("page", limit), () -> transactionDao.getFirstTransactionPage(limit));
+        }
+        long afterDate = EpochMillisConverter.toEpochMillis(after.getDate());
+        return cachedQuery(Arrays.asList("page", afterDate, after.getId(), limit),
+                () -> transactionDao.getTransactionPageAfter(afterDate, after.getId(), limit));
     }
     
     @Override
     public CompletableFuture<List<Transaction>> getTransactionsByType(TransactionType type) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<TransactionEntity> entities = transactionDao.getTransactionsByType(type);
-            return TransactionMapper.toDomainList(entities);
-        }, executor);
+        return cachedQuery(Arrays.asList("type", type), () -> transactionDao.getTransactionsByType(type));
     }
     
     @Override
     public CompletableFuture<List<Transaction>> getTransactionsByCategory(String category) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<TransactionEntity> entities = transactionDao.getTransactionsByCategory(category);
-            return TransactionMapper.toDomainList(entities);
-        }, executor);
+        return cachedQuery(Arrays.asList("category", category),
+                () -> transactionDao.getTransactionsByCategory(category));
     }
     
     @Override
     public CompletableFuture<List<Transaction>> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<TransactionEntity> entities = transactionDao.getTransactionsByDateRange(startDate, endDate);
-            return TransactionMapper.toDomainList(entities);
-        }, executor);
+        long start = EpochMillisConverter.toEpochMillis(startDate);
+        long end = EpochMillisConverter.toEpochMillis(endDate);
+        return cachedQuery(Arrays.asList("dateRange", start, end),
+                () -> transactionDao.getTransactionsByDateRange(start, end));
     }
     
     @Override
     public CompletableFuture<List<Transaction>> getTransactionsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
         return CompletableFuture.supplyAsync(() -> {
-            List<TransactionEntity> entities = transactionDao.getTransactionsByAmountRange(minAmount, maxAmount);
+            List<TransactionEntity> entities = transactionDao.getTransactionsByAmountRange(
+                    AmountConverter.toMinorUnits(minAmount), AmountConverter.toMinorUnits(maxAmount));
             return TransactionMapper.toDomainList(entities);
-        }, executor);
+        }, readExecutor);
     }
     
     @Override
     public CompletableFuture<List<Transaction>> searchTransactions(String query) {
         return CompletableFuture.supplyAsync(() -> {
-            List<TransactionEntity> entities = transactionDao.searchTransactions(query);
+            String matchQuery = FtsMatchQuery.build(query);
+            if (matchQuery == null) {
+                return TransactionMapper.toDomainList(transactionDao.getAllTransactions());
+            }
+            List<TransactionEntity> entities = transactionDao.searchTransactions(matchQuery);
+            return TransactionMapper.toDomainList(entities);
+        }, readExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> searchTransactions(String textQuery, SearchFilters filters) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<TransactionEntity> entities = transactionDao.filterTransactions(
+                    TransactionQueryBuilder.build(textQuery, filters));
             return TransactionMapper.toDomainList(entities);
-        }, executor);
+        }, readExecutor);
     }
     
     @Override
     public CompletableFuture<BigDecimal> getTotalIncomeByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return CompletableFuture.supplyAsync(() -> {
-            BigDecimal result = transactionDao.getTotalIncomeByDateRange(startDate, endDate);
-            return result != null ? result : BigDecimal.ZERO;
-        }, executor);
+            long result = transactionDao.getTotalIncomeMinorByDateRange(
+                    EpochMillisConverter.toEpochMillis(startDate), EpochMillisConverter.toEpochMillis(endDate));
+            return AmountConverter.fromMinorUnits(result);
+        }, readExecutor);
     }
     
     @Override
     public CompletableFuture<BigDecimal> getTotalExpenseByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return CompletableFuture.supplyAsync(() -> {
-            BigDecimal result = transactionDao.getTotalExpenseByDateRange(startDate, endDate);
-            return result != null ? result : BigDecimal.ZERO;
-        }, executor);
+            long result = transactionDao.getTotalExpenseMinorByDateRange(
+                    EpochMillisConverter.toEpochMillis(startDate), EpochMillisConverter.toEpochMillis(endDate));
+            return AmountConverter.fromMinorUnits(result);
+        }, readExecutor);
     }
     
     @Override
     public CompletableFuture<BigDecimal> getBalanceByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return CompletableFuture.supplyAsync(() -> {
-            BigDecimal income = transactionDao.getTotalIncomeByDateRange(startDate, endDate);
-            BigDecimal expense = transactionDao.getTotalExpenseByDateRange(startDate, endDate);
-            
-            income = income != null ? income : BigDecimal.ZERO;
-            expense = expense != null ? expense : BigDecimal.ZERO;
+            long start = EpochMillisConverter.toEpochMillis(startDate);
+            long end = EpochMillisConverter.toEpochMillis(endDate);
+            long income = transactionDao.getTotalIncomeMinorByDateRange(start, end);
+            long expense = transactionDao.getTotalExpenseMinorByDateRange(start, end);
             
-            return income.subtract(expense);
-        }, executor);
+            return AmountConverter.fromMinorUnits(income - expense);
+        }, readExecutor);
     }
     
     @Override
     public CompletableFuture<List<String>> getAllCategories() {
         return CompletableFuture.supplyAsync(() -> {
             return transactionDao.getAllCategories();
-        }, executor);
+        }, readExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Integer> getTransactionCount() {
+        return CompletableFuture.supplyAsync(() -> {
+            return transactionDao.getTransactionCount();
+        }, readExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<List<CategoryBreakdown>> getCategoryBreakdown(LocalDateTime startDate, LocalDateTime endDate) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<CategoryTotalRow> rows = transactionDao.getCategoryTotalsByDateRange(
+                    EpochMillisConverter.toEpochMillis(startDate), EpochMillisConverter.toEpochMillis(endDate));
+            List<CategoryBreakdown> breakdown = new ArrayList<>(rows.size());
+            for (CategoryTotalRow row : rows) {
+                breakdown.add(new CategoryBreakdown(
+                        row.category, row.type, AmountConverter.fromMinorUnits(row.totalMinor), row.transactionCount));
+            }
+            return breakdown;
+        }, readExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<List<MonthlySummary>> getMonthlySummaries(YearMonth from, YearMonth to) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<MonthlyTotalRow> rows = monthlyRollupDao.getMonthlyTotals(
+                    YearMonthConverter.toKey(from), YearMonthConverter.toKey(to));
+            
+            Map<Integer, MonthlyTotalRow> incomeByMonth = new HashMap<>();
+            Map<Integer, MonthlyTotalRow> expenseByMonth = new HashMap<>();
+            for (MonthlyTotalRow row : rows) {
+                if (row.type == TransactionType.INCOME) {
+                    incomeByMonth.put(row.yearMonth, row);
+                } else {
+                    expenseByMonth.put(row.yearMonth, row);
+                }
+            }
+            
+            List<MonthlySummary> summaries = new ArrayList<>();
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                int key = YearMonthConverter.toKey(month);
+                MonthlyTotalRow income = incomeByMonth.get(key);
+                MonthlyTotalRow expense = expenseByMonth.get(key);
+                summaries.add(new MonthlySummary(
+                        month,
+                        AmountConverter.fromMinorUnits(income != null ? income.totalMinor : 0L),
+                        AmountConverter.fromMinorUnits(expense != null ? expense.totalMinor : 0L),
+                        income != null ? income.transactionCount : 0,
+                        expense != null ? expense.transactionCount : 0));
+            }
+            return summaries;
+        }, readExecutor);
+    }
+    
+    @Override
+    public CompletableFuture<Void> rebuildMonthlyRollups() {
+        return CompletableFuture.runAsync(() -> database.runInTransaction(() -> {
+            monthlyRollupDao.deleteAll();
+            monthlyRollupDao.insertFromTransactions();
+        }), backgroundWriteExecutor);
     }
-} 
\ No newline at end of file
+}
@@ -3,16 +3,24 @@ package com.example.walletapplication.data.service;
 import android.content.ContentResolver;
 import android.content.ContentValues;
 import android.content.Context;
+import android.database.Cursor;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Environment;
 import android.provider.MediaStore;
+import android.provider.OpenableColumns;
 import android.util.Log;
 
+import com.example.walletapplication.domain.entity.BackupFormat;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -22,6 +30,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import dagger.hilt.android.qualifiers.ApplicationContext;
 
@@ -31,12 +41,38 @@ import dagger.hilt.android.qualifiers.ApplicationContext;
 public class FileStorageService {
     private static final String TAG = "FileStorageService";
     private static final String BACKUP_DIRECTORY = "WalletBackups";
-    private static final String BACKUP_FILE_EXTENSION = ".json";
-    private static final String MIME_TYPE = "application/json";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
     
     private final Context context;
     private final Executor executor;
     
+    /**
+     * Writes file content directly to an output stream instead of building it in memory
+     */
+    public interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+    
+    /**
+     * Consumes file content directly from an input stream instead of reading it into memory
+     */
+    public interface ContentReader<T> {
+        T readFrom(InputStream inputStream) throws IOException;
+    }
+    
+    /**
+     * Receives the number of raw bytes read from or written to storage so far. Called from
+     * the I/O thread once per buffer, not per byte.
+     */
+    public interface ByteCountListener {
+        /**
+         * @param totalBytes Size of the file being read, or -1 when it is not known
+         */
+        void onBytesTransferred(long bytes, long totalBytes);
+    }
+    
     public FileStorageService(@ApplicationContext Context context, Executor executor) {
         this.context = context;
         this.executor = executor;
@@ -49,6 +85,28 @@ public class FileStorageService {
      * @return CompletableFuture with the path of the saved file
      */
     public CompletableFuture<String> saveToInternalStorage(String content, String fileName) {
+        return writeToInternalStorage(fileName, out -> out.write(content.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    /**
+     * Streams content into a file in internal storage
+     * @param fileName The name of the file
+     * @param contentWriter Writes the file content to the given stream
+     * @return CompletableFuture with the path of the saved file
+     */
+    public CompletableFuture<String> writeToInternalStorage(String fileName, ContentWriter contentWriter) {
+        return writeToInternalStorage(fileName, contentWriter, null);
+    }
+    
+    /**
+     * Streams content into a file in internal storage, reporting the bytes written
+     * @param fileName The name of the file
+     * @param contentWriter Writes the file content to the given stream
+     * @param listener Receives the number of bytes written to the file, after compression; may be null
+     * @return CompletableFuture with the path of the saved file
+     */
+    public CompletableFuture<String> writeToInternalStorage(String fileName, ContentWriter contentWriter,
+                                                            ByteCountListener listener) {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 File backupDir = new File(context.getFilesDir(), BACKUP_DIRECTORY);
@@ -60,9 +118,13 @@ public class FileStorageService {
                 
                 File file = new File(backupDir, fileName);
                 
-                try (FileOutputStream fos = new FileOutputStream(file)) {
-                    fos.write(content.getBytes(StandardCharsets.UTF_8));
-                    fos.flush();
+                try (OutputStream os = new BufferedOutputStream(counted(new FileOutputStream(file), listener),
+                        BUFFER_SIZE)) {
+                    writeEncoded(os, fileName, contentWriter);
+                } catch (IOException | RuntimeException e) {
+                    // Do not leave a truncated backup behind
+                    file.delete();
+                    throw e;
                 }
                 
                 Log.d(TAG, "File saved to internal storage: " + file.getAbsolutePath());
@@ -83,14 +145,36 @@ public class FileStorageService {
      * @return CompletableFuture with the path of the saved file
      */
     public CompletableFuture<String> saveToExternalStorage(String content, String fileName) {
+        return writeToExternalStorage(fileName, out -> out.write(content.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    /**
+     * Streams content into a file in external storage (Downloads folder)
+     * @param fileName The name of the file
+     * @param contentWriter Writes the file content to the given stream
+     * @return CompletableFuture with the path of the saved file
+     */
+    public CompletableFuture<String> writeToExternalStorage(String fileName, ContentWriter contentWriter) {
+        return writeToExternalStorage(fileName, contentWriter, null);
+    }
+    
+    /**
+     * Streams content into a file in external storage (Downloads folder), reporting the bytes written
+     * @param fileName The name of the file
+     * @param contentWriter Writes the file content to the given stream
+     * @param listener Receives the number of bytes written to the file, after compression; may be null
+     * @return CompletableFuture with the path of the saved file
+     */
+    public CompletableFuture<String> writeToExternalStorage(String fileName, ContentWriter contentWriter,
+                                                            ByteCountListener listener) {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
                     // Android 10+ (API 29+) - Use MediaStore API
-                    return saveToExternalStorageScoped(content, fileName);
+                    return saveToExternalStorageScoped(contentWriter, fileName, listener);
                 } else {
                     // Android 9 and below - Use legacy approach
-                    return saveToExternalStorageLegacy(content, fileName);
+                    return saveToExternalStorageLegacy(contentWriter, fileName, listener);
                 }
             } catch (Exception e) {
                 Log.e(TAG, "Failed to save file to external storage", e);
@@ -102,13 +186,14 @@ public class FileStorageService {
     /**
      * Saves content to external storage using MediaStore API (Android 10+)
      */
-    private String saveToExternalStorageScoped(String content, String fileName) throws IOException {
+    private String saveToExternalStorageScoped(ContentWriter contentWriter, String fileName,
+                                               ByteCountListener listener) throws IOException {
         ContentResolver resolver = context.getContentResolver();
         
         // Create content values for the file
         ContentValues values = new ContentValues();
         values.put(MediaStore.MediaColumns.DISPLAY_NAME, fileName);
-        values.put(MediaStore.MediaColumns.MIME_TYPE, MIME_TYPE);
+        values.put(MediaStore.MediaColumns.MIME_TYPE, mimeTypeOf(fileName));
         values.put(MediaStore.MediaColumns.RELATIVE_PATH, Environment.DIRECTORY_DOWNLOADS + "/" + BACKUP_DIRECTORY);
         
         // Insert the file into MediaStore
@@ -122,8 +207,11 @@ public class FileStorageService {
             if (outputStream == null) {
                 throw new IOException("Failed to open output stream");
             }
-            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
-            outputStream.flush();
+            writeEncoded(new BufferedOutputStream(counted(outputStream, listener), BUFFER_SIZE), fileName,
+                    contentWriter);
+        } catch (IOException | RuntimeException e) {
+            resolver.delete(uri, null, null);
+            throw e;
         }
         
         String filePath = Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS) 
@@ -136,7 +224,8 @@ public class FileStorageService {
     /**
      * Saves content to external storage using legacy approach (Android 9 and below)
      */
-    private String saveToExternalStorageLegacy(String content, String fileName) throws IOException {
+    private String saveToExternalStorageLegacy(ContentWriter contentWriter, String fileName,
+                                               ByteCountListener listener) throws IOException {
         File downloadsDir = Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS);
         if (downloadsDir == null) {
             throw new IOException("External storage not available");
@@ -151,9 +240,11 @@ public class FileStorageService {
         
         File file = new File(backupDir, fileName);
         
-        try (FileOutputStream fos = new FileOutputStream(file)) {
-            fos.write(content.getBytes(StandardCharsets.UTF_8));
-            fos.flush();
+        try (OutputStream os = new BufferedOutputStream(counted(new FileOutputStream(file), listener), BUFFER_SIZE)) {
+            writeEncoded(os, fileName, contentWriter);
+        } catch (IOException | RuntimeException e) {
+            file.delete();
+            throw e;
         }
         
         Log.d(TAG, "File saved to external storage (legacy): " + file.getAbsolutePath());
@@ -161,30 +252,43 @@ public class FileStorageService {
     }
     
     /**
-     * Reads content from a file
+     * Reads content from a file, decompressing it if it is gzip-encoded
      * @param filePath The path of the file to read
      * @return CompletableFuture with the file content
      */
     public CompletableFuture<String> readFromFile(String filePath) {
+        return readFile(filePath, FileStorageService::readFully);
+    }
+    
+    /**
+     * Streams the content of a file to a reader. Gzip-encoded files are decompressed
+     * transparently.
+     * @param filePath The path of the file to read
+     * @param contentReader Consumes the file content
+     * @return CompletableFuture with the value produced by the reader
+     */
+    public <T> CompletableFuture<T> readFile(String filePath, ContentReader<T> contentReader) {
+        return readFile(filePath, contentReader, null);
+    }
+    
+    /**
+     * Streams the content of a file to a reader, reporting the raw bytes read against the file size
+     * @param filePath The path of the file to read
+     * @param contentReader Consumes the file content
+     * @param listener Receives the number of bytes read, before decompression; may be null
+     * @return CompletableFuture with the value produced by the reader
+     */
+    public <T> CompletableFuture<T> readFile(String filePath, ContentReader<T> contentReader,
+                                             ByteCountListener listener) {
         return CompletableFuture.supplyAsync(() -> {
-            try {
-                File file = new File(filePath);
-                if (!file.exists()) {
-                    Log.e(TAG, "File not found: " + filePath);
-                    throw new RuntimeException("File not found: " + filePath);
-                }
-                
-                byte[] bytes = new byte[(int) file.length()];
-                
-                try (FileInputStream fis = new FileInputStream(file)) {
-                    int bytesRead = fis.read(bytes);
-                    if (bytesRead != bytes.length) {
-                        Log.w(TAG, "Warning: Expected " + bytes.length + " bytes, but read " + bytesRead);
-                    }
-                }
-                
-                return new String(bytes, StandardCharsets.UTF_8);
-                
+            File file = new File(filePath);
+            if (!file.exists()) {
+                Log.e(TAG, "File not found: " + filePath);
+                throw new RuntimeException("File not found: " + filePath);
+            }
+            
+            try (InputStream inputStream = decoded(counted(new FileInputStream(file), file.length(), listener))) {
+                return contentReader.readFrom(inputStream);
             } catch (IOException e) {
                 Log.e(TAG, "Failed to read file: " + filePath, e);
                 throw new RuntimeException("Failed to read file: " + filePath + " - " + e.getMessage(), e);
@@ -192,6 +296,56 @@ public class FileStorageService {
         }, executor);
     }
     
+    /**
+     * Streams the content behind a content URI to a reader. Gzip-encoded content is
+     * detected by its magic bytes, since picked URIs rarely keep their file name.
+     * @param uri The content URI to read from
+     * @param contentReader Consumes the content
+     * @return CompletableFuture with the value produced by the reader
+     */
+    public <T> CompletableFuture<T> readContentUri(Uri uri, ContentReader<T> contentReader) {
+        return readContentUri(uri, contentReader, null);
+    }
+    
+    /**
+     * Streams the content behind a content URI to a reader, reporting the raw bytes read
+     * @param uri The content URI to read from
+     * @param contentReader Consumes the content
+     * @param listener Receives the number of bytes read, before decompression; may be null
+     * @return CompletableFuture with the value produced by the reader
+     */
+    public <T> CompletableFuture<T> readContentUri(Uri uri, ContentReader<T> contentReader,
+                                                   ByteCountListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            ContentResolver resolver = context.getContentResolver();
+            long totalBytes = listener != null ? querySize(resolver, uri) : -1;
+            
+            try (InputStream inputStream = resolver.openInputStream(uri)) {
+                if (inputStream == null) {
+                    throw new IOException("Failed to open input stream");
+                }
+                return contentReader.readFrom(decoded(counted(inputStream, totalBytes, listener)));
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to read from content URI: " + uri.toString(), e);
+                throw new RuntimeException("Failed to read from content URI: " + uri.toString() + " - " + e.getMessage(), e);
+            }
+        }, executor);
+    }
+    
+    /**
+     * Looks up the size the provider reports for a content URI, or -1 if it does not report one
+     */
+    private static long querySize(ContentResolver resolver, Uri uri) {
+        try (Cursor cursor = resolver.query(uri, new String[]{OpenableColumns.SIZE}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getLong(0);
+            }
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Failed to query size of " + uri, e);
+        }
+        return -1;
+    }
+    
     /**
      * Checks if a file exists
      * @param filePath The path of the file to check
@@ -219,7 +373,7 @@ public class FileStorageService {
                 File[] files = backupDir.listFiles();
                 if (files != null) {
                     for (File file : files) {
-                        if (file.isFile() && file.getName().endsWith(BACKUP_FILE_EXTENSION)) {
+                        if (file.isFile() && BackupFormat.fromFileName(file.getName()) != null) {
                             backupFiles.add(file.getAbsolutePath());
                         }
                     }
@@ -277,14 +431,13 @@ public class FileStorageService {
                 }
                 
                 // Check file extension
-                if (!file.getName().endsWith(BACKUP_FILE_EXTENSION)) {
+                if (BackupFormat.fromFileName(file.getName()) == null) {
                     Log.d(TAG, "JSON validation failed: incorrect file extension");
                     return false;
                 }
                 
-                // Try to read the file to ensure it's readable
-                String content = readFromFile(filePath).join();
-                boolean isValid = content != null && !content.trim().isEmpty();
+                // Only peek at the start of the file instead of reading all of it
+                boolean isValid = startsWithJsonObject(decoded(new FileInputStream(file)));
                 Log.d(TAG, "JSON validation result for " + filePath + ": " + isValid);
                 return isValid;
                 
@@ -301,29 +454,7 @@ public class FileStorageService {
      * @return CompletableFuture with the file content
      */
     public CompletableFuture<String> readFromContentUri(Uri uri) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ContentResolver resolver = context.getContentResolver();
-                
-                try (InputStream inputStream = resolver.openInputStream(uri);
-                     BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-                    
-                    StringBuilder stringBuilder = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        stringBuilder.append(line).append('\n');
-                    }
-                    
-                    String content = stringBuilder.toString();
-                    Log.d(TAG, "Successfully read content from URI: " + uri.toString() + " (length: " + content.length() + ")");
-                    return content;
-                }
-                
-            } catch (IOException e) {
-                Log.e(TAG, "Failed to read from content URI: " + uri.toString(), e);
-                throw new RuntimeException("Failed to read from content URI: " + uri.toString() + " - " + e.getMessage(), e);
-            }
-        }, executor);
+        return readContentUri(uri, FileStorageService::readFully);
     }
     
     /**
@@ -334,15 +465,9 @@ public class FileStorageService {
     public CompletableFuture<Boolean> isValidJsonContentUri(Uri uri) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                // Try to read the content to ensure it's readable
-                String content = readFromContentUri(uri).join();
-                boolean isValid = content != null && !content.trim().isEmpty();
-                
-                // Additional validation: check if it looks like JSON
-                if (isValid) {
-                    String trimmedContent = content.trim();
-                    isValid = trimmedContent.startsWith("{") && trimmedContent.endsWith("}");
-                }
+                // Only peek at the start of the content instead of reading all of it
+                InputStream inputStream = context.getContentResolver().openInputStream(uri);
+                boolean isValid = inputStream != null && startsWithJsonObject(decoded(inputStream));
                 
                 Log.d(TAG, "Content URI validation result for " + uri.toString() + ": " + isValid);
                 return isValid;
@@ -353,4 +478,157 @@ public class FileStorageService {
             }
         }, executor);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Checks that the first non-whitespace character is '{'. Closes the stream.
+     */
+    private boolean startsWithJsonObject(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            int c;
+            do {
+                c = in.read();
+            } while (c != -1 && Character.isWhitespace(c));
+            return c == '{';
+        }
+    }
+    
+    /**
+     * Writes through a gzip stream when the file name asks for the compressed format
+     */
+    private static void writeEncoded(OutputStream outputStream, String fileName, ContentWriter contentWriter)
+            throws IOException {
+        if (BackupFormat.fromFileName(fileName) == BackupFormat.JSON_GZIP) {
+            GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            contentWriter.writeTo(gzipStream);
+            gzipStream.finish();
+        } else {
+            contentWriter.writeTo(outputStream);
+        }
+        outputStream.flush();
+    }
+    
+    private static String mimeTypeOf(String fileName) {
+        BackupFormat format = BackupFormat.fromFileName(fileName);
+        return (format != null ? format : BackupFormat.JSON).getMimeType();
+    }
+    
+    /**
+     * Buffers the stream and unwraps gzip content, recognised by its magic bytes
+     */
+    static InputStream decoded(InputStream inputStream) throws IOException {
+        InputStream buffered = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND) {
+            return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+        }
+        return buffered;
+    }
+    
+    private static InputStream counted(InputStream inputStream, long totalBytes, ByteCountListener listener) {
+        return listener != null ? new CountingInputStream(inputStream, totalBytes, listener) : inputStream;
+    }
+    
+    private static OutputStream counted(OutputStream outputStream, ByteCountListener listener) {
+        return listener != null ? new CountingOutputStream(outputStream, listener) : outputStream;
+    }
+    
+    /**
+     * Counts the bytes pulled from the underlying stream. It sits below the buffering
+     * streams, so the listener sees one call per buffer refill.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final long totalBytes;
+        private final ByteCountListener listener;
+        private long count;
+        
+        CountingInputStream(InputStream in, long totalBytes, ByteCountListener listener) {
+            super(in);
+            this.totalBytes = totalBytes;
+            this.listener = listener;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                advance(1);
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                advance(skipped);
+            }
+            return skipped;
+        }
+        
+        @Override
+        public boolean markSupported() {
+            // A reset would count the same bytes twice
+            return false;
+        }
+        
+        private void advance(long bytes) {
+            count += bytes;
+            listener.onBytesTransferred(count, totalBytes);
+        }
+    }
+    
+    /**
+     * Counts the bytes handed to the underlying stream, below the buffering and gzip layers
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private final ByteCountListener listener;
+        private long count;
+        
+        CountingOutputStream(OutputStream out, ByteCountListener listener) {
+            super(out);
+            this.listener = listener;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            advance(1);
+        }
+        
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            // FilterOutputStream would write the array one byte at a time
+            out.write(buffer, offset, length);
+            advance(length);
+        }
+        
+        private void advance(long bytes) {
+            count += bytes;
+            listener.onBytesTransferred(count, -1);
+        }
+    }
+    
+    private static String readFully(InputStream inputStream) throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                content.append(buffer, 0, read);
+            }
+        }
+        return content.toString();
+    }
+}
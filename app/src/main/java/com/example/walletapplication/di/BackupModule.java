@@ -2,6 +2,10 @@ package com.example.walletapplication.di;
 
 import android.content.Context;
 
+import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.dao.TransactionDao;
+import com.example.walletapplication.data.local.database.DatabaseExecutors;
 import com.example.walletapplication.data.repository.BackupRepositoryImpl;
 import com.example.walletapplication.data.service.FileStorageService;
 import com.example.walletapplication.domain.repository.BackupRepository;
@@ -9,8 +13,7 @@ import com.example.walletapplication.domain.repository.CategoryRepository;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 import com.example.walletapplication.domain.usecase.backup.ExportDataUseCase;
 import com.example.walletapplication.domain.usecase.backup.ImportDataUseCase;
-
-import java.util.concurrent.Executor;
+import com.example.walletapplication.domain.usecase.backup.RestoreBackupChainUseCase;
 
 import javax.inject.Singleton;
 
@@ -23,30 +26,52 @@ import dagger.hilt.components.SingletonComponent;
 @Module
 @InstallIn(SingletonComponent.class)
 public class BackupModule {
-
     @Provides
     @Singleton
-    public FileStorageService provideFileStorageService(@ApplicationContext Context context, Executor executor) {
-        return new FileStorageService(context, executor);
+    public FileStorageService provideFileStorageService(@ApplicationContext Context context,
+                                                        DatabaseExecutors executors) {
+        // File tasks block on disk and on the import queue, so they stay off the reader lane
+        return new FileStorageService(context, executors.io());
     }
 
     @Provides
     @Singleton
-    public BackupRepository provideBackupRepository(FileStorageService fileStorageService) {
-        return new BackupRepositoryImpl(fileStorageService);
+    public BackupRepository provideBackupRepository(FileStorageService fileStorageService,
+                                                    TransactionDao transactionDao,
+                                                    CategoryDao categoryDao,
+                                                    ChangeLogDao changeLogDao,
+                                                    DatabaseExecutors executors) {
+        // Backup planning reads (change counts) are not on the screen's critical path
+        return new BackupRepositoryImpl(fileStorageService, transactionDao, categoryDao, changeLogDao,
+                executors.backgroundReader());
     }
 
     @Provides
     public ExportDataUseCase provideExportDataUseCase(TransactionRepository transactionRepository,
                                                      CategoryRepository categoryRepository,
+                                                     BackupRepository backupRepository,
                                                      @ApplicationContext Context context) {
-        return new ExportDataUseCase(transactionRepository, categoryRepository, context);
+        return new ExportDataUseCase(transactionRepository, categoryRepository, backupRepository, context);
     }
 
     @Provides
     public ImportDataUseCase provideImportDataUseCase(TransactionRepository transactionRepository,
                                                      CategoryRepository categoryRepository,
-                                                     @ApplicationContext Context context) {
-        return new ImportDataUseCase(transactionRepository, categoryRepository, context);
+                                                     BackupRepository backupRepository,
+                                                     @ApplicationContext Context context,
+                                                     DatabaseExecutors executors) {
+        // The writer stage blocks while each batch commits on the database writer thread
+        return new ImportDataUseCase(transactionRepository, categoryRepository, backupRepository, context,
+                executors.io());
+    }
+
+    @Provides
+    public RestoreBackupChainUseCase provideRestoreBackupChainUseCase(TransactionRepository transactionRepository,
+                                                                     CategoryRepository categoryRepository,
+                                                                     BackupRepository backupRepository,
+                                                                     @ApplicationContext Context context,
+                                                                     DatabaseExecutors executors) {
+        return new RestoreBackupChainUseCase(transactionRepository, categoryRepository, backupRepository, context,
+                executors.io());
     }
 } 
\ No newline at end of file
@@ -4,6 +4,9 @@ import android.content.Context;
 
 import com.example.walletapplication.data.local.dao.TransactionDao;
 import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.MonthlyRollupDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.database.DatabaseExecutors;
 import com.example.walletapplication.data.local.database.WalletDatabase;
 
 import javax.inject.Singleton;
@@ -17,11 +20,22 @@ import dagger.hilt.components.SingletonComponent;
 @Module
 @InstallIn(SingletonComponent.class)
 public class DatabaseModule {
+    // WAL lets these read alongside the writer; Room's reader connection pool holds up to four
+    private static final int READER_THREADS = 3;
 
+    /**
+     * One writer thread and a small reader pool, both ordered by priority; see DatabaseExecutors
+     */
     @Provides
     @Singleton
-    public WalletDatabase provideWalletDatabase(@ApplicationContext Context context) {
-        return WalletDatabase.getInstance(context);
+    public DatabaseExecutors provideDatabaseExecutors() {
+        return new DatabaseExecutors(READER_THREADS);
+    }
+
+    @Provides
+    @Singleton
+    public WalletDatabase provideWalletDatabase(@ApplicationContext Context context, DatabaseExecutors executors) {
+        return WalletDatabase.getInstance(context, executors);
     }
 
     @Provides
@@ -33,4 +47,14 @@ public class DatabaseModule {
     public CategoryDao provideCategoryDao(WalletDatabase database) {
         return database.categoryDao();
     }
-} 
\ No newline at end of file
+
+    @Provides
+    public MonthlyRollupDao provideMonthlyRollupDao(WalletDatabase database) {
+        return database.monthlyRollupDao();
+    }
+
+    @Provides
+    public ChangeLogDao provideChangeLogDao(WalletDatabase database) {
+        return database.changeLogDao();
+    }
+} 
@@ -1,47 +1,80 @@
 package com.example.walletapplication.di;
 
+import android.content.Context;
+
 import com.example.walletapplication.data.local.dao.TransactionDao;
 import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.MonthlyRollupDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.database.DatabaseExecutors;
+import com.example.walletapplication.data.local.database.WalletDatabase;
 import com.example.walletapplication.data.repository.TransactionRepositoryImpl;
 import com.example.walletapplication.data.repository.CategoryRepositoryImpl;
+import com.example.walletapplication.data.repository.CoalescingTransactionRepository;
+import com.example.walletapplication.data.repository.ReadCoalescingStats;
+import com.example.walletapplication.data.repository.TransactionCache;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 import com.example.walletapplication.domain.repository.CategoryRepository;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
 
 @Module
 @InstallIn(SingletonComponent.class)
 public class RepositoryModule {
+    // Rows across all cached transaction lists, roughly a few megabytes of mapped objects
+    private static final int TRANSACTION_CACHE_SIZE = 20_000;
 
+    /**
+     * Registered for memory callbacks so the cache empties when the system asks for memory
+     */
     @Provides
     @Singleton
-    public Executor provideExecutor() {
-        return Executors.newFixedThreadPool(4);
+    public TransactionCache provideTransactionCache(@ApplicationContext Context context) {
+        TransactionCache cache = new TransactionCache(TRANSACTION_CACHE_SIZE);
+        context.registerComponentCallbacks(cache);
+        return cache;
     }
 
     @Provides
     @Singleton
-    public TransactionRepository provideTransactionRepository(
+    public CoalescingTransactionRepository provideCoalescingTransactionRepository(
+            WalletDatabase database,
             TransactionDao transactionDao,
-            Executor executor
+            MonthlyRollupDao monthlyRollupDao,
+            ChangeLogDao changeLogDao,
+            DatabaseExecutors executors,
+            TransactionCache cache
     ) {
-        return new TransactionRepositoryImpl(transactionDao, executor);
+        // Identical reads issued together by several screens share one query
+        return new CoalescingTransactionRepository(new TransactionRepositoryImpl(
+                database, transactionDao, monthlyRollupDao, changeLogDao, executors, cache));
+    }
+
+    @Provides
+    @Singleton
+    public TransactionRepository provideTransactionRepository(CoalescingTransactionRepository repository) {
+        return repository;
+    }
+
+    @Provides
+    public ReadCoalescingStats provideReadCoalescingStats(CoalescingTransactionRepository repository) {
+        return repository;
     }
 
     @Provides
     @Singleton
     public CategoryRepository provideCategoryRepository(
+            WalletDatabase database,
             CategoryDao categoryDao,
-            Executor executor
+            ChangeLogDao changeLogDao,
+            DatabaseExecutors executors
     ) {
-        return new CategoryRepositoryImpl(categoryDao, executor);
+        return new CategoryRepositoryImpl(database, categoryDao, changeLogDao, executors);
     }
 } 
\ No newline at end of file
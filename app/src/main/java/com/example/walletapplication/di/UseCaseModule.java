@@ -7,6 +7,8 @@ import com.example.walletapplication.domain.usecase.transaction.AdvancedSearchUs
 import com.example.walletapplication.domain.usecase.transaction.DeleteTransactionUseCase;
 import com.example.walletapplication.domain.usecase.category.GetCategoriesUseCase;
 import com.example.walletapplication.domain.usecase.report.GetMonthlyReportUseCase;
+import com.example.walletapplication.domain.usecase.report.GetCategoryBreakdownUseCase;
+import com.example.walletapplication.domain.usecase.report.GetYearlyReportUseCase;
 import com.example.walletapplication.domain.usecase.transaction.GetTransactionsUseCase;
 import com.example.walletapplication.domain.usecase.transaction.UpdateTransactionUseCase;
 import com.example.walletapplication.domain.usecase.category.AddCategoryUseCase;
@@ -38,6 +40,16 @@ public class UseCaseModule {
         return new GetMonthlyReportUseCase(repository);
     }
 
+    @Provides
+    public GetYearlyReportUseCase provideGetYearlyReportUseCase(TransactionRepository repository) {
+        return new GetYearlyReportUseCase(repository);
+    }
+
+    @Provides
+    public GetCategoryBreakdownUseCase provideGetCategoryBreakdownUseCase(TransactionRepository repository) {
+        return new GetCategoryBreakdownUseCase(repository);
+    }
+
     @Provides
     public UpdateTransactionUseCase provideUpdateTransactionUseCase(TransactionRepository repository) {
         return new UpdateTransactionUseCase(repository);
@@ -0,0 +1,117 @@
+package com.example.walletapplication.domain.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * What the backup catalog knows about one backup file, enough to list it without opening it.
+ * The size and modification time identify the file version the entry was taken from.
+ */
+public class BackupCatalogEntry {
+    private final String filePath;
+    private final BackupFormat format;
+    private final long sizeBytes;
+    private final long lastModified;
+    private final String version;
+    private final LocalDateTime createdAt;
+    private final BackupMetadata metadata;
+    private final String checksum;
+
+    public BackupCatalogEntry(String filePath, BackupFormat format, long sizeBytes, long lastModified,
+                              String version, LocalDateTime createdAt, BackupMetadata metadata, String checksum) {
+        this.filePath = filePath;
+        this.format = format;
+        this.sizeBytes = sizeBytes;
+        this.lastModified = lastModified;
+        this.version = version;
+        this.createdAt = createdAt;
+        this.metadata = metadata;
+        this.checksum = checksum;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public BackupFormat getFormat() {
+        return format;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Header metadata of the backup, or null for files written without it
+     */
+    public BackupMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * SHA-256 of the records, or null when it was not known without reading the whole file
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Whether the file had a readable backup header when it was cataloged
+     */
+    public boolean isValid() {
+        return version != null;
+    }
+
+    /**
+     * Whether the entry still describes the file with the given size and modification time
+     */
+    public boolean matches(long sizeBytes, long lastModified) {
+        return this.sizeBytes == sizeBytes && this.lastModified == lastModified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BackupCatalogEntry that = (BackupCatalogEntry) o;
+        return sizeBytes == that.sizeBytes &&
+               lastModified == that.lastModified &&
+               Objects.equals(filePath, that.filePath) &&
+               format == that.format &&
+               Objects.equals(version, that.version) &&
+               Objects.equals(createdAt, that.createdAt) &&
+               Objects.equals(metadata, that.metadata) &&
+               Objects.equals(checksum, that.checksum);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(filePath, format, sizeBytes, lastModified, version, createdAt, metadata, checksum);
+    }
+
+    @Override
+    public String toString() {
+        return "BackupCatalogEntry{" +
+                "filePath='" + filePath + '\'' +
+                ", format=" + format +
+                ", sizeBytes=" + sizeBytes +
+                ", lastModified=" + lastModified +
+                ", version='" + version + '\'' +
+                ", createdAt=" + createdAt +
+                ", metadata=" + metadata +
+                ", checksum='" + checksum + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.walletapplication.domain.entity;
+
+import java.util.Objects;
+
+/**
+ * A record removed since the base backup, carried by incremental backups so a restored
+ * chain drops it as well
+ */
+public class BackupDeletion {
+    public static final String TYPE_TRANSACTION = "transaction";
+    public static final String TYPE_CATEGORY = "category";
+
+    private final String recordType;
+    private final String recordKey;
+
+    /**
+     * @param recordType TYPE_TRANSACTION or TYPE_CATEGORY
+     * @param recordKey The transaction id, or the category name
+     */
+    public BackupDeletion(String recordType, String recordKey) {
+        this.recordType = recordType;
+        this.recordKey = recordKey;
+    }
+
+    public String getRecordType() {
+        return recordType;
+    }
+
+    public String getRecordKey() {
+        return recordKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BackupDeletion that = (BackupDeletion) o;
+        return Objects.equals(recordType, that.recordType) &&
+               Objects.equals(recordKey, that.recordKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(recordType, recordKey);
+    }
+
+    @Override
+    public String toString() {
+        return "BackupDeletion{" +
+                "recordType='" + recordType + '\'' +
+                ", recordKey='" + recordKey + '\'' +
+                '}';
+    }
+}
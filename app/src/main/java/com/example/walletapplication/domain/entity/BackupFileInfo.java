@@ -0,0 +1,65 @@
+package com.example.walletapplication.domain.entity;
+
+import java.util.Objects;
+
+/**
+ * Result of writing a backup file: where it was saved and how many records it holds
+ */
+public class BackupFileInfo {
+    private final String filePath;
+    private final int transactionCount;
+    private final int categoryCount;
+    private final String checksum;
+
+    public BackupFileInfo(String filePath, int transactionCount, int categoryCount, String checksum) {
+        this.filePath = filePath;
+        this.transactionCount = transactionCount;
+        this.categoryCount = categoryCount;
+        this.checksum = checksum;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    /**
+     * SHA-256 of the records in the file, the same value stored in its checksum trailer
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BackupFileInfo that = (BackupFileInfo) o;
+        return transactionCount == that.transactionCount &&
+               categoryCount == that.categoryCount &&
+               Objects.equals(filePath, that.filePath) &&
+               Objects.equals(checksum, that.checksum);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(filePath, transactionCount, categoryCount, checksum);
+    }
+
+    @Override
+    public String toString() {
+        return "BackupFileInfo{" +
+                "filePath='" + filePath + '\'' +
+                ", transactionCount=" + transactionCount +
+                ", categoryCount=" + categoryCount +
+                ", checksum='" + checksum + '\'' +
+                '}';
+    }
+}
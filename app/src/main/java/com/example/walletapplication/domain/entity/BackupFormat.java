@@ -0,0 +1,46 @@
+package com.example.walletapplication.domain.entity;
+
+/**
+ * On-disk encodings of a backup file. The JSON variants carry the same compact document;
+ * BINARY is the columnar layout meant for large ledgers.
+ */
+public enum BackupFormat {
+    JSON(".json", "application/json"),
+    JSON_GZIP(".json.gz", "application/gzip"),
+    BINARY(".wbk", "application/octet-stream");
+
+    private final String fileExtension;
+    private final String mimeType;
+
+    BackupFormat(String fileExtension, String mimeType) {
+        this.fileExtension = fileExtension;
+        this.mimeType = mimeType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * Resolves the format from a file name, or null if it is not a backup file
+     */
+    public static BackupFormat fromFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        if (fileName.endsWith(JSON_GZIP.fileExtension)) {
+            return JSON_GZIP;
+        }
+        if (fileName.endsWith(JSON.fileExtension)) {
+            return JSON;
+        }
+        if (fileName.endsWith(BINARY.fileExtension)) {
+            return BINARY;
+        }
+        return null;
+    }
+}
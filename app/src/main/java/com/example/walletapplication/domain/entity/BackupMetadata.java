@@ -15,10 +15,12 @@ public class BackupMetadata {
     private final int transactionCount;
     private final int categoryCount;
     private final String checksum;
+    private final Long changeSeq;
+    private final Long baseChangeSeq;
 
     private BackupMetadata(String appVersion, String deviceModel, String deviceId, 
                           LocalDateTime exportedAt, int transactionCount, int categoryCount, 
-                          String checksum) {
+                          String checksum, Long changeSeq, Long baseChangeSeq) {
         this.appVersion = appVersion;
         this.deviceModel = deviceModel;
         this.deviceId = deviceId;
@@ -26,6 +28,8 @@ public class BackupMetadata {
         this.transactionCount = transactionCount;
         this.categoryCount = categoryCount;
         this.checksum = checksum;
+        this.changeSeq = changeSeq;
+        this.baseChangeSeq = baseChangeSeq;
     }
 
     public String getAppVersion() {
@@ -56,6 +60,33 @@ public class BackupMetadata {
         return checksum;
     }
 
+    /**
+     * Database change sequence at the time of export, null for backups taken before
+     * change tracking existed
+     */
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    /**
+     * Change sequence of the backup this one is a delta of, null for a full backup
+     */
+    public Long getBaseChangeSeq() {
+        return baseChangeSeq;
+    }
+
+    public boolean isIncremental() {
+        return baseChangeSeq != null;
+    }
+
+    /**
+     * Returns a copy with the given checksum, used once a streamed file's trailer is read
+     */
+    public BackupMetadata withChecksum(String checksum) {
+        return new BackupMetadata(appVersion, deviceModel, deviceId, exportedAt, transactionCount, categoryCount,
+                checksum, changeSeq, baseChangeSeq);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -67,12 +98,15 @@ public class BackupMetadata {
                Objects.equals(deviceModel, that.deviceModel) &&
                Objects.equals(deviceId, that.deviceId) &&
                Objects.equals(exportedAt, that.exportedAt) &&
-               Objects.equals(checksum, that.checksum);
+               Objects.equals(checksum, that.checksum) &&
+               Objects.equals(changeSeq, that.changeSeq) &&
+               Objects.equals(baseChangeSeq, that.baseChangeSeq);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(appVersion, deviceModel, deviceId, exportedAt, transactionCount, categoryCount, checksum);
+        return Objects.hash(appVersion, deviceModel, deviceId, exportedAt, transactionCount, categoryCount, checksum,
+                changeSeq, baseChangeSeq);
     }
 
     @Override
@@ -85,6 +119,8 @@ public class BackupMetadata {
                 ", transactionCount=" + transactionCount +
                 ", categoryCount=" + categoryCount +
                 ", checksum='" + checksum + '\'' +
+                ", changeSeq=" + changeSeq +
+                ", baseChangeSeq=" + baseChangeSeq +
                 '}';
     }
 
@@ -96,6 +132,8 @@ public class BackupMetadata {
         private int transactionCount;
         private int categoryCount;
         private String checksum;
+        private Long changeSeq;
+        private Long baseChangeSeq;
 
         public Builder setAppVersion(String appVersion) {
             this.appVersion = appVersion;
@@ -132,12 +170,22 @@ public class BackupMetadata {
             return this;
         }
 
+        public Builder setChangeSeq(Long changeSeq) {
+            this.changeSeq = changeSeq;
+            return this;
+        }
+
+        public Builder setBaseChangeSeq(Long baseChangeSeq) {
+            this.baseChangeSeq = baseChangeSeq;
+            return this;
+        }
+
         public BackupMetadata build() {
             if (exportedAt == null) {
                 exportedAt = LocalDateTime.now();
             }
             return new BackupMetadata(appVersion, deviceModel, deviceId, exportedAt, 
-                                    transactionCount, categoryCount, checksum);
+                                    transactionCount, categoryCount, checksum, changeSeq, baseChangeSeq);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.walletapplication.domain.entity;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Total amount and transaction count of one category and type within a period
+ */
+public class CategoryBreakdown {
+    private final String category;
+    private final TransactionType type;
+    private final BigDecimal totalAmount;
+    private final int transactionCount;
+
+    public CategoryBreakdown(String category, TransactionType type, BigDecimal totalAmount, int transactionCount) {
+        this.category = category;
+        this.type = type;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CategoryBreakdown that = (CategoryBreakdown) o;
+        return transactionCount == that.transactionCount &&
+               Objects.equals(category, that.category) &&
+               type == that.type &&
+               Objects.equals(totalAmount, that.totalAmount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(category, type, totalAmount, transactionCount);
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryBreakdown{" +
+                "category='" + category + '\'' +
+                ", type=" + type +
+                ", totalAmount=" + totalAmount +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.walletapplication.domain.entity;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Objects;
+
+/**
+ * Income and expense totals of a single month, read from pre-aggregated rollups
+ */
+public class MonthlySummary {
+    private final YearMonth yearMonth;
+    private final BigDecimal totalIncome;
+    private final BigDecimal totalExpense;
+    private final int incomeCount;
+    private final int expenseCount;
+
+    public MonthlySummary(YearMonth yearMonth, BigDecimal totalIncome, BigDecimal totalExpense,
+                          int incomeCount, int expenseCount) {
+        this.yearMonth = yearMonth;
+        this.totalIncome = totalIncome;
+        this.totalExpense = totalExpense;
+        this.incomeCount = incomeCount;
+        this.expenseCount = expenseCount;
+    }
+
+    public static MonthlySummary empty(YearMonth yearMonth) {
+        return new MonthlySummary(yearMonth, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0);
+    }
+
+    public YearMonth getYearMonth() {
+        return yearMonth;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpense() {
+        return totalExpense;
+    }
+
+    public BigDecimal getBalance() {
+        return totalIncome.subtract(totalExpense);
+    }
+
+    public int getIncomeCount() {
+        return incomeCount;
+    }
+
+    public int getExpenseCount() {
+        return expenseCount;
+    }
+
+    public int getTransactionCount() {
+        return incomeCount + expenseCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MonthlySummary that = (MonthlySummary) o;
+        return incomeCount == that.incomeCount &&
+               expenseCount == that.expenseCount &&
+               Objects.equals(yearMonth, that.yearMonth) &&
+               Objects.equals(totalIncome, that.totalIncome) &&
+               Objects.equals(totalExpense, that.totalExpense);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(yearMonth, totalIncome, totalExpense, incomeCount, expenseCount);
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlySummary{" +
+                "yearMonth=" + yearMonth +
+                ", totalIncome=" + totalIncome +
+                ", totalExpense=" + totalExpense +
+                ", incomeCount=" + incomeCount +
+                ", expenseCount=" + expenseCount +
+                '}';
+    }
+}
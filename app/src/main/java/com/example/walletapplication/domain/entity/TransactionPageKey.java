@@ -0,0 +1,56 @@
+package com.example.walletapplication.domain.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Keyset position in the transaction list, which is ordered by (date DESC, id DESC).
+ * A page loaded with this key starts right after the transaction it was created from.
+ */
+public class TransactionPageKey {
+    private final LocalDateTime date;
+    private final long id;
+
+    public TransactionPageKey(LocalDateTime date, long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    /**
+     * Creates the key for the page that follows the given transaction.
+     * @param transaction last transaction of the current page
+     * @return key pointing after the transaction
+     */
+    public static TransactionPageKey after(Transaction transaction) {
+        return new TransactionPageKey(transaction.getDate(), transaction.getId());
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionPageKey that = (TransactionPageKey) o;
+        return id == that.id && Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, id);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionPageKey{" +
+                "date=" + date +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.walletapplication.domain.repository;
 
 import android.net.Uri;
+import com.example.walletapplication.domain.entity.BackupCatalogEntry;
+import com.example.walletapplication.domain.entity.BackupCategory;
 import com.example.walletapplication.domain.entity.BackupData;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupFileInfo;
+import com.example.walletapplication.domain.entity.BackupFormat;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
 
+import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -10,6 +18,61 @@ import java.util.concurrent.CompletableFuture;
  */
 public interface BackupRepository {
     
+    /**
+     * Receives the records of a backup file one at a time while it is being parsed
+     */
+    interface BackupVisitor {
+        /**
+         * Called once with the file header, before the first record
+         */
+        void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata);
+        
+        void onTransaction(BackupTransaction transaction);
+        
+        void onCategory(BackupCategory category);
+        
+        /**
+         * Called for each record removed since the base backup. Only incremental backups
+         * carry deletions, after all transactions and categories.
+         */
+        default void onDeletion(BackupDeletion deletion) {
+        }
+        
+        /**
+         * Called with the checksum trailer that follows the records, if the file has one
+         */
+        default void onChecksum(String checksum) {
+        }
+        
+        /**
+         * Called after the whole file has been read
+         * @param hasTransactions Whether the file contained a transactions array
+         * @param hasCategories Whether the file contained a categories array
+         */
+        void onEnd(boolean hasTransactions, boolean hasCategories);
+    }
+    
+    /**
+     * Receives export progress from the writing thread, once per page of rows or buffer of bytes
+     */
+    interface ExportProgressListener {
+        /**
+         * @param recordsExpected Records announced in the metadata, 0 when there is none
+         * @param bytesWritten Bytes written to the file so far, after compression
+         */
+        void onExportProgress(int recordsWritten, int recordsExpected, long bytesWritten);
+    }
+    
+    /**
+     * Receives the raw bytes read from a backup file while it is being parsed
+     */
+    interface ReadProgressListener {
+        /**
+         * @param totalBytes Size of the file, or -1 when it is not known
+         */
+        void onBytesRead(long bytesRead, long totalBytes);
+    }
+    
     /**
      * Saves backup data to a file
      * @param backupData The backup data to save
@@ -18,6 +81,104 @@ public interface BackupRepository {
      */
     CompletableFuture<String> saveBackupToFile(BackupData backupData, String fileName);
     
+    /**
+     * Streams the database into a backup file in internal storage without loading it into memory
+     * @param version The backup format version to record
+     * @param metadata Metadata written at the head of the backup
+     * @param fileName The name of the backup file
+     * @return CompletableFuture with the saved file and the number of records written
+     */
+    CompletableFuture<BackupFileInfo> exportBackupToFile(String version, BackupMetadata metadata, String fileName);
+    
+    /**
+     * Streams the database into a backup file in internal storage, reporting progress
+     * @param listener Receives records and bytes written, may be null
+     * @return CompletableFuture with the saved file and the number of records written
+     */
+    CompletableFuture<BackupFileInfo> exportBackupToFile(String version, BackupMetadata metadata, String fileName,
+                                                         ExportProgressListener listener);
+    
+    /**
+     * Streams the database into a backup file in external storage (Downloads folder)
+     * @param version The backup format version to record
+     * @param metadata Metadata written at the head of the backup
+     * @param fileName The name of the backup file
+     * @return CompletableFuture with the saved file and the number of records written
+     */
+    CompletableFuture<BackupFileInfo> exportBackupToExternalStorage(String version, BackupMetadata metadata, String fileName);
+    
+    /**
+     * Streams the database into a backup file in external storage, reporting progress
+     * @param listener Receives records and bytes written, may be null
+     * @return CompletableFuture with the saved file and the number of records written
+     */
+    CompletableFuture<BackupFileInfo> exportBackupToExternalStorage(String version, BackupMetadata metadata,
+                                                                    String fileName, ExportProgressListener listener);
+    
+    /**
+     * Streams the records of a backup file to the visitor without loading the file into memory
+     * @param filePath The path of the backup file
+     * @param visitor Receives the header and each record in file order
+     * @return CompletableFuture completed once the whole file has been visited
+     */
+    CompletableFuture<Void> readBackupFromFile(String filePath, BackupVisitor visitor);
+    
+    /**
+     * Streams the records of a backup file to the visitor, reporting the bytes read
+     * @param listener Receives bytes read against the file size, may be null
+     * @return CompletableFuture completed once the whole file has been visited
+     */
+    CompletableFuture<Void> readBackupFromFile(String filePath, BackupVisitor visitor, ReadProgressListener listener);
+    
+    /**
+     * Streams the records of a backup behind a content URI to the visitor
+     * @param uri The content URI of the backup file
+     * @param visitor Receives the header and each record in file order
+     * @return CompletableFuture completed once the whole file has been visited
+     */
+    CompletableFuture<Void> readBackupFromContentUri(Uri uri, BackupVisitor visitor);
+    
+    /**
+     * Streams the records of a backup behind a content URI to the visitor, reporting the bytes read
+     * @param listener Receives bytes read against the size the provider reports, may be null
+     * @return CompletableFuture completed once the whole file has been visited
+     */
+    CompletableFuture<Void> readBackupFromContentUri(Uri uri, BackupVisitor visitor, ReadProgressListener listener);
+    
+    /**
+     * Reads only the header of a backup file, stopping before the first record
+     * @param filePath The path of the backup file
+     * @return CompletableFuture with the metadata, or null if the file has none
+     */
+    CompletableFuture<BackupMetadata> readBackupMetadata(String filePath);
+    
+    /**
+     * Gets the current database change sequence, recorded in each backup so a later
+     * incremental backup knows where to start
+     * @return CompletableFuture with the latest change sequence number
+     */
+    CompletableFuture<Long> getCurrentChangeSequence();
+    
+    /**
+     * Counts all transactions for the metadata of a full backup, on the background read lane
+     * @return CompletableFuture with the number of transactions
+     */
+    CompletableFuture<Integer> getTransactionCount();
+    
+    /**
+     * Counts the transactions written after the given change sequence
+     * @param baseChangeSeq Change sequence of the base backup
+     * @return CompletableFuture with the number of changed transactions
+     */
+    CompletableFuture<Integer> getChangedTransactionCount(long baseChangeSeq);
+    
+    /**
+     * Counts the categories written after the given change sequence
+     * @param baseChangeSeq Change sequence of the base backup
+     * @return CompletableFuture with the number of changed categories
+     */
+    CompletableFuture<Integer> getChangedCategoryCount(long baseChangeSeq);
+    
     /**
      * Loads backup data from a file
      * @param filePath The path of the backup file
@@ -41,28 +202,72 @@ public interface BackupRepository {
     CompletableFuture<String> saveBackupToExternalStorage(BackupData backupData, String fileName);
     
     /**
-     * Gets the default backup file name with timestamp
+     * Gets the default backup file name with timestamp, using the compressed format
      * @return A default file name for backup
      */
     String getDefaultBackupFileName();
     
     /**
-     * Validates if a file is a valid backup file
+     * Gets a backup file name with timestamp for the given format
+     * @param format The encoding the file will be written in
+     * @return A default file name for backup
+     */
+    String getDefaultBackupFileName(BackupFormat format);
+    
+    /**
+     * Gets the default incremental backup file name with timestamp, using the compressed format
+     * @return A default file name for an incremental backup
+     */
+    String getDefaultIncrementalBackupFileName();
+    
+    /**
+     * Validates if a file is a valid backup file by reading only its header
      * @param filePath The path of the file to validate
      * @return CompletableFuture with validation result
      */
     CompletableFuture<Boolean> isValidBackupFile(String filePath);
     
     /**
-     * Validates if a content URI contains a valid backup file
+     * Validates if a file is a valid backup file
+     * @param filePath The path of the file to validate
+     * @param verifyContent Whether to stream the whole file and check it against its checksum
+     * @return CompletableFuture with validation result
+     */
+    CompletableFuture<Boolean> isValidBackupFile(String filePath, boolean verifyContent);
+    
+    /**
+     * Validates if a content URI contains a valid backup file by reading only its header
      * @param uri The content URI to validate
      * @return CompletableFuture with validation result
      */
     CompletableFuture<Boolean> isValidBackupContentUri(Uri uri);
     
+    /**
+     * Validates if a content URI contains a valid backup file
+     * @param uri The content URI to validate
+     * @param verifyContent Whether to stream the whole content and check it against its checksum
+     * @return CompletableFuture with validation result
+     */
+    CompletableFuture<Boolean> isValidBackupContentUri(Uri uri, boolean verifyContent);
+    
     /**
      * Gets available backup files from the default backup directory
      * @return CompletableFuture with list of backup file paths
      */
     CompletableFuture<java.util.List<String>> getAvailableBackupFiles();
+    
+    /**
+     * Lists the backups in the default backup directory from the catalog index, newest first.
+     * Files missing from the index or changed since they were indexed are cataloged from their
+     * headers, so a missing index is rebuilt on the first call.
+     * @return CompletableFuture with the catalog entries
+     */
+    CompletableFuture<java.util.List<BackupCatalogEntry>> getBackupCatalog();
+    
+    /**
+     * Deletes a backup file and drops it from the catalog index
+     * @param filePath The path of the backup file
+     * @return CompletableFuture with deletion result
+     */
+    CompletableFuture<Boolean> deleteBackupFile(String filePath);
 } 
\ No newline at end of file
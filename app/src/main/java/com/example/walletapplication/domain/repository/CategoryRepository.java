@@ -13,6 +13,14 @@ public interface CategoryRepository {
     
     CompletableFuture<Void> updateCategory(Category category);
     
+    /**
+     * Writes many categories in one database transaction, matching stored ones by their unique
+     * name. Unknown names are inserted; known ones are overwritten when updateExisting is set
+     * and left alone otherwise. Ids of the given categories are ignored.
+     * @return Number of categories inserted or updated
+     */
+    CompletableFuture<Integer> upsertAll(List<Category> categories, boolean updateExisting);
+    
     CompletableFuture<Void> deleteCategory(Long categoryId);
     
     CompletableFuture<Optional<Category>> getCategoryById(Long id);
@@ -29,5 +37,7 @@ public interface CategoryRepository {
     
     CompletableFuture<Boolean> isCategoryNameExists(String name);
     
+    CompletableFuture<Integer> getCategoryCount();
+    
     CompletableFuture<Void> initializeDefaultCategories();
 } 
\ No newline at end of file
@@ -1,11 +1,17 @@
 package com.example.walletapplication.domain.repository;
 
+import com.example.walletapplication.domain.entity.CategoryBreakdown;
+import com.example.walletapplication.domain.entity.MonthlySummary;
+import com.example.walletapplication.domain.entity.SearchFilters;
 import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.entity.TransactionPageKey;
 import com.example.walletapplication.domain.entity.TransactionType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -13,14 +19,70 @@ public interface TransactionRepository {
     
     CompletableFuture<Long> insertTransaction(Transaction transaction);
     
+    /**
+     * Inserts many transactions using the default batch size
+     * @return Generated ids in input order
+     */
+    CompletableFuture<List<Long>> insertAll(List<Transaction> transactions);
+    
+    /**
+     * Inserts many transactions, committing one database transaction per batch
+     * @param batchSize Maximum number of rows per commit
+     * @return Generated ids in input order; fails with IllegalArgumentException if batchSize
+     *         is not positive
+     */
+    CompletableFuture<List<Long>> insertAll(List<Transaction> transactions, int batchSize);
+    
+    /**
+     * Highest transaction id currently stored, or 0 when there are none
+     */
+    CompletableFuture<Long> getLastTransactionId();
+    
+    /**
+     * Inserts the transactions that are not already stored, comparing every field except the id.
+     * Only rows with an id up to existingUpToId count as stored, so rows added earlier in the
+     * same import are not matched. Identical transactions are matched one to one: two copies in
+     * the input against one stored row insert one copy.
+     * @param unmatched Matching state owned by the caller: pass the same map, empty at first,
+     *                  for every batch of one import so a stored row is matched only once
+     *                  across batches
+     * @return Generated ids of the inserted transactions, in input order
+     */
+    CompletableFuture<List<Long>> insertAllMissing(List<Transaction> transactions, long existingUpToId,
+                                                   Map<Long, Integer> unmatched);
+    
     CompletableFuture<Void> updateTransaction(Transaction transaction);
     
     CompletableFuture<Void> deleteTransaction(Long transactionId);
     
+    /**
+     * Writes transactions with their ids kept, overwriting rows that already exist
+     * @return Number of rows written
+     */
+    CompletableFuture<Integer> upsertAll(List<Transaction> transactions);
+    
+    /**
+     * Deletes the given transactions, ignoring ids that do not exist
+     * @return Number of rows deleted
+     */
+    CompletableFuture<Integer> deleteTransactions(List<Long> transactionIds);
+    
+    /**
+     * Deletes every transaction, used before restoring a backup chain
+     */
+    CompletableFuture<Void> deleteAllTransactions();
+    
     CompletableFuture<Optional<Transaction>> getTransactionById(Long id);
     
     CompletableFuture<List<Transaction>> getAllTransactions();
     
+    /**
+     * Loads one page of transactions, newest first
+     * @param after Key of the previous page's last item, or null for the first page
+     * @param limit Maximum number of transactions to return
+     */
+    CompletableFuture<List<Transaction>> getTransactionsPage(TransactionPageKey after, int limit);
+    
     CompletableFuture<List<Transaction>> getTransactionsByType(TransactionType type);
     
     CompletableFuture<List<Transaction>> getTransactionsByCategory(String category);
@@ -31,6 +93,13 @@ public interface TransactionRepository {
     
     CompletableFuture<List<Transaction>> searchTransactions(String query);
     
+    /**
+     * Searches with a text query and structured filters in a single database query
+     * @param textQuery Free-form text (may be null)
+     * @param filters Structured filters (may be null)
+     */
+    CompletableFuture<List<Transaction>> searchTransactions(String textQuery, SearchFilters filters);
+    
     CompletableFuture<BigDecimal> getTotalIncomeByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
     CompletableFuture<BigDecimal> getTotalExpenseByDateRange(LocalDateTime startDate, LocalDateTime endDate);
@@ -38,4 +107,21 @@ public interface TransactionRepository {
     CompletableFuture<BigDecimal> getBalanceByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
     CompletableFuture<List<String>> getAllCategories();
+    
+    CompletableFuture<Integer> getTransactionCount();
+    
+    /**
+     * Per-category and type totals for a date range, aggregated in the database and ordered by amount
+     */
+    CompletableFuture<List<CategoryBreakdown>> getCategoryBreakdown(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Monthly totals from the rollup table, one entry per month in [from, to] (months without data are zero)
+     */
+    CompletableFuture<List<MonthlySummary>> getMonthlySummaries(YearMonth from, YearMonth to);
+    
+    /**
+     * Recomputes the monthly rollups from the transactions table
+     */
+    CompletableFuture<Void> rebuildMonthlyRollups();
 } 
\ No newline at end of file
@@ -3,19 +3,22 @@ package com.example.walletapplication.domain.usecase.backup;
 import android.content.Context;
 import android.os.Build;
 
+import com.example.walletapplication.R;
+import com.example.walletapplication.data.backup.BackupDigest;
 import com.example.walletapplication.data.mapper.BackupMapper;
 import com.example.walletapplication.domain.common.AppError;
 import com.example.walletapplication.domain.common.Result;
 import com.example.walletapplication.domain.entity.BackupCategory;
 import com.example.walletapplication.domain.entity.BackupData;
+import com.example.walletapplication.domain.entity.BackupFileInfo;
 import com.example.walletapplication.domain.entity.BackupMetadata;
 import com.example.walletapplication.domain.entity.BackupTransaction;
 import com.example.walletapplication.domain.entity.Category;
 import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.repository.BackupRepository;
 import com.example.walletapplication.domain.repository.CategoryRepository;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -30,13 +33,16 @@ public class ExportDataUseCase {
     
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
+    private final BackupRepository backupRepository;
     private final Context context;
 
     public ExportDataUseCase(TransactionRepository transactionRepository, 
                            CategoryRepository categoryRepository,
+                           BackupRepository backupRepository,
                            @ApplicationContext Context context) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
+        this.backupRepository = backupRepository;
         this.context = context;
     }
 
@@ -55,8 +61,16 @@ public class ExportDataUseCase {
                 List<Category> categories = categoryRepository.getAllCategories().join();
                 List<BackupCategory> backupCategories = BackupMapper.toBackupCategoryList(categories);
                 
-                // Create metadata
-                BackupMetadata metadata = createMetadata(backupTransactions.size(), backupCategories.size());
+                // Everything is in memory here, so the checksum can go in the header
+                BackupDigest digest = new BackupDigest();
+                for (BackupTransaction transaction : backupTransactions) {
+                    digest.updateTransaction(transaction);
+                }
+                for (BackupCategory category : backupCategories) {
+                    digest.updateCategory(category);
+                }
+                BackupMetadata metadata = createMetadata(backupTransactions.size(), backupCategories.size())
+                        .withChecksum(digest.toHex());
                 
                 // Create backup data
                 BackupData backupData = new BackupData.Builder()
@@ -75,12 +89,113 @@ public class ExportDataUseCase {
         });
     }
 
+    /**
+     * Streams all application data into a backup file without holding it in memory
+     * @param fileName The name of the backup file
+     * @param externalStorage Whether to save to the Downloads folder instead of internal storage
+     * @return CompletableFuture with Result containing the saved file info
+     */
+    public CompletableFuture<Result<BackupFileInfo>> exportToFile(String fileName, boolean externalStorage) {
+        return exportToFile(fileName, externalStorage, null);
+    }
+
+    /**
+     * Streams all application data into a backup file, reporting records and bytes written
+     * @param fileName The name of the backup file
+     * @param externalStorage Whether to save to the Downloads folder instead of internal storage
+     * @param listener Receives export progress from the writing thread, may be null
+     * @return CompletableFuture with Result containing the saved file info
+     */
+    public CompletableFuture<Result<BackupFileInfo>> exportToFile(String fileName, boolean externalStorage,
+                                                                  BackupRepository.ExportProgressListener listener) {
+        // Read the sequence first: anything written while the export runs is picked up again
+        // by the next incremental backup. The writer appends the checksum as a trailer, since
+        // it is only known once every record is out. The counts are read on the background
+        // lane; the category count comes from the in-memory snapshot.
+        return backupRepository.getCurrentChangeSequence()
+                .thenCompose(changeSeq -> backupRepository.getTransactionCount()
+                        .thenCombine(categoryRepository.getCategoryCount(), (transactionCount, categoryCount) ->
+                                createMetadata(transactionCount, categoryCount, changeSeq, null)))
+                .thenCompose(metadata -> writeBackup(metadata, fileName, externalStorage, listener))
+                .handle(ExportDataUseCase::toResult);
+    }
+
+    /**
+     * Streams only the transactions and categories written since a previous backup, plus
+     * the records deleted since then
+     * @param fileName The name of the backup file
+     * @param baseFilePath The full or incremental backup this one continues from
+     * @param externalStorage Whether to save to the Downloads folder instead of internal storage
+     * @return CompletableFuture with Result containing the saved file info
+     */
+    public CompletableFuture<Result<BackupFileInfo>> exportIncrementalToFile(String fileName, String baseFilePath,
+                                                                             boolean externalStorage) {
+        return exportIncrementalToFile(fileName, baseFilePath, externalStorage, null);
+    }
+
+    /**
+     * Streams the changes since a previous backup, reporting records and bytes written
+     * @param listener Receives export progress from the writing thread, may be null
+     * @return CompletableFuture with Result containing the saved file info
+     */
+    public CompletableFuture<Result<BackupFileInfo>> exportIncrementalToFile(String fileName, String baseFilePath,
+                                                                             boolean externalStorage,
+                                                                             BackupRepository.ExportProgressListener listener) {
+        return backupRepository.readBackupMetadata(baseFilePath)
+                .thenCompose(base -> {
+                    if (base == null || base.getChangeSeq() == null) {
+                        return CompletableFuture.completedFuture(Result.<BackupFileInfo>error(AppError.validation(
+                                "baseFile", context.getString(R.string.error_backup_base_untracked))));
+                    }
+                    long baseChangeSeq = base.getChangeSeq();
+                    return backupRepository.getCurrentChangeSequence().thenCompose(changeSeq -> {
+                        if (baseChangeSeq > changeSeq) {
+                            // The base was taken on another device or before the database was reset
+                            return CompletableFuture.completedFuture(Result.<BackupFileInfo>error(AppError.validation(
+                                    "baseFile", context.getString(R.string.error_backup_base_outdated))));
+                        }
+                        return backupRepository.getChangedTransactionCount(baseChangeSeq)
+                                .thenCombine(backupRepository.getChangedCategoryCount(baseChangeSeq),
+                                        (transactionCount, categoryCount) -> createMetadata(transactionCount,
+                                                categoryCount, changeSeq, baseChangeSeq))
+                                .thenCompose(metadata -> writeBackup(metadata, fileName, externalStorage, listener))
+                                .thenApply(Result::success);
+                    });
+                })
+                .handle((result, throwable) -> throwable != null
+                        ? ExportDataUseCase.<BackupFileInfo>toResult(null, throwable)
+                        : result);
+    }
+
+    private CompletableFuture<BackupFileInfo> writeBackup(BackupMetadata metadata, String fileName,
+                                                          boolean externalStorage,
+                                                          BackupRepository.ExportProgressListener listener) {
+        return externalStorage
+                ? backupRepository.exportBackupToExternalStorage(BACKUP_VERSION, metadata, fileName, listener)
+                : backupRepository.exportBackupToFile(BACKUP_VERSION, metadata, fileName, listener);
+    }
+
+    private static <T> Result<T> toResult(T value, Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof Exception) {
+                return Result.error(AppError.fromException((Exception) cause));
+            }
+            return Result.error(AppError.unknown(cause));
+        }
+        return Result.success(value);
+    }
+
     private BackupMetadata createMetadata(int transactionCount, int categoryCount) {
+        return createMetadata(transactionCount, categoryCount, null, null);
+    }
+
+    private BackupMetadata createMetadata(int transactionCount, int categoryCount, Long changeSeq,
+                                          Long baseChangeSeq) {
         String appVersion = getAppVersion();
         String deviceModel = Build.MODEL;
         String deviceId = getDeviceId();
         LocalDateTime exportedAt = LocalDateTime.now();
-        String checksum = generateChecksum(transactionCount, categoryCount);
         
         return new BackupMetadata.Builder()
             .setAppVersion(appVersion)
@@ -89,7 +204,8 @@ public class ExportDataUseCase {
             .setExportedAt(exportedAt)
             .setTransactionCount(transactionCount)
             .setCategoryCount(categoryCount)
-            .setChecksum(checksum)
+            .setChangeSeq(changeSeq)
+            .setBaseChangeSeq(baseChangeSeq)
             .build();
     }
     
@@ -107,19 +223,4 @@ public class ExportDataUseCase {
         // Simple device identifier for backup tracking
         return Build.MANUFACTURER + "_" + Build.MODEL + "_" + Build.VERSION.SDK_INT;
     }
-    
-    private String generateChecksum(int transactionCount, int categoryCount) {
-        try {
-            String data = transactionCount + "_" + categoryCount + "_" + System.currentTimeMillis();
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hash = md.digest(data.getBytes());
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hash) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (Exception e) {
-            return "no_checksum";
-        }
-    }
 } 
\ No newline at end of file
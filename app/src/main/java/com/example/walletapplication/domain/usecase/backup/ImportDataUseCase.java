@@ -1,6 +1,7 @@
 package com.example.walletapplication.domain.usecase.backup;
 
 import android.content.Context;
+import android.net.Uri;
 
 import com.example.walletapplication.R;
 import com.example.walletapplication.data.mapper.BackupMapper;
@@ -8,14 +9,25 @@ import com.example.walletapplication.domain.common.AppError;
 import com.example.walletapplication.domain.common.Result;
 import com.example.walletapplication.domain.entity.BackupCategory;
 import com.example.walletapplication.domain.entity.BackupData;
+import com.example.walletapplication.domain.entity.BackupMetadata;
 import com.example.walletapplication.domain.entity.BackupTransaction;
 import com.example.walletapplication.domain.entity.Category;
 import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.repository.BackupRepository;
 import com.example.walletapplication.domain.repository.CategoryRepository;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import dagger.hilt.android.qualifiers.ApplicationContext;
 
@@ -23,16 +35,28 @@ import dagger.hilt.android.qualifiers.ApplicationContext;
  * Use case for importing backup data into the application
  */
 public class ImportDataUseCase {
+    static final int IMPORT_BATCH_SIZE = 500;
+    /** Number of write tasks the parser may run ahead of the writer */
+    static final int WRITE_QUEUE_CAPACITY = 4;
+    
+    private static final Runnable END_OF_STREAM = () -> { };
+    
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
+    private final BackupRepository backupRepository;
     private final Context context;
+    private final Executor importExecutor;
 
     public ImportDataUseCase(TransactionRepository transactionRepository, 
                            CategoryRepository categoryRepository,
-                           @ApplicationContext Context context) {
+                           BackupRepository backupRepository,
+                           @ApplicationContext Context context,
+                           Executor importExecutor) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
+        this.backupRepository = backupRepository;
         this.context = context;
+        this.importExecutor = importExecutor;
     }
 
     /**
@@ -65,13 +89,87 @@ public class ImportDataUseCase {
                     return Result.error(transactionResult.getErrorOrNull());
                 }
                 summary.setTransactionsImported(transactionResult.getDataOrNull());
+                summary.setTransactionsSkipped(backupData.getTransactions().size() - transactionResult.getDataOrNull());
                 
                 return Result.success(summary);
                 
             } catch (Exception e) {
                 return Result.error(AppError.fromException(e));
             }
-        });
+        }, importExecutor);
+    }
+
+    /**
+     * Imports a backup file while it is being parsed, writing transactions in batches
+     * so memory use stays flat regardless of file size.
+     *
+     * The import is not atomic: each batch is committed as soon as it is written, so a failure
+     * part-way through keeps the batches committed before it. Running a merge import of the
+     * same file again completes it, since transactions already stored are skipped.
+     * @param filePath The path of the backup file
+     * @param replaceExisting Whether to replace existing data or merge
+     * @return CompletableFuture with Result containing import summary
+     */
+    public CompletableFuture<Result<ImportSummary>> importFromFile(String filePath, boolean replaceExisting) {
+        return importFromFile(filePath, replaceExisting, null);
+    }
+    
+    /**
+     * Imports a backup file through the parse/write pipeline
+     * @param filePath The path of the backup file
+     * @param replaceExisting Whether to replace existing data or merge
+     * @param listener Receives per-stage progress, may be null
+     * @return CompletableFuture with Result containing import summary
+     */
+    public CompletableFuture<Result<ImportSummary>> importFromFile(String filePath, boolean replaceExisting,
+                                                                   ImportProgressListener listener) {
+        ImportPipeline pipeline = new ImportPipeline(replaceExisting, listener);
+        CompletableFuture<Void> writer = pipeline.startWriter();
+        return pipeline.finish(backupRepository.readBackupFromFile(filePath, pipeline, pipeline.byteListener()), writer);
+    }
+    
+    /**
+     * Imports a backup behind a content URI while it is being parsed. Not atomic, see
+     * importFromFile.
+     * @param uri The content URI of the backup file
+     * @param replaceExisting Whether to replace existing data or merge
+     * @return CompletableFuture with Result containing import summary
+     */
+    public CompletableFuture<Result<ImportSummary>> importFromContentUri(Uri uri, boolean replaceExisting) {
+        return importFromContentUri(uri, replaceExisting, null);
+    }
+    
+    /**
+     * Imports a backup behind a content URI through the parse/write pipeline
+     * @param uri The content URI of the backup file
+     * @param replaceExisting Whether to replace existing data or merge
+     * @param listener Receives per-stage progress, may be null
+     * @return CompletableFuture with Result containing import summary
+     */
+    public CompletableFuture<Result<ImportSummary>> importFromContentUri(Uri uri, boolean replaceExisting,
+                                                                         ImportProgressListener listener) {
+        ImportPipeline pipeline = new ImportPipeline(replaceExisting, listener);
+        CompletableFuture<Void> writer = pipeline.startWriter();
+        return pipeline.finish(backupRepository.readBackupFromContentUri(uri, pipeline, pipeline.byteListener()),
+                writer);
+    }
+    
+    private static Result<ImportSummary> toImportResult(ImportSummary summary, Throwable parseFailure,
+                                                        Throwable writeFailure) {
+        // A write failure aborts the parser, so it is the root cause when both are present
+        Throwable failure = writeFailure != null ? writeFailure : parseFailure;
+        if (failure == null) {
+            return Result.success(summary);
+        }
+        Throwable cause = failure;
+        while (cause.getCause() != null && !(cause instanceof ImportValidationException)) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ImportValidationException) {
+            return Result.error(((ImportValidationException) cause).error);
+        }
+        return Result.error(cause instanceof Exception
+                ? AppError.fromException((Exception) cause) : AppError.unknown(cause));
     }
 
     private Result<Void> validateBackupData(BackupData backupData) {
@@ -95,72 +193,53 @@ public class ImportDataUseCase {
         return Result.success(null);
     }
     
-    private boolean isVersionCompatible(String version) {
+    static boolean isVersionCompatible(String version) {
         // For now, we only support version 1.0
         return "1.0".equals(version);
     }
     
     private Result<Integer> importCategories(List<BackupCategory> backupCategories, boolean replaceExisting) {
         try {
-            int importedCount = 0;
-            
-            for (BackupCategory backupCategory : backupCategories) {
-                Category category = BackupMapper.fromBackupCategory(backupCategory);
-                
-                // Check if category already exists
-                boolean exists = categoryRepository.isCategoryNameExists(category.getName()).join();
-                
-                if (exists && !replaceExisting) {
-                    // Skip existing category if not replacing
-                    continue;
-                }
-                
-                if (exists && replaceExisting) {
-                    // Update existing category
-                    categoryRepository.updateCategory(category).join();
-                } else {
-                    // Insert new category (set ID to null for new insert)
-                    Category newCategory = new Category.Builder()
-                            .setId(null) // Let database generate new ID
-                            .setName(category.getName())
-                            .setDisplayName(category.getDisplayName())
-                            .setType(category.getType())
-                            .setIconName(category.getIconName())
-                            .setColor(category.getColor())
-                            .setIsDefault(category.isDefault())
-                            .setCreatedAt(category.getCreatedAt())
-                            .setUpdatedAt(category.getUpdatedAt())
-                            .build();
-                    
-                    categoryRepository.insertCategory(newCategory).join();
-                }
-                
-                importedCount++;
-            }
-            
-            return Result.success(importedCount);
-            
+            return Result.success(writeCategories(backupCategories, replaceExisting));
         } catch (Exception e) {
             return Result.error(AppError.fromException(e));
         }
     }
     
+    /**
+     * Matches the categories by name against the stored ones and writes them in one transaction
+     * @return Number of categories inserted or updated; existing ones are skipped unless replacing
+     */
+    private int writeCategories(List<BackupCategory> backupCategories, boolean replaceExisting) {
+        List<Category> categories = new ArrayList<>(backupCategories.size());
+        for (BackupCategory backupCategory : backupCategories) {
+            categories.add(BackupMapper.fromBackupCategory(backupCategory));
+        }
+        return categoryRepository.upsertAll(categories, replaceExisting).join();
+    }
+    
     private Result<Integer> importTransactions(List<BackupTransaction> backupTransactions, boolean replaceExisting) {
         try {
-            int importedCount = 0;
+            List<Transaction> newTransactions = new ArrayList<>(backupTransactions.size());
             
             for (BackupTransaction backupTransaction : backupTransactions) {
                 Transaction transaction = BackupMapper.fromBackupTransaction(backupTransaction);
                 
                 // For transactions, we always create new entries (set ID to null)
                 // This prevents ID conflicts and allows importing same data multiple times
-                Transaction newTransaction = createTransactionWithoutId(transaction);
-                
-                transactionRepository.insertTransaction(newTransaction).join();
-                importedCount++;
+                newTransactions.add(createTransactionWithoutId(transaction));
             }
             
-            return Result.success(importedCount);
+            // Batched inserts commit once per chunk instead of once per row
+            List<Long> ids;
+            if (replaceExisting) {
+                ids = transactionRepository.insertAll(newTransactions).join();
+            } else {
+                // Merge: skip transactions already stored, so importing a backup twice adds nothing
+                long existingUpToId = transactionRepository.getLastTransactionId().join();
+                ids = transactionRepository.insertAllMissing(newTransactions, existingUpToId, new HashMap<>()).join();
+            }
+            return Result.success(ids.size());
             
         } catch (Exception e) {
             return Result.error(AppError.fromException(e));
@@ -195,11 +274,219 @@ public class ImportDataUseCase {
         }
     }
     
+    /**
+     * Two-stage import. The backup reader thread parses and validates records and hands
+     * write tasks to a bounded queue; a writer thread on the import executor drains the
+     * queue into chunked database transactions. When the writer falls behind the parser
+     * blocks on the full queue, so throughput is bounded by the slower stage.
+     */
+    private class ImportPipeline implements BackupRepository.BackupVisitor {
+        private final boolean replaceExisting;
+        private final ImportProgressListener listener;
+        private final BlockingQueue<Runnable> writeQueue = new ArrayBlockingQueue<>(WRITE_QUEUE_CAPACITY);
+        private final AtomicInteger transactionsWritten = new AtomicInteger();
+        private final AtomicInteger transactionsSkipped = new AtomicInteger();
+        private final AtomicInteger categoriesImported = new AtomicInteger();
+        private List<Transaction> pending = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private final List<BackupCategory> pendingCategories = new ArrayList<>();
+        private int transactionsParsed;
+        private volatile int transactionsExpected;
+        private volatile RuntimeException writeFailure;
+        // Writer thread only. Rows above this id were added by this import and are not merge targets.
+        private long existingUpToId;
+        // Writer thread only. Shared by every batch so duplicates split across batches still
+        // match each stored row once.
+        private final Map<Long, Integer> unmatchedFingerprints = new HashMap<>();
+        
+        ImportPipeline(boolean replaceExisting, ImportProgressListener listener) {
+            this.replaceExisting = replaceExisting;
+            this.listener = listener;
+        }
+        
+        CompletableFuture<Void> startWriter() {
+            return CompletableFuture.runAsync(this::drain, importExecutor);
+        }
+        
+        /**
+         * Closes the queue once parsing stops and waits for the writer to drain it
+         */
+        CompletableFuture<Result<ImportSummary>> finish(CompletableFuture<Void> parser,
+                                                        CompletableFuture<Void> writer) {
+            return parser
+                    .handle((ignored, parseFailure) -> {
+                        enqueue(END_OF_STREAM);
+                        return parseFailure;
+                    })
+                    .thenCompose(parseFailure -> writer.handle((ignored, writeFailure) -> {
+                        ImportSummary summary = new ImportSummary();
+                        summary.setTransactionsImported(transactionsWritten.get());
+                        summary.setTransactionsSkipped(transactionsSkipped.get());
+                        summary.setCategoriesImported(categoriesImported.get());
+                        return toImportResult(summary, parseFailure, writeFailure);
+                    }));
+        }
+        
+        @Override
+        public void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata) {
+            if (version == null || version.isEmpty()) {
+                throw new ImportValidationException(
+                        AppError.validation("version", context.getString(R.string.error_backup_version_invalid)));
+            }
+            if (!isVersionCompatible(version)) {
+                throw new ImportValidationException(
+                        AppError.validation("version", context.getString(R.string.error_backup_version_incompatible)));
+            }
+            if (metadata != null) {
+                transactionsExpected = metadata.getTransactionCount();
+            }
+        }
+        
+        @Override
+        public void onTransaction(BackupTransaction backupTransaction) {
+            Transaction transaction = BackupMapper.fromBackupTransaction(backupTransaction);
+            pending.add(createTransactionWithoutId(transaction));
+            transactionsParsed++;
+            if (pending.size() >= IMPORT_BATCH_SIZE) {
+                flushTransactions();
+            }
+        }
+        
+        @Override
+        public void onCategory(BackupCategory backupCategory) {
+            // Categories are few; collecting them lets the writer reconcile them in one transaction
+            pendingCategories.add(backupCategory);
+        }
+        
+        @Override
+        public void onEnd(boolean hasTransactions, boolean hasCategories) {
+            // A missing array only means there are no records of that kind. Rejecting it here
+            // would come too late anyway: the earlier batches are already committed.
+            flushTransactions();
+            flushCategories();
+        }
+        
+        private void flushTransactions() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Transaction> batch = pending;
+            pending = new ArrayList<>(IMPORT_BATCH_SIZE);
+            enqueue(() -> {
+                List<Long> ids = replaceExisting
+                        ? transactionRepository.insertAll(batch).join()
+                        : transactionRepository.insertAllMissing(batch, existingUpToId, unmatchedFingerprints).join();
+                transactionsWritten.addAndGet(ids.size());
+                transactionsSkipped.addAndGet(batch.size() - ids.size());
+                reportProgress();
+            });
+            reportProgress();
+        }
+        
+        private void flushCategories() {
+            if (pendingCategories.isEmpty()) {
+                return;
+            }
+            List<BackupCategory> categories = new ArrayList<>(pendingCategories);
+            pendingCategories.clear();
+            enqueue(() -> categoriesImported.addAndGet(writeCategories(categories, replaceExisting)));
+        }
+        
+        /**
+         * Hands a task to the writer, blocking while the queue is full
+         */
+        private void enqueue(Runnable task) {
+            if (writeFailure != null && task != END_OF_STREAM) {
+                // Stop parsing as soon as the writer has given up
+                throw writeFailure;
+            }
+            try {
+                writeQueue.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }
+        
+        private void drain() {
+            if (!replaceExisting) {
+                try {
+                    existingUpToId = transactionRepository.getLastTransactionId().join();
+                } catch (RuntimeException e) {
+                    writeFailure = e;
+                }
+            }
+            while (true) {
+                Runnable task;
+                try {
+                    task = writeQueue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+                if (task == END_OF_STREAM) {
+                    break;
+                }
+                // After a failure keep draining so the parser never blocks on a full queue
+                if (writeFailure == null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        writeFailure = e;
+                    }
+                }
+            }
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+        }
+        
+        BackupRepository.ReadProgressListener byteListener() {
+            return listener != null ? listener::onBytesRead : null;
+        }
+        
+        private void reportProgress() {
+            if (listener != null) {
+                int parsed = transactionsParsed;
+                // Skipped duplicates count as written so the write stage still reaches the parsed total
+                int written = transactionsWritten.get() + transactionsSkipped.get();
+                listener.onStageProgress(parsed, written, Math.max(transactionsExpected, parsed));
+            }
+        }
+    }
+    
+    /**
+     * Receives per-stage progress of a pipelined import. Called from both the parser
+     * and the writer thread.
+     */
+    public interface ImportProgressListener {
+        void onStageProgress(int transactionsParsed, int transactionsWritten, int transactionsExpected);
+        
+        /**
+         * Called from the parser thread as raw bytes are read from the file
+         * @param totalBytes Size of the file, or -1 when it is not known
+         */
+        default void onBytesRead(long bytesRead, long totalBytes) {
+        }
+    }
+    
+    /**
+     * Aborts a streaming import with a validation error
+     */
+    private static class ImportValidationException extends RuntimeException {
+        private final AppError error;
+        
+        ImportValidationException(AppError error) {
+            super(error.getMessage());
+            this.error = error;
+        }
+    }
+    
     /**
      * Summary of import operation
      */
     public static class ImportSummary {
         private int transactionsImported;
+        private int transactionsSkipped;
         private int categoriesImported;
         
         public ImportSummary() {
@@ -213,6 +500,17 @@ public class ImportDataUseCase {
             this.transactionsImported = transactionsImported;
         }
         
+        /**
+         * Transactions left out by a merge import because they were already stored
+         */
+        public int getTransactionsSkipped() {
+            return transactionsSkipped;
+        }
+        
+        public void setTransactionsSkipped(int transactionsSkipped) {
+            this.transactionsSkipped = transactionsSkipped;
+        }
+        
         public int getCategoriesImported() {
             return categoriesImported;
         }
@@ -225,6 +523,7 @@ public class ImportDataUseCase {
         public String toString() {
             return "ImportSummary{" +
                     "transactionsImported=" + transactionsImported +
+                    ", transactionsSkipped=" + transactionsSkipped +
                     ", categoriesImported=" + categoriesImported +
                     '}';
         }
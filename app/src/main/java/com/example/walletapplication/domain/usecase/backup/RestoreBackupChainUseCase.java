@@ -0,0 +1,206 @@
+package com.example.walletapplication.domain.usecase.backup;
+
+import android.content.Context;
+
+import com.example.walletapplication.R;
+import com.example.walletapplication.data.mapper.BackupMapper;
+import com.example.walletapplication.domain.common.AppError;
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+import com.example.walletapplication.domain.entity.Category;
+import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.repository.BackupRepository;
+import com.example.walletapplication.domain.repository.CategoryRepository;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/**
+ * Use case for restoring a full backup followed by the incremental backups taken on top of it.
+ * Transactions keep their backup ids so each delta can overwrite or delete the rows of the
+ * files before it.
+ */
+public class RestoreBackupChainUseCase {
+    static final int RESTORE_BATCH_SIZE = 500;
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final BackupRepository backupRepository;
+    private final Context context;
+    private final Executor restoreExecutor;
+
+    public RestoreBackupChainUseCase(TransactionRepository transactionRepository,
+                                     CategoryRepository categoryRepository,
+                                     BackupRepository backupRepository,
+                                     @ApplicationContext Context context,
+                                     Executor restoreExecutor) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.backupRepository = backupRepository;
+        this.context = context;
+        this.restoreExecutor = restoreExecutor;
+    }
+
+    /**
+     * Replaces all transactions with the content of a backup chain.
+     *
+     * The restore is not atomic: the stored transactions are cleared and committed before the
+     * first file is read, and each batch after that commits on its own, so a failure part-way
+     * through leaves the ledger partly restored. Running the restore of the same chain again
+     * completes it.
+     * @param filePaths The full backup first, then its incremental backups oldest to newest
+     * @return CompletableFuture with Result containing import summary
+     */
+    public CompletableFuture<Result<ImportDataUseCase.ImportSummary>> execute(List<String> filePaths) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // Check every link from the headers before touching the database
+                Result<Void> chainResult = verifyChain(filePaths);
+                if (chainResult.isError()) {
+                    return Result.<ImportDataUseCase.ImportSummary>error(chainResult.getErrorOrNull());
+                }
+
+                transactionRepository.deleteAllTransactions().join();
+
+                ImportDataUseCase.ImportSummary summary = new ImportDataUseCase.ImportSummary();
+                for (String filePath : filePaths) {
+                    ChainVisitor visitor = new ChainVisitor(summary);
+                    backupRepository.readBackupFromFile(filePath, visitor).join();
+                }
+                return Result.success(summary);
+
+            } catch (Exception e) {
+                return Result.error(AppError.fromException(e));
+            }
+        }, restoreExecutor);
+    }
+
+    private Result<Void> verifyChain(List<String> filePaths) {
+        if (filePaths == null || filePaths.isEmpty()) {
+            return Result.error(AppError.validation("filePaths", context.getString(R.string.error_backup_chain_empty)));
+        }
+
+        Long previousChangeSeq = null;
+        for (int i = 0; i < filePaths.size(); i++) {
+            BackupMetadata metadata = backupRepository.readBackupMetadata(filePaths.get(i)).join();
+            boolean linked = i == 0
+                    ? metadata == null || !metadata.isIncremental()
+                    : metadata != null && metadata.getBaseChangeSeq().equals(previousChangeSeq);
+            if (!linked) {
+                return Result.error(AppError.validation("filePaths",
+                        context.getString(R.string.error_backup_chain_broken)));
+            }
+            previousChangeSeq = metadata != null ? metadata.getChangeSeq() : null;
+        }
+
+        // Restoring starts by clearing the ledger, so every file is checked against its
+        // checksum first; each check streams the file without keeping it in memory
+        for (String filePath : filePaths) {
+            if (!backupRepository.isValidBackupFile(filePath, true).join()) {
+                return Result.error(AppError.validation("filePaths",
+                        context.getString(R.string.error_backup_invalid_format)));
+            }
+        }
+        return Result.success(null);
+    }
+
+    /**
+     * Applies one file of the chain. Records arrive in file order: transactions, categories,
+     * then the deletions of an incremental backup.
+     */
+    private class ChainVisitor implements BackupRepository.BackupVisitor {
+        private final ImportDataUseCase.ImportSummary summary;
+        private List<Transaction> pendingTransactions = new ArrayList<>(RESTORE_BATCH_SIZE);
+        private List<Category> pendingCategories = new ArrayList<>();
+        private List<Long> pendingDeletions = new ArrayList<>();
+
+        ChainVisitor(ImportDataUseCase.ImportSummary summary) {
+            this.summary = summary;
+        }
+
+        @Override
+        public void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata) {
+            if (version == null || !ImportDataUseCase.isVersionCompatible(version)) {
+                throw new IllegalStateException(context.getString(R.string.error_backup_version_incompatible));
+            }
+        }
+
+        @Override
+        public void onTransaction(BackupTransaction transaction) {
+            pendingTransactions.add(BackupMapper.fromBackupTransaction(transaction));
+            if (pendingTransactions.size() >= RESTORE_BATCH_SIZE) {
+                flushTransactions();
+            }
+        }
+
+        @Override
+        public void onCategory(BackupCategory backupCategory) {
+            flushTransactions();
+            // Category ids are local to each device; upsertAll matches them by the unique name
+            pendingCategories.add(BackupMapper.fromBackupCategory(backupCategory));
+        }
+
+        @Override
+        public void onDeletion(BackupDeletion deletion) {
+            flushTransactions();
+            flushCategories();
+            if (BackupDeletion.TYPE_TRANSACTION.equals(deletion.getRecordType())) {
+                pendingDeletions.add(Long.parseLong(deletion.getRecordKey()));
+                if (pendingDeletions.size() >= RESTORE_BATCH_SIZE) {
+                    flushDeletions();
+                }
+            } else if (BackupDeletion.TYPE_CATEGORY.equals(deletion.getRecordType())) {
+                Optional<Category> existing = categoryRepository.getCategoryByName(deletion.getRecordKey()).join();
+                if (existing.isPresent()) {
+                    categoryRepository.deleteCategory(existing.get().getId()).join();
+                }
+            }
+        }
+
+        @Override
+        public void onEnd(boolean hasTransactions, boolean hasCategories) {
+            flushTransactions();
+            flushCategories();
+            flushDeletions();
+        }
+
+        private void flushTransactions() {
+            if (pendingTransactions.isEmpty()) {
+                return;
+            }
+            List<Transaction> batch = pendingTransactions;
+            pendingTransactions = new ArrayList<>(RESTORE_BATCH_SIZE);
+            int written = transactionRepository.upsertAll(batch).join();
+            summary.setTransactionsImported(summary.getTransactionsImported() + written);
+        }
+
+        private void flushCategories() {
+            if (pendingCategories.isEmpty()) {
+                return;
+            }
+            List<Category> batch = pendingCategories;
+            pendingCategories = new ArrayList<>();
+            int written = categoryRepository.upsertAll(batch, true).join();
+            summary.setCategoriesImported(summary.getCategoriesImported() + written);
+        }
+
+        private void flushDeletions() {
+            if (pendingDeletions.isEmpty()) {
+                return;
+            }
+            List<Long> batch = pendingDeletions;
+            pendingDeletions = new ArrayList<>();
+            transactionRepository.deleteTransactions(batch).join();
+        }
+    }
+}
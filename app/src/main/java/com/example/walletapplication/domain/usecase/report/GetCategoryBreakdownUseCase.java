@@ -0,0 +1,64 @@
+package com.example.walletapplication.domain.usecase.report;
+
+import com.example.walletapplication.domain.common.AppError;
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.CategoryBreakdown;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Returns per-category totals and counts for a period without loading individual transactions
+ */
+public class GetCategoryBreakdownUseCase {
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 9999;
+
+    private final TransactionRepository transactionRepository;
+
+    public GetCategoryBreakdownUseCase(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    public CompletableFuture<Result<List<CategoryBreakdown>>> execute(YearMonth yearMonth) {
+        if (yearMonth == null) {
+            return CompletableFuture.completedFuture(
+                Result.error(AppError.validation("yearMonth", "Yıl-ay bilgisi boş olamaz"))
+            );
+        }
+        return execute(yearMonth.atDay(1).atStartOfDay(), yearMonth.atEndOfMonth().atTime(23, 59, 59));
+    }
+
+    public CompletableFuture<Result<List<CategoryBreakdown>>> execute(int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return CompletableFuture.completedFuture(
+                Result.error(AppError.validation("year", "Geçersiz yıl"))
+            );
+        }
+        return execute(YearMonth.of(year, 1).atDay(1).atStartOfDay(),
+                YearMonth.of(year, 12).atEndOfMonth().atTime(23, 59, 59));
+    }
+
+    public CompletableFuture<Result<List<CategoryBreakdown>>> execute(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            return CompletableFuture.completedFuture(
+                Result.error(AppError.validation("dateRange", "Geçersiz tarih aralığı"))
+            );
+        }
+
+        return transactionRepository.getCategoryBreakdown(startDate, endDate)
+                .handle((breakdown, throwable) -> {
+                    if (throwable != null) {
+                        Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                        if (cause instanceof Exception) {
+                            return Result.<List<CategoryBreakdown>>error(AppError.fromException((Exception) cause));
+                        }
+                        return Result.<List<CategoryBreakdown>>error(AppError.unknown(cause));
+                    }
+                    return Result.success(breakdown);
+                });
+    }
+}
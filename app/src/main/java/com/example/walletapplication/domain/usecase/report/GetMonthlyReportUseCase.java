@@ -2,6 +2,7 @@ package com.example.walletapplication.domain.usecase.report;
 
 import com.example.walletapplication.domain.common.AppError;
 import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.MonthlySummary;
 import com.example.walletapplication.domain.entity.Transaction;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 
@@ -28,13 +29,13 @@ public class GetMonthlyReportUseCase {
         LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
         LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
 
-        CompletableFuture<BigDecimal> totalIncome = transactionRepository.getTotalIncomeByDateRange(startDate, endDate);
-        CompletableFuture<BigDecimal> totalExpense = transactionRepository.getTotalExpenseByDateRange(startDate, endDate);
+        // Totals come from the monthly rollup; only the transaction list touches the transactions table
+        CompletableFuture<List<MonthlySummary>> summary = transactionRepository.getMonthlySummaries(yearMonth, yearMonth);
         CompletableFuture<List<Transaction>> transactions = transactionRepository.getTransactionsByDateRange(startDate, endDate);
 
         CompletableFuture<Result<MonthlyReport>> result = new CompletableFuture<>();
         
-        CompletableFuture.allOf(totalIncome, totalExpense, transactions)
+        CompletableFuture.allOf(summary, transactions)
                 .whenComplete((v, throwable) -> {
                     if (throwable != null) {
                         if (throwable.getCause() instanceof Exception) {
@@ -44,9 +45,10 @@ public class GetMonthlyReportUseCase {
                         }
                     } else {
                         try {
-                            BigDecimal income = totalIncome.join();
-                            BigDecimal expense = totalExpense.join();
-                            BigDecimal balance = income.subtract(expense);
+                            MonthlySummary monthlySummary = firstOrEmpty(summary.join(), yearMonth);
+                            BigDecimal income = monthlySummary.getTotalIncome();
+                            BigDecimal expense = monthlySummary.getTotalExpense();
+                            BigDecimal balance = monthlySummary.getBalance();
                             List<Transaction> transactionList = transactions.join();
 
                             MonthlyReport report = new MonthlyReport(
@@ -67,6 +69,32 @@ public class GetMonthlyReportUseCase {
         return result;
     }
 
+    /**
+     * Totals of a single month without loading its transactions (one rollup lookup)
+     */
+    public CompletableFuture<Result<MonthlySummary>> getMonthlySummary(YearMonth yearMonth) {
+        if (yearMonth == null) {
+            return CompletableFuture.completedFuture(
+                Result.error(AppError.validation("yearMonth", "Yıl-ay bilgisi boş olamaz"))
+            );
+        }
+
+        return transactionRepository.getMonthlySummaries(yearMonth, yearMonth)
+                .handle((summaries, throwable) -> {
+                    if (throwable != null) {
+                        if (throwable.getCause() instanceof Exception) {
+                            return Result.<MonthlySummary>error(AppError.fromException((Exception) throwable.getCause()));
+                        }
+                        return Result.<MonthlySummary>error(AppError.unknown(throwable));
+                    }
+                    return Result.success(firstOrEmpty(summaries, yearMonth));
+                });
+    }
+
+    private static MonthlySummary firstOrEmpty(List<MonthlySummary> summaries, YearMonth yearMonth) {
+        return summaries == null || summaries.isEmpty() ? MonthlySummary.empty(yearMonth) : summaries.get(0);
+    }
+
     public static class MonthlyReport {
         private final YearMonth yearMonth;
         private final BigDecimal totalIncome;
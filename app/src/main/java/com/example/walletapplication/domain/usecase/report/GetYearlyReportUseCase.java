@@ -0,0 +1,144 @@
+package com.example.walletapplication.domain.usecase.report;
+
+import com.example.walletapplication.domain.common.AppError;
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.MonthlySummary;
+import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds a yearly report from a single grouped rollup query (12 monthly buckets).
+ * Transaction lists are only loaded when explicitly requested.
+ */
+public class GetYearlyReportUseCase {
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 9999;
+
+    private final TransactionRepository transactionRepository;
+
+    public GetYearlyReportUseCase(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    public CompletableFuture<Result<YearlyReport>> getYearlyReport(int year) {
+        return getYearlyReport(year, false);
+    }
+
+    /**
+     * @param year Report year
+     * @param includeTransactions Whether to also load the transactions of every month
+     */
+    public CompletableFuture<Result<YearlyReport>> getYearlyReport(int year, boolean includeTransactions) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return CompletableFuture.completedFuture(
+                Result.error(AppError.validation("year", "Geçersiz yıl"))
+            );
+        }
+
+        YearMonth firstMonth = YearMonth.of(year, 1);
+        YearMonth lastMonth = YearMonth.of(year, 12);
+
+        CompletableFuture<List<MonthlySummary>> summaries = transactionRepository.getMonthlySummaries(firstMonth, lastMonth);
+        CompletableFuture<List<Transaction>> transactions = includeTransactions
+                ? transactionRepository.getTransactionsByDateRange(
+                        firstMonth.atDay(1).atStartOfDay(),
+                        lastMonth.atEndOfMonth().atTime(23, 59, 59))
+                : CompletableFuture.completedFuture(null);
+
+        return summaries.thenCombine(transactions, (monthly, transactionList) ->
+                        Result.success(new YearlyReport(year, monthly, groupByMonth(transactionList))))
+                .exceptionally(throwable -> {
+                    Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                    if (cause instanceof Exception) {
+                        return Result.error(AppError.fromException((Exception) cause));
+                    }
+                    return Result.error(AppError.unknown(cause));
+                });
+    }
+
+    private static Map<YearMonth, List<Transaction>> groupByMonth(List<Transaction> transactions) {
+        if (transactions == null) {
+            return Collections.emptyMap();
+        }
+        Map<YearMonth, List<Transaction>> byMonth = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            LocalDateTime date = transaction.getDate();
+            byMonth.computeIfAbsent(YearMonth.from(date), key -> new ArrayList<>()).add(transaction);
+        }
+        return byMonth;
+    }
+
+    public static class YearlyReport {
+        private final int year;
+        private final List<MonthlySummary> months;
+        private final Map<YearMonth, List<Transaction>> transactionsByMonth;
+
+        public YearlyReport(int year, List<MonthlySummary> months,
+                            Map<YearMonth, List<Transaction>> transactionsByMonth) {
+            this.year = year;
+            this.months = Collections.unmodifiableList(new ArrayList<>(months));
+            this.transactionsByMonth = transactionsByMonth;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        /**
+         * One summary per month, January to December
+         */
+        public List<MonthlySummary> getMonths() {
+            return months;
+        }
+
+        public BigDecimal getTotalIncome() {
+            BigDecimal total = BigDecimal.ZERO;
+            for (MonthlySummary month : months) {
+                total = total.add(month.getTotalIncome());
+            }
+            return total;
+        }
+
+        public BigDecimal getTotalExpense() {
+            BigDecimal total = BigDecimal.ZERO;
+            for (MonthlySummary month : months) {
+                total = total.add(month.getTotalExpense());
+            }
+            return total;
+        }
+
+        public BigDecimal getBalance() {
+            return getTotalIncome().subtract(getTotalExpense());
+        }
+
+        public int getTransactionCount() {
+            int count = 0;
+            for (MonthlySummary month : months) {
+                count += month.getTransactionCount();
+            }
+            return count;
+        }
+
+        public boolean hasTransactions() {
+            return !transactionsByMonth.isEmpty();
+        }
+
+        /**
+         * Transactions of the given month; empty unless the report was loaded with transactions
+         */
+        public List<Transaction> getTransactions(YearMonth yearMonth) {
+            List<Transaction> transactions = transactionsByMonth.get(yearMonth);
+            return transactions != null ? transactions : Collections.emptyList();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.walletapplication.domain.usecase.transaction;
 
+import com.example.walletapplication.domain.entity.SearchFilters;
 import com.example.walletapplication.domain.entity.Transaction;
 import com.example.walletapplication.domain.entity.TransactionType;
 import com.example.walletapplication.domain.repository.TransactionRepository;
@@ -8,7 +9,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
  * Advanced search use case that allows combining multiple search criteria
@@ -100,6 +100,20 @@ public class AdvancedSearchUseCase {
         public boolean hasDateRange() {
             return startDate != null || endDate != null;
         }
+        
+        /**
+         * Converts the structured part of the criteria (everything except text) to SearchFilters
+         */
+        public SearchFilters toSearchFilters() {
+            return new SearchFilters.Builder()
+                .setType(type)
+                .setCategory(hasCategory() ? category.trim() : null)
+                .setMinAmount(minAmount)
+                .setMaxAmount(maxAmount)
+                .setStartDate(startDate)
+                .setEndDate(endDate)
+                .build();
+        }
     }
     
     /**
@@ -112,68 +126,9 @@ public class AdvancedSearchUseCase {
             return transactionRepository.getAllTransactions();
         }
         
-        // Start with all transactions and apply filters progressively
-        return transactionRepository.getAllTransactions()
-            .thenApply(transactions -> {
-                List<Transaction> filteredTransactions = transactions;
-                
-                // Apply text search filter
-                if (criteria.hasTextQuery()) {
-                    final String query = criteria.getTextQuery().toLowerCase().trim();
-                    filteredTransactions = filteredTransactions.stream()
-                        .filter(transaction -> 
-                            transaction.getDescription().toLowerCase().contains(query) ||
-                            transaction.getCategory().toLowerCase().contains(query)
-                        )
-                        .collect(Collectors.toList());
-                }
-                
-                // Apply category filter
-                if (criteria.hasCategory()) {
-                    final String category = criteria.getCategory();
-                    filteredTransactions = filteredTransactions.stream()
-                        .filter(transaction -> transaction.getCategory().equalsIgnoreCase(category))
-                        .collect(Collectors.toList());
-                }
-                
-                // Apply type filter
-                if (criteria.hasType()) {
-                    final TransactionType type = criteria.getType();
-                    filteredTransactions = filteredTransactions.stream()
-                        .filter(transaction -> transaction.getType() == type)
-                        .collect(Collectors.toList());
-                }
-                
-                // Apply amount range filter
-                if (criteria.hasAmountRange()) {
-                    filteredTransactions = filteredTransactions.stream()
-                        .filter(transaction -> {
-                            BigDecimal amount = transaction.getAmount();
-                            boolean minOk = criteria.getMinAmount() == null || 
-                                          amount.compareTo(criteria.getMinAmount()) >= 0;
-                            boolean maxOk = criteria.getMaxAmount() == null || 
-                                          amount.compareTo(criteria.getMaxAmount()) <= 0;
-                            return minOk && maxOk;
-                        })
-                        .collect(Collectors.toList());
-                }
-                
-                // Apply date range filter
-                if (criteria.hasDateRange()) {
-                    filteredTransactions = filteredTransactions.stream()
-                        .filter(transaction -> {
-                            LocalDateTime date = transaction.getDate();
-                            boolean startOk = criteria.getStartDate() == null || 
-                                            !date.isBefore(criteria.getStartDate());
-                            boolean endOk = criteria.getEndDate() == null || 
-                                          !date.isAfter(criteria.getEndDate());
-                            return startOk && endOk;
-                        })
-                        .collect(Collectors.toList());
-                }
-                
-                return filteredTransactions;
-            });
+        // Evaluate every criterion in a single database query
+        String textQuery = criteria.hasTextQuery() ? criteria.getTextQuery().trim() : null;
+        return transactionRepository.searchTransactions(textQuery, criteria.toSearchFilters());
     }
     
     /**
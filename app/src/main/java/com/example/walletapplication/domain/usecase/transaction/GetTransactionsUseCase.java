@@ -1,6 +1,7 @@
 package com.example.walletapplication.domain.usecase.transaction;
 
 import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.entity.TransactionPageKey;
 import com.example.walletapplication.domain.entity.TransactionType;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 
@@ -20,6 +21,15 @@ public class GetTransactionsUseCase {
         return transactionRepository.getAllTransactions();
     }
 
+    public CompletableFuture<List<Transaction>> getTransactionsPage(TransactionPageKey after, int limit) {
+        if (limit <= 0) {
+            CompletableFuture<List<Transaction>> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalArgumentException("Page size must be positive"));
+            return future;
+        }
+        return transactionRepository.getTransactionsPage(after, limit);
+    }
+
     public CompletableFuture<List<Transaction>> getTransactionsByType(TransactionType type) {
         if (type == null) {
             CompletableFuture<List<Transaction>> future = new CompletableFuture<>();
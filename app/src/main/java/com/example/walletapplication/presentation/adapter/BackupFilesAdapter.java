@@ -9,29 +9,41 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.walletapplication.R;
+import com.example.walletapplication.domain.entity.BackupCatalogEntry;
+import com.example.walletapplication.domain.entity.BackupMetadata;
 import com.google.android.material.button.MaterialButton;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
 /**
- * Adapter for displaying backup files in a RecyclerView
+ * Adapter for displaying backup files in a RecyclerView. Rows are bound from catalog entries,
+ * so listing backups never touches the files themselves.
  */
 public class BackupFilesAdapter extends RecyclerView.Adapter<BackupFilesAdapter.BackupFileViewHolder> {
     
-    private List<String> backupFiles;
+    private List<BackupCatalogEntry> backupFiles;
     private final OnBackupFileSelectedListener listener;
+    private final OnBackupFileDeleteListener deleteListener;
     
     public interface OnBackupFileSelectedListener {
         void onBackupFileSelected(String filePath);
     }
     
-    public BackupFilesAdapter(List<String> backupFiles, OnBackupFileSelectedListener listener) {
+    public interface OnBackupFileDeleteListener {
+        void onBackupFileDelete(String filePath);
+    }
+    
+    public BackupFilesAdapter(List<BackupCatalogEntry> backupFiles, OnBackupFileSelectedListener listener,
+                              OnBackupFileDeleteListener deleteListener) {
         this.backupFiles = backupFiles;
         this.listener = listener;
+        this.deleteListener = deleteListener;
     }
     
     @NonNull
@@ -44,8 +56,8 @@ public class BackupFilesAdapter extends RecyclerView.Adapter<BackupFilesAdapter.
     
     @Override
     public void onBindViewHolder(@NonNull BackupFileViewHolder holder, int position) {
-        String filePath = backupFiles.get(position);
-        holder.bind(filePath, listener);
+        BackupCatalogEntry entry = backupFiles.get(position);
+        holder.bind(entry, listener, deleteListener);
     }
     
     @Override
@@ -53,7 +65,7 @@ public class BackupFilesAdapter extends RecyclerView.Adapter<BackupFilesAdapter.
         return backupFiles.size();
     }
     
-    public void updateFiles(List<String> newFiles) {
+    public void updateFiles(List<BackupCatalogEntry> newFiles) {
         this.backupFiles = newFiles;
         notifyDataSetChanged();
     }
@@ -72,28 +84,51 @@ public class BackupFilesAdapter extends RecyclerView.Adapter<BackupFilesAdapter.
             buttonRestore = itemView.findViewById(R.id.buttonRestore);
         }
         
-        public void bind(String filePath, OnBackupFileSelectedListener listener) {
-            File file = new File(filePath);
+        public void bind(BackupCatalogEntry entry, OnBackupFileSelectedListener listener,
+                         OnBackupFileDeleteListener deleteListener) {
+            String filePath = entry.getFilePath();
             
             // Set file name
-            textViewFileName.setText(file.getName());
+            textViewFileName.setText(new File(filePath).getName());
             
-            // Set file date
-            Date lastModified = new Date(file.lastModified());
-            SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
-            textViewFileDate.setText(dateFormat.format(lastModified));
+            // Set backup date, falling back to the file date for backups without a header date
+            textViewFileDate.setText(formatDate(entry));
             
-            // Set file size
-            long fileSizeInBytes = file.length();
-            String fileSize = formatFileSize(fileSizeInBytes);
-            textViewFileSize.setText(fileSize);
+            // Set file size and record counts
+            String fileSize = formatFileSize(entry.getSizeBytes());
+            BackupMetadata metadata = entry.getMetadata();
+            if (!entry.isValid()) {
+                textViewFileSize.setText(itemView.getContext().getString(R.string.backup_file_invalid, fileSize));
+            } else if (metadata != null) {
+                textViewFileSize.setText(itemView.getContext().getString(R.string.backup_file_summary, fileSize,
+                        metadata.getTransactionCount(), metadata.getCategoryCount()));
+            } else {
+                textViewFileSize.setText(fileSize);
+            }
             
-            // Set click listener
+            // Set click listeners
+            buttonRestore.setEnabled(entry.isValid());
             buttonRestore.setOnClickListener(v -> {
                 if (listener != null) {
                     listener.onBackupFileSelected(filePath);
                 }
             });
+            itemView.setOnLongClickListener(v -> {
+                if (deleteListener == null) {
+                    return false;
+                }
+                deleteListener.onBackupFileDelete(filePath);
+                return true;
+            });
+        }
+        
+        private String formatDate(BackupCatalogEntry entry) {
+            LocalDateTime createdAt = entry.getCreatedAt();
+            if (createdAt != null) {
+                return createdAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", Locale.getDefault()));
+            }
+            SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
+            return dateFormat.format(new Date(entry.getLastModified()));
         }
         
         private String formatFileSize(long bytes) {
@@ -7,8 +7,8 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.walletapplication.R;
@@ -20,7 +20,10 @@ import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.time.format.DateTimeFormatter;
 
-public class TransactionAdapter extends ListAdapter<Transaction, TransactionAdapter.TransactionViewHolder> {
+/**
+ * Paged transaction list adapter. Static lists (dashboard, filter results) are submitted as PagingData.from(list)
+ */
+public class TransactionAdapter extends PagingDataAdapter<Transaction, TransactionAdapter.TransactionViewHolder> {
 
     private OnTransactionClickListener clickListener;
     private DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
@@ -87,7 +90,9 @@ public class TransactionAdapter extends ListAdapter<Transaction, TransactionAdap
     @Override
     public void onBindViewHolder(@NonNull TransactionViewHolder holder, int position) {
         Transaction transaction = getItem(position);
-        holder.bind(transaction);
+        if (transaction != null) {
+            holder.bind(transaction);
+        }
     }
 
     class TransactionViewHolder extends RecyclerView.ViewHolder {
@@ -108,6 +113,9 @@ public class TransactionAdapter extends ListAdapter<Transaction, TransactionAdap
             itemView.setOnClickListener(v -> {
                 if (getAdapterPosition() != RecyclerView.NO_POSITION) {
                     Transaction transaction = getItem(getAdapterPosition());
+                    if (transaction == null) {
+                        return;
+                    }
                     if (clickListener != null) {
                         clickListener.onTransactionClick(transaction);
                     }
@@ -120,6 +128,9 @@ public class TransactionAdapter extends ListAdapter<Transaction, TransactionAdap
             itemView.setOnLongClickListener(v -> {
                 if (getAdapterPosition() != RecyclerView.NO_POSITION) {
                     Transaction transaction = getItem(getAdapterPosition());
+                    if (transaction == null) {
+                        return false;
+                    }
                     boolean handled = false;
                     if (clickListener != null) {
                         clickListener.onTransactionLongClick(transaction);
@@ -0,0 +1,64 @@
+package com.example.walletapplication.presentation.paging;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+
+import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.entity.TransactionPageKey;
+import com.example.walletapplication.domain.usecase.transaction.GetTransactionsUseCase;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * PagingSource that walks the transaction list with keyset pagination on (date, id).
+ * Each load costs one indexed range query regardless of how many transactions exist.
+ */
+public class TransactionPagingSource extends ListenableFuturePagingSource<TransactionPageKey, Transaction> {
+
+    private final GetTransactionsUseCase getTransactionsUseCase;
+
+    public TransactionPagingSource(GetTransactionsUseCase getTransactionsUseCase) {
+        this.getTransactionsUseCase = getTransactionsUseCase;
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<TransactionPageKey, Transaction>> loadFuture(
+            @NonNull LoadParams<TransactionPageKey> params) {
+        SettableFuture<LoadResult<TransactionPageKey, Transaction>> result = SettableFuture.create();
+        int loadSize = params.getLoadSize();
+
+        getTransactionsUseCase.getTransactionsPage(params.getKey(), loadSize)
+            .whenComplete((transactions, throwable) -> {
+                if (throwable != null) {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    result.set(new LoadResult.Error<>(cause));
+                } else {
+                    result.set(toPage(transactions, loadSize));
+                }
+            });
+
+        return result;
+    }
+
+    private LoadResult.Page<TransactionPageKey, Transaction> toPage(List<Transaction> transactions, int loadSize) {
+        // A short page means the end of the list was reached
+        TransactionPageKey nextKey = transactions.size() < loadSize || transactions.isEmpty()
+                ? null
+                : TransactionPageKey.after(transactions.get(transactions.size() - 1));
+        return new LoadResult.Page<>(transactions, null, nextKey);
+    }
+
+    @Nullable
+    @Override
+    public TransactionPageKey getRefreshKey(@NonNull PagingState<TransactionPageKey, Transaction> state) {
+        // Keyset pages only append, so a refresh always restarts from the newest transaction
+        return null;
+    }
+}
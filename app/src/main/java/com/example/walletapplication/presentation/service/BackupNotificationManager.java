@@ -7,6 +7,8 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Build;
+import android.os.SystemClock;
+import android.util.SparseLongArray;
 
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
@@ -34,8 +36,13 @@ public class BackupNotificationManager {
     // Actions
     public static final String ACTION_CANCEL_BACKUP = "com.example.walletapplication.CANCEL_BACKUP";
     
+    // The system drops notification updates posted faster than a few per second, and each
+    // one rebuilds the notification, so progress updates closer than this are skipped
+    private static final long PROGRESS_UPDATE_INTERVAL_MS = 250;
+    
     private final Context context;
     private final NotificationManagerCompat notificationManager;
+    private final SparseLongArray lastProgressUpdate = new SparseLongArray();
     
     public BackupNotificationManager(Context context) {
         this.context = context;
@@ -222,9 +229,17 @@ public class BackupNotificationManager {
     }
     
     /**
-     * Updates progress notification
+     * Updates progress notification. Updates within PROGRESS_UPDATE_INTERVAL_MS of the
+     * previous one are skipped unless they complete the progress bar. Called on the main thread.
      */
     public void updateProgressNotification(int notificationId, int progress, int max, String status) {
+        long now = SystemClock.elapsedRealtime();
+        long last = lastProgressUpdate.get(notificationId, Long.MIN_VALUE);
+        if (progress < max && last != Long.MIN_VALUE && now - last < PROGRESS_UPDATE_INTERVAL_MS) {
+            return;
+        }
+        lastProgressUpdate.put(notificationId, now);
+        
         Notification notification;
         
         if (notificationId == NOTIFICATION_ID_EXPORT_PROGRESS) {
@@ -242,6 +257,7 @@ public class BackupNotificationManager {
      * Cancels a specific notification
      */
     public void cancelNotification(int notificationId) {
+        lastProgressUpdate.delete(notificationId);
         notificationManager.cancel(notificationId);
     }
     
@@ -249,6 +265,7 @@ public class BackupNotificationManager {
      * Cancels all backup-related notifications
      */
     public void cancelAllNotifications() {
+        lastProgressUpdate.clear();
         notificationManager.cancel(NOTIFICATION_ID_EXPORT_PROGRESS);
         notificationManager.cancel(NOTIFICATION_ID_IMPORT_PROGRESS);
         notificationManager.cancel(NOTIFICATION_ID_EXPORT_COMPLETE);
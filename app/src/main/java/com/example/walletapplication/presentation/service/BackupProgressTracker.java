@@ -11,11 +11,28 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class BackupProgressTracker {
     
+    // ETA estimation: throughput is sampled at most this often and smoothed exponentially,
+    // so a slow first batch or a short stall does not swing the estimate
+    private static final long ETA_SAMPLE_INTERVAL_MS = 500;
+    private static final double ETA_SMOOTHING = 0.3;
+    
     // Progress tracking
     private final AtomicInteger currentProgress = new AtomicInteger(0);
     private final AtomicInteger maxProgress = new AtomicInteger(100);
     private final AtomicLong startTime = new AtomicLong(0);
+    private final AtomicInteger parsedItems = new AtomicInteger(0);
+    private final AtomicInteger writtenItems = new AtomicInteger(0);
+    private final AtomicInteger expectedItems = new AtomicInteger(0);
+    private final AtomicLong bytesRead = new AtomicLong(0);
+    private final AtomicLong totalBytes = new AtomicLong(-1);
     private volatile String currentStatus = "";
+    
+    // Throughput estimate, guarded by etaLock
+    private final Object etaLock = new Object();
+    private double exactProgress;
+    private long lastSampleTime;
+    private double lastSampleProgress;
+    private double smoothedRate;
     private volatile boolean isRunning = false;
     
     // Progress callback
@@ -24,11 +41,6 @@ public class BackupProgressTracker {
     
     // Progress step definitions
     public static class ProgressSteps {
-        // Export steps
-        public static final int EXPORT_DATABASE_READ = 20;
-        public static final int EXPORT_JSON_CONVERSION = 40;
-        public static final int EXPORT_FILE_WRITE = 40;
-        
         // Import steps  
         public static final int IMPORT_FILE_READ = 20;
         public static final int IMPORT_JSON_PARSING = 20;
@@ -71,58 +83,51 @@ public class BackupProgressTracker {
      * Updates progress with absolute value
      */
     public void updateProgress(int progress, String status) {
-        if (!isRunning) return;
-        
-        currentProgress.set(Math.max(0, Math.min(progress, maxProgress.get())));
-        currentStatus = status;
-        notifyProgressUpdate();
+        updateProgress((double) progress, status);
     }
     
     /**
-     * Increments progress by specified amount
+     * Updates progress with a fractional value, kept exact for the throughput estimate
      */
-    public void incrementProgress(int increment, String status) {
+    private void updateProgress(double progress, String status) {
         if (!isRunning) return;
         
-        int newProgress = currentProgress.addAndGet(increment);
-        newProgress = Math.max(0, Math.min(newProgress, maxProgress.get()));
-        currentProgress.set(newProgress);
+        double clamped = Math.max(0, Math.min(progress, maxProgress.get()));
+        synchronized (etaLock) {
+            exactProgress = clamped;
+        }
+        currentProgress.set((int) clamped);
         currentStatus = status;
         notifyProgressUpdate();
     }
     
     /**
-     * Updates progress for export database read step
+     * Increments progress by specified amount
      */
-    public void updateExportDatabaseRead(int transactionCount, int categoryCount) {
-        String status = String.format("Veritabanından veriler okunuyor... (%d işlem, %d kategori)", 
-                transactionCount, categoryCount);
-        updateProgress(ProgressSteps.EXPORT_DATABASE_READ, status);
+    public void incrementProgress(int increment, String status) {
+        if (!isRunning) return;
+        
+        updateProgress(currentProgress.get() + increment, status);
     }
     
     /**
-     * Updates progress for export JSON conversion step
+     * Updates progress for a streaming export, where rows are read, encoded and written in
+     * one pass. Progress follows the records written; the byte count is informational since
+     * the compressed size is not known in advance.
      */
-    public void updateExportJsonConversion(int processedItems, int totalItems) {
-        int progress = ProgressSteps.EXPORT_DATABASE_READ + 
-                ((ProgressSteps.EXPORT_JSON_CONVERSION * processedItems) / Math.max(1, totalItems));
-        String status = String.format("JSON formatına dönüştürülüyor... (%d/%d)", processedItems, totalItems);
+    public void updateExportProgress(int recordsWritten, int recordsExpected, long bytesWritten) {
+        if (recordsExpected <= 0) {
+            updateProgress(currentProgress.get(), String.format("Dosyaya yazılıyor... (%d kayıt, %s)",
+                    recordsWritten, formatBytes(bytesWritten)));
+            return;
+        }
+        // The final percent is left to the completion step, after the file is closed
+        double progress = Math.min(99.0, (100.0 * recordsWritten) / recordsExpected);
+        String status = String.format("Dosyaya yazılıyor... (%d/%d kayıt, %s)",
+                Math.min(recordsWritten, recordsExpected), recordsExpected, formatBytes(bytesWritten));
         updateProgress(progress, status);
     }
     
-    /**
-     * Updates progress for export file write step
-     */
-    public void updateExportFileWrite(long bytesWritten, long totalBytes) {
-        int baseProgress = ProgressSteps.EXPORT_DATABASE_READ + ProgressSteps.EXPORT_JSON_CONVERSION;
-        int writeProgress = totalBytes > 0 ? 
-                (int) ((ProgressSteps.EXPORT_FILE_WRITE * bytesWritten) / totalBytes) : 0;
-        
-        String status = String.format("Dosyaya yazılıyor... (%s/%s)", 
-                formatBytes(bytesWritten), formatBytes(totalBytes));
-        updateProgress(baseProgress + writeProgress, status);
-    }
-    
     /**
      * Updates progress for import file read step
      */
@@ -167,6 +172,58 @@ public class BackupProgressTracker {
         updateProgress(baseProgress + writeProgress, status);
     }
     
+    /**
+     * Updates progress for the pipelined import, where parsing and database writes
+     * run concurrently after the validation pass
+     */
+    public void updateImportPipeline(int parsedItems, int writtenItems, int totalItems) {
+        this.parsedItems.set(parsedItems);
+        this.writtenItems.set(writtenItems);
+        this.expectedItems.set(totalItems);
+        publishImportPipeline();
+    }
+    
+    /**
+     * Updates the raw bytes read by the import parser. When the file size is known it
+     * drives the parse stage, which is more accurate than a record count from the metadata.
+     */
+    public void updateImportBytes(long bytesRead, long totalBytes) {
+        this.bytesRead.set(bytesRead);
+        this.totalBytes.set(totalBytes);
+        publishImportPipeline();
+    }
+    
+    private void publishImportPipeline() {
+        int parsed = parsedItems.get();
+        int written = writtenItems.get();
+        int expected = expectedItems.get();
+        long read = bytesRead.get();
+        long total = totalBytes.get();
+        
+        double parseFraction;
+        if (total > 0) {
+            parseFraction = Math.min(1.0, (double) read / total);
+        } else {
+            parseFraction = expected > 0 ? Math.min(1.0, (double) parsed / expected) : 0;
+        }
+        // Writes trail the parser by at most the write queue, so they are measured against it
+        double writeFraction = parsed > 0 ? parseFraction * Math.min(1.0, (double) written / parsed) : 0;
+        
+        int baseProgress = ProgressSteps.IMPORT_FILE_READ + ProgressSteps.IMPORT_VALIDATION;
+        double progress = baseProgress + ProgressSteps.IMPORT_JSON_PARSING * parseFraction
+                + ProgressSteps.IMPORT_DATABASE_WRITE * writeFraction;
+        
+        String status;
+        if (total > 0) {
+            status = String.format("Okunan: %s/%s, yazılan: %d işlem",
+                    formatBytes(read), formatBytes(total), written);
+        } else {
+            status = String.format("Ayrıştırılan: %d/%d, yazılan: %d/%d",
+                    parsed, expected, written, expected);
+        }
+        updateProgress(progress, status);
+    }
+    
     /**
      * Completes the operation
      */
@@ -214,7 +271,18 @@ public class BackupProgressTracker {
         currentProgress.set(0);
         maxProgress.set(100);
         startTime.set(0);
+        parsedItems.set(0);
+        writtenItems.set(0);
+        expectedItems.set(0);
+        bytesRead.set(0);
+        totalBytes.set(-1);
         currentStatus = "";
+        synchronized (etaLock) {
+            exactProgress = 0;
+            lastSampleTime = 0;
+            lastSampleProgress = 0;
+            smoothedRate = 0;
+        }
     }
     
     /**
@@ -232,27 +300,41 @@ public class BackupProgressTracker {
     }
     
     /**
-     * Calculates estimated time remaining
+     * Calculates estimated time remaining from an exponentially weighted average of the
+     * recent progress rate, which follows changes in throughput instead of averaging over
+     * the whole run
      */
     private String calculateETA() {
         if (!isRunning || startTime.get() == 0) {
             return "Hesaplanıyor...";
         }
         
-        int progress = currentProgress.get();
-        if (progress <= 0) {
-            return "Hesaplanıyor...";
+        double remainingTime;
+        synchronized (etaLock) {
+            long now = System.currentTimeMillis();
+            if (lastSampleTime == 0) {
+                lastSampleTime = startTime.get();
+            }
+            long interval = now - lastSampleTime;
+            if (interval >= ETA_SAMPLE_INTERVAL_MS) {
+                double rate = Math.max(0, exactProgress - lastSampleProgress) / interval;
+                smoothedRate = smoothedRate == 0
+                        ? rate
+                        : ETA_SMOOTHING * rate + (1 - ETA_SMOOTHING) * smoothedRate;
+                lastSampleTime = now;
+                lastSampleProgress = exactProgress;
+            }
+            if (smoothedRate <= 0) {
+                return "Hesaplanıyor...";
+            }
+            remainingTime = (maxProgress.get() - exactProgress) / smoothedRate;
         }
         
-        long elapsedTime = System.currentTimeMillis() - startTime.get();
-        long estimatedTotalTime = (elapsedTime * maxProgress.get()) / progress;
-        long remainingTime = estimatedTotalTime - elapsedTime;
-        
-        if (remainingTime <= 0) {
+        if (remainingTime < 1000) {
             return "Neredeyse bitti...";
         }
         
-        return formatDuration(remainingTime);
+        return formatDuration((long) remainingTime);
     }
     
     /**
@@ -292,6 +374,14 @@ public class BackupProgressTracker {
         return maxProgress.get();
     }
     
+    public int getParsedItems() {
+        return parsedItems.get();
+    }
+    
+    public int getWrittenItems() {
+        return writtenItems.get();
+    }
+    
     public String getCurrentStatus() {
         return currentStatus;
     }
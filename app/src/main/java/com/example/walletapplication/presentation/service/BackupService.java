@@ -14,10 +14,12 @@ import androidx.annotation.Nullable;
 
 import com.example.walletapplication.domain.usecase.backup.ExportDataUseCase;
 import com.example.walletapplication.domain.usecase.backup.ImportDataUseCase;
+import com.example.walletapplication.domain.usecase.backup.RestoreBackupChainUseCase;
 import com.example.walletapplication.domain.repository.BackupRepository;
-import com.example.walletapplication.domain.entity.BackupData;
+import com.example.walletapplication.domain.entity.BackupFileInfo;
 import com.example.walletapplication.domain.common.Result;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -38,12 +40,16 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
     public static final String ACTION_START_IMPORT = "com.example.walletapplication.START_IMPORT";
     public static final String ACTION_START_EXPORT_EXTERNAL = "com.example.walletapplication.START_EXPORT_EXTERNAL";
     public static final String ACTION_START_IMPORT_URI = "com.example.walletapplication.START_IMPORT_URI";
+    public static final String ACTION_START_EXPORT_INCREMENTAL = "com.example.walletapplication.START_EXPORT_INCREMENTAL";
+    public static final String ACTION_START_RESTORE_CHAIN = "com.example.walletapplication.START_RESTORE_CHAIN";
     public static final String ACTION_CANCEL_OPERATION = "com.example.walletapplication.CANCEL_OPERATION";
     
     // Intent extras
     public static final String EXTRA_FILE_PATH = "file_path";
     public static final String EXTRA_CONTENT_URI = "content_uri";
     public static final String EXTRA_REPLACE_EXISTING = "replace_existing";
+    public static final String EXTRA_BASE_FILE_PATH = "base_file_path";
+    public static final String EXTRA_FILE_PATHS = "file_paths";
     
     // Dependencies
     @Inject
@@ -52,6 +58,9 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
     @Inject
     ImportDataUseCase importDataUseCase;
     
+    @Inject
+    RestoreBackupChainUseCase restoreBackupChainUseCase;
+    
     @Inject
     BackupRepository backupRepository;
     
@@ -146,6 +155,14 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
                 startImportUriOperation(uri, replaceExistingUri);
                 break;
                 
+            case ACTION_START_EXPORT_INCREMENTAL:
+                startExportIncrementalOperation(intent.getStringExtra(EXTRA_BASE_FILE_PATH));
+                break;
+                
+            case ACTION_START_RESTORE_CHAIN:
+                startRestoreChainOperation(intent.getStringArrayListExtra(EXTRA_FILE_PATHS));
+                break;
+                
             case ACTION_CANCEL_OPERATION:
                 cancelCurrentOperation();
                 break;
@@ -202,34 +219,20 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
         
         currentTask = CompletableFuture.runAsync(() -> {
             try {
-                // Step 1: Get data from database
-                progressTracker.updateProgress(10, "Veritabanından veriler alınıyor...");
+                // Database rows are read, converted and written to the file in one streaming pass
+                progressTracker.updateProgress(0, "Veriler dosyaya yazılıyor...");
                 
-                Result<BackupData> result = exportDataUseCase.execute().join();
+                String fileName = backupRepository.getDefaultBackupFileName();
+                Result<BackupFileInfo> result =
+                        exportDataUseCase.exportToFile(fileName, false, progressTracker::updateExportProgress).join();
                 if (result.isError()) {
                     throw new RuntimeException(result.getErrorOrNull().getMessage());
                 }
                 
-                BackupData backupData = result.getDataOrNull();
-                int transactionCount = backupData.getTransactions().size();
-                int categoryCount = backupData.getCategories().size();
-                
-                progressTracker.updateExportDatabaseRead(transactionCount, categoryCount);
-
-                Thread.sleep(3000);
-                
-                // Step 2: Convert to JSON
-                progressTracker.updateProgress(60, "JSON formatına dönüştürülüyor...");
-
-                Thread.sleep(3000);
-
-                // Step 3: Save to file
-                progressTracker.updateProgress(80, "Dosyaya kaydediliyor...");
-
-                Thread.sleep(3000);
-
-                String fileName = backupRepository.getDefaultBackupFileName();
-                String filePath = backupRepository.saveBackupToFile(backupData, fileName).join();
+                BackupFileInfo fileInfo = result.getDataOrNull();
+                String filePath = fileInfo.getFilePath();
+                int transactionCount = fileInfo.getTransactionCount();
+                int categoryCount = fileInfo.getCategoryCount();
                 
                 progressTracker.updateProgress(100, "Dışa aktarma tamamlandı");
                 
@@ -272,28 +275,20 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
         
         currentTask = CompletableFuture.runAsync(() -> {
             try {
-                // Step 1: Get data from database
-                progressTracker.updateProgress(10, "Veritabanından veriler alınıyor...");
+                // Database rows are read, converted and written to the file in one streaming pass
+                progressTracker.updateProgress(0, "Harici depolama alanına kaydediliyor...");
                 
-                Result<BackupData> result = exportDataUseCase.execute().join();
+                String fileName = backupRepository.getDefaultBackupFileName();
+                Result<BackupFileInfo> result =
+                        exportDataUseCase.exportToFile(fileName, true, progressTracker::updateExportProgress).join();
                 if (result.isError()) {
                     throw new RuntimeException(result.getErrorOrNull().getMessage());
                 }
                 
-                BackupData backupData = result.getDataOrNull();
-                int transactionCount = backupData.getTransactions().size();
-                int categoryCount = backupData.getCategories().size();
-                
-                progressTracker.updateExportDatabaseRead(transactionCount, categoryCount);
-                
-                // Step 2: Convert to JSON
-                progressTracker.updateProgress(60, "JSON formatına dönüştürülüyor...");
-                
-                // Step 3: Save to external storage
-                progressTracker.updateProgress(80, "Harici depolama alanına kaydediliyor...");
-                
-                String fileName = backupRepository.getDefaultBackupFileName();
-                String filePath = backupRepository.saveBackupToExternalStorage(backupData, fileName).join();
+                BackupFileInfo fileInfo = result.getDataOrNull();
+                String filePath = fileInfo.getFilePath();
+                int transactionCount = fileInfo.getTransactionCount();
+                int categoryCount = fileInfo.getCategoryCount();
                 
                 progressTracker.updateProgress(100, "Harici depolama alanına aktarma tamamlandı");
                 
@@ -317,6 +312,109 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
         });
     }
     
+    /**
+     * Starts an incremental export holding only the changes since the given backup
+     */
+    private void startExportIncrementalOperation(String baseFilePath) {
+        if (!isOperationRunning.compareAndSet(false, true)) {
+            return;
+        }
+        
+        currentOperation = "export_incremental";
+        Log.d(TAG, "Starting incremental export on top of: " + baseFilePath);
+        
+        // Start foreground service with notification
+        startForeground(BackupNotificationManager.NOTIFICATION_ID_EXPORT_PROGRESS,
+                notificationManager.createExportProgressNotification(0, 100, "Artımlı yedekleme başlatılıyor..."));
+        
+        progressTracker.startOperation("Artımlı yedekleme başlatılıyor...");
+        
+        currentTask = CompletableFuture.runAsync(() -> {
+            try {
+                progressTracker.updateProgress(0, "Değişiklikler dosyaya yazılıyor...");
+                
+                String fileName = backupRepository.getDefaultIncrementalBackupFileName();
+                Result<BackupFileInfo> result = exportDataUseCase.exportIncrementalToFile(fileName, baseFilePath,
+                        false, progressTracker::updateExportProgress).join();
+                if (result.isError()) {
+                    throw new RuntimeException(result.getErrorOrNull().getMessage());
+                }
+                
+                BackupFileInfo fileInfo = result.getDataOrNull();
+                int transactionCount = fileInfo.getTransactionCount();
+                int categoryCount = fileInfo.getCategoryCount();
+                
+                progressTracker.updateProgress(100, "Artımlı yedekleme tamamlandı");
+                
+                String successMessage = String.format("Artımlı yedekleme başarıyla tamamlandı!\n%d işlem ve %d kategori değişikliği dışa aktarıldı.",
+                        transactionCount, categoryCount);
+                
+                progressTracker.completeOperation(true, successMessage);
+                
+                // Show success notification
+                notificationManager.showExportSuccessNotification(fileInfo.getFilePath(), transactionCount, categoryCount);
+                
+            } catch (Exception e) {
+                Log.e(TAG, "Incremental export operation failed", e);
+                progressTracker.reportError("Artımlı yedekleme başarısız: " + e.getMessage());
+                notificationManager.showErrorNotification("Artımlı yedekleme başarısız", e.getMessage(), "Incremental Export");
+            } finally {
+                isOperationRunning.set(false);
+                stopForeground(true);
+                stopSelf();
+            }
+        });
+    }
+    
+    /**
+     * Starts restoring a full backup followed by its incremental backups
+     */
+    private void startRestoreChainOperation(List<String> filePaths) {
+        if (!isOperationRunning.compareAndSet(false, true)) {
+            return;
+        }
+        
+        currentOperation = "import_chain";
+        Log.d(TAG, "Starting backup chain restore: " + filePaths);
+        
+        // Start foreground service with notification
+        startForeground(BackupNotificationManager.NOTIFICATION_ID_IMPORT_PROGRESS,
+                notificationManager.createImportProgressNotification(0, 100, "Yedek zinciri geri yükleniyor..."));
+        
+        progressTracker.startOperation("Yedek zinciri geri yükleniyor...");
+        
+        currentTask = CompletableFuture.runAsync(() -> {
+            try {
+                progressTracker.updateProgress(10, "Yedek zinciri doğrulanıyor...");
+                
+                Result<ImportDataUseCase.ImportSummary> result = restoreBackupChainUseCase.execute(filePaths).join();
+                if (result.isError()) {
+                    throw new RuntimeException(result.getErrorOrNull().getMessage());
+                }
+                
+                ImportDataUseCase.ImportSummary summary = result.getDataOrNull();
+                progressTracker.updateProgress(100, "Geri yükleme tamamlandı");
+                
+                String successMessage = String.format("Geri yükleme başarıyla tamamlandı!\n%d yedek dosyasından %d işlem ve %d kategori yüklendi.",
+                        filePaths.size(), summary.getTransactionsImported(), summary.getCategoriesImported());
+                
+                progressTracker.completeOperation(true, successMessage);
+                
+                // Show success notification
+                notificationManager.showImportSuccessNotification(summary.getTransactionsImported(), summary.getCategoriesImported());
+                
+            } catch (Exception e) {
+                Log.e(TAG, "Backup chain restore failed", e);
+                progressTracker.reportError("Geri yükleme başarısız: " + e.getMessage());
+                notificationManager.showErrorNotification("Geri yükleme başarısız", e.getMessage(), "Restore Chain");
+            } finally {
+                isOperationRunning.set(false);
+                stopForeground(true);
+                stopSelf();
+            }
+        });
+    }
+    
     /**
      * Starts import operation from file path
      */
@@ -399,35 +497,32 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
             throw new RuntimeException("Geçersiz yedek dosyası formatı");
         }
         
-        // Step 2: Load backup data
-        progressTracker.updateProgress(30, "Yedek veriler yükleniyor...");
+        // Step 2: Parse and write the records concurrently
+        ImportDataUseCase.ImportProgressListener listener = new ImportDataUseCase.ImportProgressListener() {
+            @Override
+            public void onStageProgress(int transactionsParsed, int transactionsWritten, int transactionsExpected) {
+                progressTracker.updateImportPipeline(transactionsParsed, transactionsWritten, transactionsExpected);
+            }
+            
+            @Override
+            public void onBytesRead(long bytesRead, long totalBytes) {
+                progressTracker.updateImportBytes(bytesRead, totalBytes);
+            }
+        };
         
-        BackupData backupData;
+        Result<ImportDataUseCase.ImportSummary> result;
         if (filePath != null) {
-            backupData = backupRepository.loadBackupFromFile(filePath).join();
+            result = importDataUseCase.importFromFile(filePath, replaceExisting, listener).join();
         } else {
-            backupData = backupRepository.loadBackupFromContentUri(uri).join();
+            result = importDataUseCase.importFromContentUri(uri, replaceExisting, listener).join();
         }
-        
-        progressTracker.updateImportJsonParsing();
-        
-        // Step 3: Validate backup data
-        int transactionCount = backupData.getTransactions().size();
-        int categoryCount = backupData.getCategories().size();
-        
-        progressTracker.updateImportValidation(transactionCount, transactionCount + categoryCount);
-        
-        // Step 4: Import data
-        progressTracker.updateProgress(70, "Veriler içe aktarılıyor...");
-        
-        Result<ImportDataUseCase.ImportSummary> result = importDataUseCase.execute(backupData, replaceExisting).join();
         if (result.isError()) {
             throw new RuntimeException(result.getErrorOrNull().getMessage());
         }
         
         ImportDataUseCase.ImportSummary summary = result.getDataOrNull();
-        progressTracker.updateImportDatabaseWrite(summary.getTransactionsImported() + summary.getCategoriesImported(),
-                transactionCount + categoryCount);
+        int importedCount = summary.getTransactionsImported() + summary.getCategoriesImported();
+        progressTracker.updateImportDatabaseWrite(importedCount, importedCount);
         
         progressTracker.updateProgress(100, "İçe aktarma tamamlandı");
         
@@ -475,7 +570,7 @@ public class BackupService extends Service implements BackupProgressTracker.Prog
     @Override
     public void onProgressUpdate(int progress, int max, String status, String eta) {
         // Update notification
-        if (currentOperation.equals("export") || currentOperation.equals("export_external")) {
+        if (currentOperation.startsWith("export")) {
             notificationManager.updateProgressNotification(
                     BackupNotificationManager.NOTIFICATION_ID_EXPORT_PROGRESS, progress, max, status);
         } else if (currentOperation.startsWith("import")) {
@@ -12,11 +12,13 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AlertDialog;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.walletapplication.R;
+import com.example.walletapplication.domain.entity.BackupCatalogEntry;
 import com.example.walletapplication.presentation.adapter.BackupFilesAdapter;
 import com.example.walletapplication.presentation.base.BaseFragment;
 import com.example.walletapplication.presentation.service.BackupService;
@@ -98,7 +100,8 @@ public class BackupFragment extends BaseFragment {
     }
     
     private void setupRecyclerView() {
-        backupFilesAdapter = new BackupFilesAdapter(new ArrayList<>(), this::onBackupFileSelected);
+        backupFilesAdapter = new BackupFilesAdapter(new ArrayList<>(), this::onBackupFileSelected,
+                this::showDeleteBackupDialog);
         recyclerViewBackupFiles.setLayoutManager(new LinearLayoutManager(getContext()));
         recyclerViewBackupFiles.setAdapter(backupFilesAdapter);
     }
@@ -404,6 +407,18 @@ public class BackupFragment extends BaseFragment {
             Log.d(TAG, "Available backup files updated: " + (files != null ? files.size() : 0) + " files");
             updateBackupFilesList(files);
         });
+        
+        // Results of deleting a backup from the list
+        backupViewModel.message.observe(getViewLifecycleOwner(), message -> {
+            if (message != null) {
+                showMessage(message, false);
+            }
+        });
+        backupViewModel.errorMessage.observe(getViewLifecycleOwner(), error -> {
+            if (error != null) {
+                showMessage(error, true);
+            }
+        });
     }
     
     private void updateExportUI(boolean isExporting) {
@@ -428,7 +443,7 @@ public class BackupFragment extends BaseFragment {
         }
     }
     
-    private void updateBackupFilesList(List<String> files) {
+    private void updateBackupFilesList(List<BackupCatalogEntry> files) {
         if (files != null && !files.isEmpty()) {
             backupFilesAdapter.updateFiles(files);
             recyclerViewBackupFiles.setVisibility(View.VISIBLE);
@@ -449,7 +464,7 @@ public class BackupFragment extends BaseFragment {
         intent.addCategory(Intent.CATEGORY_OPENABLE);
         
         // Add extra MIME types to support various file providers
-        String[] mimeTypes = {"application/json", "text/plain", "*/*"};
+        String[] mimeTypes = {"application/json", "application/gzip", "text/plain", "*/*"};
         intent.putExtra(Intent.EXTRA_MIME_TYPES, mimeTypes);
         
         try {
@@ -467,6 +482,17 @@ public class BackupFragment extends BaseFragment {
         startImportFromFilePath(filePath, replaceExisting);
     }
     
+    private void showDeleteBackupDialog(String filePath) {
+        new AlertDialog.Builder(requireContext())
+                .setTitle(getString(R.string.backup_delete))
+                .setMessage(getString(R.string.backup_delete_confirmation))
+                .setPositiveButton(getString(R.string.delete), (dialog, which) -> {
+                    backupViewModel.deleteBackupFile(filePath);
+                })
+                .setNegativeButton(getString(R.string.cancel), null)
+                .show();
+    }
+    
     private void showMessage(String message, boolean isError) {
         if (getContext() == null) return;
         
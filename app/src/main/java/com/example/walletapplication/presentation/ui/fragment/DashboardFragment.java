@@ -4,6 +4,7 @@ import android.view.View;
 
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.paging.PagingData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -155,7 +156,7 @@ public class DashboardFragment extends BaseFragment {
         
         viewModel.getRecentTransactions().observe(getViewLifecycleOwner(), transactions -> {
             if (transactions != null) {
-                transactionAdapter.submitList(transactions);
+                transactionAdapter.submitData(getViewLifecycleOwner().getLifecycle(), PagingData.from(transactions));
                 updateRecentTransactionsVisibility(transactions.isEmpty());
             }
         });
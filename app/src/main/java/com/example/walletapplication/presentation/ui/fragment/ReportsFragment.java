@@ -17,6 +17,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.walletapplication.R;
+import com.example.walletapplication.domain.entity.CategoryBreakdown;
 import com.example.walletapplication.presentation.base.BaseFragment;
 import com.example.walletapplication.presentation.viewmodel.ReportsViewModel;
 import com.example.walletapplication.presentation.adapter.CategoryBreakdownAdapter;
@@ -31,7 +32,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import dagger.hilt.android.AndroidEntryPoint;
 
@@ -240,14 +240,14 @@ public class ReportsFragment extends BaseFragment {
         tvNetBalance.setTextColor(color);
     }
 
-    private void updateCategoryBreakdown(Map<String, BigDecimal> categoryData) {
+    private void updateCategoryBreakdown(List<CategoryBreakdown> categoryData) {
         List<CategoryBreakdownAdapter.CategoryItem> items = new ArrayList<>();
-        BigDecimal total = categoryData.values().stream()
+        BigDecimal total = categoryData.stream()
+            .map(CategoryBreakdown::getTotalAmount)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        for (Map.Entry<String, BigDecimal> entry : categoryData.entrySet()) {
-            String category = entry.getKey();
-            BigDecimal amount = entry.getValue();
+        for (CategoryBreakdown breakdown : categoryData) {
+            BigDecimal amount = breakdown.getTotalAmount();
             
             // Calculate percentage
             double percentage = 0;
@@ -257,13 +257,13 @@ public class ReportsFragment extends BaseFragment {
             }
 
             items.add(new CategoryBreakdownAdapter.CategoryItem(
-                category,
+                breakdown.getCategory(),
                 amount,
                 percentage,
-                1 // Transaction count - we'll improve this later
+                breakdown.getTransactionCount()
             ));
         }
 
         categoryAdapter.submitList(items);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
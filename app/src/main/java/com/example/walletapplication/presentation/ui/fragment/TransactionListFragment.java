@@ -6,6 +6,7 @@ import android.widget.AutoCompleteTextView;
 
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -27,6 +28,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import dagger.hilt.android.AndroidEntryPoint;
+import kotlin.Unit;
 
 @AndroidEntryPoint
 public class TransactionListFragment extends BaseFragment {
@@ -91,6 +93,17 @@ public class TransactionListFragment extends BaseFragment {
             showToast("Transaction clicked: " + transaction.getDescription());
         });
         
+        // Empty state and errors follow the paged load state
+        transactionAdapter.addLoadStateListener(loadStates -> {
+            LoadState refresh = loadStates.getRefresh();
+            if (refresh instanceof LoadState.NotLoading) {
+                updateEmptyState(transactionAdapter.getItemCount() == 0);
+            } else if (refresh instanceof LoadState.Error) {
+                showError("Failed to load transactions: " + ((LoadState.Error) refresh).getError().getMessage());
+            }
+            return Unit.INSTANCE;
+        });
+        
         // Set long click listener for delete
         transactionAdapter.setOnItemLongClickListener(transaction -> {
             showDeleteConfirmationDialog(transaction.getId());
@@ -206,10 +219,9 @@ public class TransactionListFragment extends BaseFragment {
 
     @Override
     protected void observeViewModel() {
-        viewModel.getTransactions().observe(getViewLifecycleOwner(), transactions -> {
-            if (transactions != null) {
-                transactionAdapter.submitList(transactions);
-                updateEmptyState(transactions.isEmpty());
+        viewModel.getPagedTransactions().observe(getViewLifecycleOwner(), pagingData -> {
+            if (pagingData != null) {
+                transactionAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData);
             }
         });
         
@@ -10,7 +10,7 @@ import androidx.lifecycle.ViewModel;
 import com.example.walletapplication.R;
 import com.example.walletapplication.domain.common.AppError;
 import com.example.walletapplication.domain.common.Result;
-import com.example.walletapplication.domain.entity.BackupData;
+import com.example.walletapplication.domain.entity.BackupCatalogEntry;
 import com.example.walletapplication.domain.repository.BackupRepository;
 import com.example.walletapplication.domain.usecase.backup.ExportDataUseCase;
 import com.example.walletapplication.domain.usecase.backup.ImportDataUseCase;
@@ -54,8 +54,8 @@ public class BackupViewModel extends ViewModel {
     public final LiveData<String> errorMessage = _errorMessage;
     
     // Available backup files
-    private final MutableLiveData<List<String>> _availableBackupFiles = new MutableLiveData<>();
-    public final LiveData<List<String>> availableBackupFiles = _availableBackupFiles;
+    private final MutableLiveData<List<BackupCatalogEntry>> _availableBackupFiles = new MutableLiveData<>();
+    public final LiveData<List<BackupCatalogEntry>> availableBackupFiles = _availableBackupFiles;
     
     @Inject
     public BackupViewModel(ExportDataUseCase exportDataUseCase,
@@ -78,19 +78,8 @@ public class BackupViewModel extends ViewModel {
         _errorMessage.setValue(null);
         _message.setValue(null);
         
-        exportDataUseCase.execute()
-                .thenCompose(result -> {
-                    if (result.isSuccess()) {
-                        BackupData backupData = result.getDataOrNull();
-                        String fileName = backupRepository.getDefaultBackupFileName();
-                        return backupRepository.saveBackupToFile(backupData, fileName)
-                                .thenApply(filePath -> Result.success(filePath));
-                    } else {
-                        return java.util.concurrent.CompletableFuture.completedFuture(
-                                Result.error(result.getErrorOrNull())
-                        );
-                    }
-                })
+        String fileName = backupRepository.getDefaultBackupFileName();
+        exportDataUseCase.exportToFile(fileName, false)
                 .thenAccept(result -> {
                     // Use postValue for background thread updates
                     _isExporting.postValue(false);
@@ -117,24 +106,14 @@ public class BackupViewModel extends ViewModel {
         _errorMessage.setValue(null);
         _message.setValue(null);
         
-        exportDataUseCase.execute()
-                .thenCompose(result -> {
-                    if (result.isSuccess()) {
-                        BackupData backupData = result.getDataOrNull();
-                        String fileName = backupRepository.getDefaultBackupFileName();
-                        return backupRepository.saveBackupToExternalStorage(backupData, fileName)
-                                .thenApply(filePath -> Result.success(filePath));
-                    } else {
-                        return java.util.concurrent.CompletableFuture.completedFuture(
-                                Result.error(result.getErrorOrNull())
-                        );
-                    }
-                })
+        String fileName = backupRepository.getDefaultBackupFileName();
+        exportDataUseCase.exportToFile(fileName, true)
                 .thenAccept(result -> {
                     // Use postValue for background thread updates
                     _isExporting.postValue(false);
                     if (result.isSuccess()) {
-                        _message.postValue(context.getString(R.string.backup_file_saved) + ": " + result.getDataOrNull());
+                        _message.postValue(context.getString(R.string.backup_file_saved) + ": "
+                                + result.getDataOrNull().getFilePath());
                     } else {
                         _errorMessage.postValue(getErrorMessage(result.getErrorOrNull()));
                     }
@@ -166,18 +145,15 @@ public class BackupViewModel extends ViewModel {
                         );
                     }
                     
-                    // Load backup data
-                    return backupRepository.loadBackupFromFile(filePath)
-                            .thenCompose(backupData -> 
-                                    importDataUseCase.execute(backupData, replaceExisting)
-                                            .thenApply(importResult -> {
-                                                if (importResult.isSuccess()) {
-                                                    return Result.success(importResult.getDataOrNull());
-                                                } else {
-                                                    return Result.error(importResult.getErrorOrNull());
-                                                }
-                                            })
-                            );
+                    // Stream the file straight into the database
+                    return importDataUseCase.importFromFile(filePath, replaceExisting)
+                            .thenApply(importResult -> {
+                                if (importResult.isSuccess()) {
+                                    return Result.success(importResult.getDataOrNull());
+                                } else {
+                                    return Result.error(importResult.getErrorOrNull());
+                                }
+                            });
                 })
                 .thenAccept(result -> {
                     // Use postValue for background thread updates
@@ -219,18 +195,15 @@ public class BackupViewModel extends ViewModel {
                         );
                     }
                     
-                    // Load backup data from content URI
-                    return backupRepository.loadBackupFromContentUri(uri)
-                            .thenCompose(backupData -> 
-                                    importDataUseCase.execute(backupData, replaceExisting)
-                                            .thenApply(importResult -> {
-                                                if (importResult.isSuccess()) {
-                                                    return Result.success(importResult.getDataOrNull());
-                                                } else {
-                                                    return Result.error(importResult.getErrorOrNull());
-                                                }
-                                            })
-                            );
+                    // Stream the content straight into the database
+                    return importDataUseCase.importFromContentUri(uri, replaceExisting)
+                            .thenApply(importResult -> {
+                                if (importResult.isSuccess()) {
+                                    return Result.success(importResult.getDataOrNull());
+                                } else {
+                                    return Result.error(importResult.getErrorOrNull());
+                                }
+                            });
                 })
                 .thenAccept(result -> {
                     // Use postValue for background thread updates
@@ -257,7 +230,7 @@ public class BackupViewModel extends ViewModel {
      * Loads available backup files
      */
     public void loadAvailableBackupFiles() {
-        backupRepository.getAvailableBackupFiles()
+        backupRepository.getBackupCatalog()
                 .thenAccept(files -> _availableBackupFiles.postValue(files))
                 .exceptionally(throwable -> {
                     _availableBackupFiles.postValue(java.util.Collections.emptyList());
@@ -265,6 +238,25 @@ public class BackupViewModel extends ViewModel {
                 });
     }
     
+    /**
+     * Deletes a backup file and refreshes the list
+     */
+    public void deleteBackupFile(String filePath) {
+        backupRepository.deleteBackupFile(filePath)
+                .thenAccept(deleted -> {
+                    if (deleted) {
+                        _message.postValue(context.getString(R.string.backup_deleted));
+                    } else {
+                        _errorMessage.postValue(context.getString(R.string.backup_delete_failed));
+                    }
+                    loadAvailableBackupFiles();
+                })
+                .exceptionally(throwable -> {
+                    _errorMessage.postValue(context.getString(R.string.backup_delete_failed));
+                    return null;
+                });
+    }
+    
     /**
      * Clears messages
      */
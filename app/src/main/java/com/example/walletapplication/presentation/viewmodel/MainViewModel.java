@@ -4,6 +4,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.example.walletapplication.domain.entity.MonthlySummary;
 import com.example.walletapplication.domain.entity.Transaction;
 import com.example.walletapplication.domain.usecase.report.GetMonthlyReportUseCase;
 import com.example.walletapplication.domain.usecase.transaction.GetTransactionsUseCase;
@@ -19,6 +20,8 @@ import dagger.hilt.android.lifecycle.HiltViewModel;
 @HiltViewModel
 public class MainViewModel extends ViewModel {
     
+    private static final int RECENT_TRANSACTION_COUNT = 5;
+    
     private final GetTransactionsUseCase getTransactionsUseCase;
     private final GetMonthlyReportUseCase getMonthlyReportUseCase;
     
@@ -72,28 +75,28 @@ public class MainViewModel extends ViewModel {
         _isLoading.setValue(true);
         _error.setValue(null);
         
-        // Load recent transactions
-        getTransactionsUseCase.getAllTransactions()
+        // Load recent transactions (first page only)
+        getTransactionsUseCase.getTransactionsPage(null, RECENT_TRANSACTION_COUNT)
             .thenAccept(transactions -> {
-                _recentTransactions.postValue(transactions.subList(0, Math.min(5, transactions.size())));
+                _recentTransactions.postValue(transactions);
             })
             .exceptionally(throwable -> {
                 _error.postValue("Failed to load recent transactions: " + throwable.getMessage());
                 return null;
             });
         
-        // Load monthly report
+        // Load monthly totals (single rollup lookup)
         YearMonth currentMonth = YearMonth.now();
-        getMonthlyReportUseCase.getMonthlyReport(currentMonth)
+        getMonthlyReportUseCase.getMonthlySummary(currentMonth)
             .thenAccept(result -> {
                 _isLoading.postValue(false);
                 
                 if (result.isSuccess()) {
-                    GetMonthlyReportUseCase.MonthlyReport report = result.getDataOrNull();
-                    if (report != null) {
-                        _monthlyIncome.postValue(report.getTotalIncome());
-                        _monthlyExpense.postValue(report.getTotalExpense());
-                        _currentBalance.postValue(report.getBalance());
+                    MonthlySummary summary = result.getDataOrNull();
+                    if (summary != null) {
+                        _monthlyIncome.postValue(summary.getTotalIncome());
+                        _monthlyExpense.postValue(summary.getTotalExpense());
+                        _currentBalance.postValue(summary.getBalance());
                     }
                 } else {
                     _error.postValue("Aylık rapor yüklenirken hata oluştu");
@@ -5,18 +5,20 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.walletapplication.domain.common.AppError;
-import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.CategoryBreakdown;
+import com.example.walletapplication.domain.entity.MonthlySummary;
 import com.example.walletapplication.domain.entity.TransactionType;
+import com.example.walletapplication.domain.usecase.report.GetCategoryBreakdownUseCase;
 import com.example.walletapplication.domain.usecase.report.GetMonthlyReportUseCase;
+import com.example.walletapplication.domain.usecase.report.GetYearlyReportUseCase;
 import com.example.walletapplication.domain.usecase.transaction.GetTransactionsUseCase;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -26,17 +28,19 @@ import dagger.hilt.android.lifecycle.HiltViewModel;
 public class ReportsViewModel extends ViewModel {
     
     private final GetMonthlyReportUseCase getMonthlyReportUseCase;
+    private final GetYearlyReportUseCase getYearlyReportUseCase;
+    private final GetCategoryBreakdownUseCase getCategoryBreakdownUseCase;
     private final GetTransactionsUseCase getTransactionsUseCase;
     
     // Report data
-    private final MutableLiveData<GetMonthlyReportUseCase.MonthlyReport> _monthlyReport = new MutableLiveData<>();
-    private final MutableLiveData<List<GetMonthlyReportUseCase.MonthlyReport>> _yearlyReports = new MutableLiveData<>();
+    private final MutableLiveData<MonthlySummary> _monthlySummary = new MutableLiveData<>();
+    private final MutableLiveData<GetYearlyReportUseCase.YearlyReport> _yearlyReport = new MutableLiveData<>();
     
     // Chart data
     private final MutableLiveData<List<ChartData>> _incomeChartData = new MutableLiveData<>();
     private final MutableLiveData<List<ChartData>> _expenseChartData = new MutableLiveData<>();
-    private final MutableLiveData<Map<String, BigDecimal>> _categoryExpenseData = new MutableLiveData<>();
-    private final MutableLiveData<Map<String, BigDecimal>> _categoryIncomeData = new MutableLiveData<>();
+    private final MutableLiveData<List<CategoryBreakdown>> _categoryExpenseData = new MutableLiveData<>();
+    private final MutableLiveData<List<CategoryBreakdown>> _categoryIncomeData = new MutableLiveData<>();
     
     // UI state
     private final MutableLiveData<Boolean> _isLoading = new MutableLiveData<>();
@@ -53,8 +57,12 @@ public class ReportsViewModel extends ViewModel {
     
     @Inject
     public ReportsViewModel(GetMonthlyReportUseCase getMonthlyReportUseCase, 
+                           GetYearlyReportUseCase getYearlyReportUseCase,
+                           GetCategoryBreakdownUseCase getCategoryBreakdownUseCase,
                            GetTransactionsUseCase getTransactionsUseCase) {
         this.getMonthlyReportUseCase = getMonthlyReportUseCase;
+        this.getYearlyReportUseCase = getYearlyReportUseCase;
+        this.getCategoryBreakdownUseCase = getCategoryBreakdownUseCase;
         this.getTransactionsUseCase = getTransactionsUseCase;
         
         // Initialize with default values
@@ -72,12 +80,12 @@ public class ReportsViewModel extends ViewModel {
     }
     
     // LiveData getters
-    public LiveData<GetMonthlyReportUseCase.MonthlyReport> getMonthlyReport() {
-        return _monthlyReport;
+    public LiveData<MonthlySummary> getMonthlySummary() {
+        return _monthlySummary;
     }
     
-    public LiveData<List<GetMonthlyReportUseCase.MonthlyReport>> getYearlyReports() {
-        return _yearlyReports;
+    public LiveData<GetYearlyReportUseCase.YearlyReport> getYearlyReport() {
+        return _yearlyReport;
     }
     
     public LiveData<List<ChartData>> getIncomeChartData() {
@@ -88,11 +96,11 @@ public class ReportsViewModel extends ViewModel {
         return _expenseChartData;
     }
     
-    public LiveData<Map<String, BigDecimal>> getCategoryExpenseData() {
+    public LiveData<List<CategoryBreakdown>> getCategoryExpenseData() {
         return _categoryExpenseData;
     }
     
-    public LiveData<Map<String, BigDecimal>> getCategoryIncomeData() {
+    public LiveData<List<CategoryBreakdown>> getCategoryIncomeData() {
         return _categoryIncomeData;
     }
     
@@ -138,21 +146,27 @@ public class ReportsViewModel extends ViewModel {
         _isLoading.setValue(true);
         _error.setValue(null);
         
-        getMonthlyReportUseCase.getMonthlyReport(yearMonth)
+        // Totals come from the rollup table and the breakdown from a grouped query,
+        // so no individual transactions are loaded for the report
+        getCategoryBreakdownUseCase.execute(yearMonth)
+            .thenAccept(this::postCategoryBreakdown)
+            .exceptionally(throwable -> {
+                _error.postValue("Beklenmeyen hata: " + throwable.getMessage());
+                return null;
+            });
+        
+        getMonthlyReportUseCase.getMonthlySummary(yearMonth)
             .thenAccept(result -> {
                 _isLoading.postValue(false);
                 
                 if (result.isSuccess()) {
-                    GetMonthlyReportUseCase.MonthlyReport report = result.getDataOrNull();
-                    if (report != null) {
-                        _monthlyReport.postValue(report);
-                        _totalIncome.postValue(report.getTotalIncome());
-                        _totalExpense.postValue(report.getTotalExpense());
-                        _netBalance.postValue(report.getBalance());
-                        _transactionCount.postValue(report.getTransactions().size());
-                        
-                        // Generate chart data
-                        generateCategoryData(report.getTransactions());
+                    MonthlySummary summary = result.getDataOrNull();
+                    if (summary != null) {
+                        _monthlySummary.postValue(summary);
+                        _totalIncome.postValue(summary.getTotalIncome());
+                        _totalExpense.postValue(summary.getTotalExpense());
+                        _netBalance.postValue(summary.getBalance());
+                        _transactionCount.postValue(summary.getTransactionCount());
                     }
                 } else {
                     AppError error = result.getErrorOrNull();
@@ -175,67 +189,46 @@ public class ReportsViewModel extends ViewModel {
         _isLoading.setValue(true);
         _error.setValue(null);
         
-        List<GetMonthlyReportUseCase.MonthlyReport> yearlyReports = new ArrayList<>();
-        List<ChartData> incomeData = new ArrayList<>();
-        List<ChartData> expenseData = new ArrayList<>();
+        getCategoryBreakdownUseCase.execute(year)
+            .thenAccept(this::postCategoryBreakdown)
+            .exceptionally(throwable -> {
+                _error.postValue("Beklenmeyen hata: " + throwable.getMessage());
+                return null;
+            });
         
-        // Load reports for all 12 months
-        for (int month = 1; month <= 12; month++) {
-            YearMonth yearMonth = YearMonth.of(year, month);
-            
-            getMonthlyReportUseCase.getMonthlyReport(yearMonth)
-                .thenAccept(result -> {
-                    if (result.isSuccess()) {
-                        GetMonthlyReportUseCase.MonthlyReport report = result.getDataOrNull();
-                        if (report != null) {
-                            yearlyReports.add(report);
-                            
-                            // Add to chart data
-                            incomeData.add(new ChartData(
-                                yearMonth.getMonth().toString().substring(0, 3),
-                                report.getTotalIncome()
-                            ));
-                            expenseData.add(new ChartData(
-                                yearMonth.getMonth().toString().substring(0, 3),
-                                report.getTotalExpense()
-                            ));
-                            
-                            // If all months loaded
-                            if (yearlyReports.size() == 12) {
-                                _yearlyReports.postValue(yearlyReports);
-                                _incomeChartData.postValue(incomeData);
-                                _expenseChartData.postValue(expenseData);
-                                
-                                // Calculate yearly totals
-                                BigDecimal totalIncome = yearlyReports.stream()
-                                    .map(GetMonthlyReportUseCase.MonthlyReport::getTotalIncome)
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-                                BigDecimal totalExpense = yearlyReports.stream()
-                                    .map(GetMonthlyReportUseCase.MonthlyReport::getTotalExpense)
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-                                int totalTransactions = yearlyReports.stream()
-                                    .mapToInt(monthlyReport -> monthlyReport.getTransactions().size())
-                                    .sum();
-                                
-                                _totalIncome.postValue(totalIncome);
-                                _totalExpense.postValue(totalExpense);
-                                _netBalance.postValue(totalIncome.subtract(totalExpense));
-                                _transactionCount.postValue(totalTransactions);
-                                
-                                _isLoading.postValue(false);
-                            }
+        // One grouped query returns all 12 monthly buckets
+        getYearlyReportUseCase.getYearlyReport(year)
+            .thenAccept(result -> {
+                _isLoading.postValue(false);
+                
+                if (result.isSuccess()) {
+                    GetYearlyReportUseCase.YearlyReport report = result.getDataOrNull();
+                    if (report != null) {
+                        List<ChartData> incomeData = new ArrayList<>();
+                        List<ChartData> expenseData = new ArrayList<>();
+                        for (MonthlySummary month : report.getMonths()) {
+                            String label = month.getYearMonth().getMonth().toString().substring(0, 3);
+                            incomeData.add(new ChartData(label, month.getTotalIncome()));
+                            expenseData.add(new ChartData(label, month.getTotalExpense()));
                         }
-                    } else {
-                        _error.postValue("Yıllık rapor yüklenirken hata oluştu");
-                        _isLoading.postValue(false);
+                        
+                        _yearlyReport.postValue(report);
+                        _incomeChartData.postValue(incomeData);
+                        _expenseChartData.postValue(expenseData);
+                        _totalIncome.postValue(report.getTotalIncome());
+                        _totalExpense.postValue(report.getTotalExpense());
+                        _netBalance.postValue(report.getBalance());
+                        _transactionCount.postValue(report.getTransactionCount());
                     }
-                })
-                .exceptionally(throwable -> {
-                    _error.postValue("Beklenmeyen hata: " + throwable.getMessage());
-                    _isLoading.postValue(false);
-                    return null;
-                });
-        }
+                } else {
+                    _error.postValue("Yıllık rapor yüklenirken hata oluştu");
+                }
+            })
+            .exceptionally(throwable -> {
+                _error.postValue("Beklenmeyen hata: " + throwable.getMessage());
+                _isLoading.postValue(false);
+                return null;
+            });
     }
     
     public void setReportType(ReportType reportType) {
@@ -285,25 +278,34 @@ public class ReportsViewModel extends ViewModel {
         }
     }
     
-    private void generateCategoryData(List<Transaction> transactions) {
-        Map<String, BigDecimal> expenseByCategory = new HashMap<>();
-        Map<String, BigDecimal> incomeByCategory = new HashMap<>();
+    private void postCategoryBreakdown(Result<List<CategoryBreakdown>> result) {
+        if (result.isError()) {
+            AppError error = result.getErrorOrNull();
+            if (error != null) {
+                _error.postValue(error.getUserMessage());
+            } else {
+                _error.postValue("Kategori dağılımı yüklenirken hata oluştu");
+            }
+            return;
+        }
         
-        for (Transaction transaction : transactions) {
-            String category = transaction.getCategory();
-            BigDecimal amount = transaction.getAmount();
-            
-            if (transaction.getType() == TransactionType.EXPENSE) {
-                expenseByCategory.put(category, 
-                    expenseByCategory.getOrDefault(category, BigDecimal.ZERO).add(amount));
-            } else if (transaction.getType() == TransactionType.INCOME) {
-                incomeByCategory.put(category,
-                    incomeByCategory.getOrDefault(category, BigDecimal.ZERO).add(amount));
+        List<CategoryBreakdown> expenses = new ArrayList<>();
+        List<CategoryBreakdown> incomes = new ArrayList<>();
+        
+        List<CategoryBreakdown> breakdown = result.getDataOrNull();
+        if (breakdown != null) {
+            // Rows arrive sorted by total, so each list keeps that order
+            for (CategoryBreakdown item : breakdown) {
+                if (item.getType() == TransactionType.EXPENSE) {
+                    expenses.add(item);
+                } else if (item.getType() == TransactionType.INCOME) {
+                    incomes.add(item);
+                }
             }
         }
         
-        _categoryExpenseData.postValue(expenseByCategory);
-        _categoryIncomeData.postValue(incomeByCategory);
+        _categoryExpenseData.postValue(expenses);
+        _categoryIncomeData.postValue(incomes);
     }
     
     // Enum for report types
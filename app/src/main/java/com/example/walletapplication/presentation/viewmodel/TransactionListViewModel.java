@@ -1,14 +1,21 @@
 package com.example.walletapplication.presentation.viewmodel;
 
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.entity.TransactionPageKey;
 import com.example.walletapplication.domain.entity.TransactionType;
 import com.example.walletapplication.domain.usecase.transaction.AdvancedSearchUseCase;
 import com.example.walletapplication.domain.usecase.transaction.DeleteTransactionUseCase;
 import com.example.walletapplication.domain.usecase.transaction.GetTransactionsUseCase;
+import com.example.walletapplication.presentation.paging.TransactionPagingSource;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,6 +28,8 @@ import dagger.hilt.android.lifecycle.HiltViewModel;
 @HiltViewModel
 public class TransactionListViewModel extends ViewModel {
     
+    private static final int PAGE_SIZE = 30;
+    
     private final GetTransactionsUseCase getTransactionsUseCase;
     private final DeleteTransactionUseCase deleteTransactionUseCase;
     private final AdvancedSearchUseCase advancedSearchUseCase;
@@ -31,11 +40,23 @@ public class TransactionListViewModel extends ViewModel {
     private final MutableLiveData<String> _searchQuery = new MutableLiveData<>();
     private final MutableLiveData<TransactionType> _filterType = new MutableLiveData<>();
     private final MutableLiveData<String> _filterCategory = new MutableLiveData<>();
+    private final MediatorLiveData<PagingData<Transaction>> _pagedTransactions = new MediatorLiveData<>();
+    
+    // Unfiltered list is paged; filter and search results stay in _transactions
+    private volatile boolean showingAllTransactions = true;
+    private volatile TransactionPagingSource currentPagingSource;
     
     public LiveData<List<Transaction>> getTransactions() {
         return _transactions;
     }
     
+    /**
+     * Items for the list: pages of all transactions, or the current filter/search result as a single page
+     */
+    public LiveData<PagingData<Transaction>> getPagedTransactions() {
+        return _pagedTransactions;
+    }
+    
     public LiveData<Boolean> getIsLoading() {
         return _isLoading;
     }
@@ -68,23 +89,37 @@ public class TransactionListViewModel extends ViewModel {
         _isLoading.setValue(false);
         _searchQuery.setValue("");
         
-        loadAllTransactions();
+        Pager<TransactionPageKey, Transaction> pager = new Pager<>(
+            new PagingConfig(PAGE_SIZE, PAGE_SIZE, false),
+            () -> {
+                currentPagingSource = new TransactionPagingSource(getTransactionsUseCase);
+                return currentPagingSource;
+            });
+        LiveData<PagingData<Transaction>> allTransactions =
+            PagingLiveData.cachedIn(PagingLiveData.getLiveData(pager), this);
+        
+        _pagedTransactions.addSource(allTransactions, pagingData -> {
+            if (showingAllTransactions) {
+                _pagedTransactions.setValue(pagingData);
+            }
+        });
+        _pagedTransactions.addSource(_transactions, transactions -> {
+            if (!showingAllTransactions && transactions != null) {
+                _pagedTransactions.setValue(PagingData.from(transactions));
+            }
+        });
     }
     
     public void loadAllTransactions() {
-        _isLoading.setValue(true);
-        _error.setValue(null);
+        // May be called from a use case callback, so only post to LiveData here
+        showingAllTransactions = true;
+        _isLoading.postValue(false);
+        _error.postValue(null);
         
-        getTransactionsUseCase.getAllTransactions()
-            .thenAccept(transactions -> {
-                _transactions.postValue(transactions);
-                _isLoading.postValue(false);
-            })
-            .exceptionally(throwable -> {
-                _error.postValue("Failed to load transactions: " + throwable.getMessage());
-                _isLoading.postValue(false);
-                return null;
-            });
+        // A fresh PagingSource reloads the first page and is emitted through the pager
+        if (currentPagingSource != null) {
+            currentPagingSource.invalidate();
+        }
     }
     
     public void searchTransactions(String query) {
@@ -95,6 +130,7 @@ public class TransactionListViewModel extends ViewModel {
             return;
         }
         
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -118,6 +154,7 @@ public class TransactionListViewModel extends ViewModel {
             return;
         }
         
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -141,6 +178,7 @@ public class TransactionListViewModel extends ViewModel {
             return;
         }
         
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -157,6 +195,7 @@ public class TransactionListViewModel extends ViewModel {
     }
     
     public void filterByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -173,6 +212,7 @@ public class TransactionListViewModel extends ViewModel {
     }
     
     public void filterByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -230,6 +270,7 @@ public class TransactionListViewModel extends ViewModel {
      * @param criteria Advanced search criteria
      */
     public void performAdvancedSearch(AdvancedSearchUseCase.SearchCriteria criteria) {
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -250,6 +291,7 @@ public class TransactionListViewModel extends ViewModel {
      * @param query Text query to search for
      */
     public void performQuickSearch(String query) {
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -271,6 +313,7 @@ public class TransactionListViewModel extends ViewModel {
      * @param maxAmount Maximum amount (can be null)
      */
     public void searchByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -292,6 +335,7 @@ public class TransactionListViewModel extends ViewModel {
      * @param endDate End date (can be null)
      */
     public void searchByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        showingAllTransactions = false;
         _isLoading.setValue(true);
         _error.setValue(null);
         
@@ -0,0 +1,262 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.data.local.converter.EpochMillisConverter;
+import com.example.walletapplication.data.local.dao.CategoryDao;
+import com.example.walletapplication.data.local.dao.ChangeLogDao;
+import com.example.walletapplication.data.local.dao.TransactionDao;
+import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.data.local.entity.TombstoneEntity;
+import com.example.walletapplication.data.local.entity.TransactionEntity;
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+import com.example.walletapplication.domain.entity.CategoryType;
+import com.example.walletapplication.domain.entity.TransactionType;
+import com.example.walletapplication.domain.repository.BackupRepository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BinaryBackupRoundTripTest {
+
+    @Mock
+    private TransactionDao mockTransactionDao;
+
+    @Mock
+    private CategoryDao mockCategoryDao;
+
+    @Mock
+    private ChangeLogDao mockChangeLogDao;
+
+    @Test
+    public void writeThenRead_ShouldRestoreEveryFieldAcrossBlocks() throws IOException {
+        // Arrange
+        TransactionEntity rent = transaction(30L, -125050L, "Kira", "home", LocalDateTime.of(2024, 3, 1, 9, 0),
+                TransactionType.EXPENSE);
+        rent.setPaymentMethod("card");
+        rent.setVendor("Emlak");
+        TransactionEntity salary = transaction(20L, 5000000L, null, "salary", LocalDateTime.of(2024, 2, 28, 18, 30),
+                TransactionType.INCOME);
+        salary.setSource("Şirket");
+        salary.setIncomeType("monthly");
+        TransactionEntity market = transaction(10L, 9999L, "Market", "home", LocalDateTime.of(2024, 2, 27, 12, 0),
+                TransactionType.EXPENSE);
+        market.setVendor("Emlak");
+
+        when(mockTransactionDao.getFirstTransactionPage(2)).thenReturn(Arrays.asList(rent, salary));
+        when(mockTransactionDao.getTransactionPageAfter(salary.getDate(), 20L, 2))
+                .thenReturn(Collections.singletonList(market));
+
+        CategoryEntity home = new CategoryEntity();
+        home.setId(7L);
+        home.setName("home");
+        home.setDisplayName("Ev");
+        home.setType(CategoryType.EXPENSE);
+        home.setDefault(true);
+        home.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123456789));
+        when(mockCategoryDao.getAllCategories()).thenReturn(Collections.singletonList(home));
+
+        BackupMetadata metadata = new BackupMetadata.Builder()
+                .setAppVersion("1.0")
+                .setTransactionCount(3)
+                .setCategoryCount(1)
+                .build();
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryBackupWriter writer = new BinaryBackupWriter(mockTransactionDao, mockCategoryDao, mockChangeLogDao, 2);
+        List<Integer> progress = new ArrayList<>();
+        writer.setProgressListener(progress::add);
+        writer.write(out, "1.0", LocalDateTime.of(2024, 3, 2, 10, 0), metadata);
+
+        InputStream in = new BufferedInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertTrue(BinaryBackupReader.isBinaryBackup(in));
+        RecordingVisitor visitor = new RecordingVisitor();
+        new BinaryBackupReader().read(in, visitor);
+
+        // Assert
+        assertEquals(3, writer.getTransactionsWritten());
+        assertEquals(1, writer.getCategoriesWritten());
+        // One report per transaction block of two rows, then one for the categories
+        assertEquals(Arrays.asList(2, 3, 4), progress);
+        assertEquals("1.0", visitor.version);
+        assertEquals(LocalDateTime.of(2024, 3, 2, 10, 0), visitor.createdAt);
+        assertEquals(3, visitor.metadata.getTransactionCount());
+
+        assertEquals(3, visitor.transactions.size());
+        BackupTransaction restoredRent = visitor.transactions.get(0);
+        assertEquals(Long.valueOf(30L), restoredRent.getId());
+        assertEquals(new BigDecimal("-1250.50"), restoredRent.getAmount());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 9, 0), restoredRent.getDate());
+        assertEquals("EXPENSE", restoredRent.getType());
+        assertEquals("card", restoredRent.getPaymentMethod());
+        assertEquals("Emlak", restoredRent.getVendor());
+
+        BackupTransaction restoredSalary = visitor.transactions.get(1);
+        assertNull(restoredSalary.getDescription());
+        assertEquals("Şirket", restoredSalary.getSource());
+        assertEquals("monthly", restoredSalary.getIncomeType());
+        assertEquals("INCOME", restoredSalary.getType());
+
+        // Second block reuses string table entries from the first
+        BackupTransaction restoredMarket = visitor.transactions.get(2);
+        assertEquals("home", restoredMarket.getCategory());
+        assertEquals("Emlak", restoredMarket.getVendor());
+        assertEquals(new BigDecimal("99.99"), restoredMarket.getAmount());
+
+        assertEquals(1, visitor.categories.size());
+        BackupCategory restoredHome = visitor.categories.get(0);
+        assertEquals(Long.valueOf(7L), restoredHome.getId());
+        assertEquals("EXPENSE", restoredHome.getType());
+        assertTrue(restoredHome.isDefault());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123456789), restoredHome.getCreatedAt());
+        assertNull(restoredHome.getUpdatedAt());
+
+        assertTrue(visitor.hasTransactions);
+        assertTrue(visitor.hasCategories);
+
+        // The trailer matches a digest recomputed from the decoded records
+        BackupDigest digest = new BackupDigest();
+        for (BackupTransaction transaction : visitor.transactions) {
+            digest.updateTransaction(transaction);
+        }
+        digest.updateCategory(restoredHome);
+        assertEquals(64, writer.getChecksum().length());
+        assertEquals(writer.getChecksum(), visitor.checksum);
+        assertEquals(writer.getChecksum(), digest.toHex());
+    }
+
+    @Test
+    public void writeIncremental_ShouldCarryChangedRowsDeletionsAndSequences() throws IOException {
+        // Arrange
+        TransactionEntity first = transaction(4L, 1500L, "Kahve", "food", LocalDateTime.of(2024, 3, 3, 8, 0),
+                TransactionType.EXPENSE);
+        first.setChangeSeq(41L);
+        TransactionEntity second = transaction(2L, 2500L, "Taksi", "transport", LocalDateTime.of(2024, 3, 1, 22, 0),
+                TransactionType.EXPENSE);
+        second.setChangeSeq(43L);
+        TransactionEntity third = transaction(9L, 700L, null, "food", LocalDateTime.of(2024, 3, 4, 13, 0),
+                TransactionType.EXPENSE);
+        third.setChangeSeq(44L);
+
+        when(mockTransactionDao.getTransactionsChangedAfter(40L, 2)).thenReturn(Arrays.asList(first, second));
+        when(mockTransactionDao.getTransactionsChangedAfter(43L, 2)).thenReturn(Collections.singletonList(third));
+        when(mockCategoryDao.getCategoriesChangedSince(40L)).thenReturn(Collections.emptyList());
+        when(mockChangeLogDao.getTombstonesChangedSince(40L)).thenReturn(Arrays.asList(
+                new TombstoneEntity(BackupDeletion.TYPE_TRANSACTION, "3", 42L),
+                new TombstoneEntity(BackupDeletion.TYPE_CATEGORY, "travel", 45L)));
+
+        BackupMetadata metadata = new BackupMetadata.Builder()
+                .setTransactionCount(3)
+                .setChangeSeq(45L)
+                .setBaseChangeSeq(40L)
+                .build();
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryBackupWriter writer = new BinaryBackupWriter(mockTransactionDao, mockCategoryDao, mockChangeLogDao, 2);
+        writer.write(out, "1.0", LocalDateTime.of(2024, 3, 5, 10, 0), metadata);
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        new BinaryBackupReader().read(new ByteArrayInputStream(out.toByteArray()), visitor);
+
+        // Assert
+        assertEquals(Long.valueOf(45L), visitor.metadata.getChangeSeq());
+        assertEquals(Long.valueOf(40L), visitor.metadata.getBaseChangeSeq());
+        assertTrue(visitor.metadata.isIncremental());
+
+        assertEquals(3, visitor.transactions.size());
+        assertEquals(Long.valueOf(4L), visitor.transactions.get(0).getId());
+        assertEquals(Long.valueOf(2L), visitor.transactions.get(1).getId());
+        assertEquals(Long.valueOf(9L), visitor.transactions.get(2).getId());
+        assertTrue(visitor.categories.isEmpty());
+
+        assertEquals(Arrays.asList(
+                new BackupDeletion(BackupDeletion.TYPE_TRANSACTION, "3"),
+                new BackupDeletion(BackupDeletion.TYPE_CATEGORY, "travel")), visitor.deletions);
+    }
+
+    @Test
+    public void isBinaryBackup_JsonContent_ShouldReturnFalseWithoutConsuming() throws IOException {
+        InputStream in = new BufferedInputStream(new ByteArrayInputStream("{\"version\":\"1.0\"}".getBytes()));
+
+        assertFalse(BinaryBackupReader.isBinaryBackup(in));
+        assertEquals('{', in.read());
+    }
+
+    private static TransactionEntity transaction(Long id, long amountMinor, String description, String category,
+                                                 LocalDateTime date, TransactionType type) {
+        TransactionEntity entity = new TransactionEntity();
+        entity.setId(id);
+        entity.setAmountMinor(amountMinor);
+        entity.setDescription(description);
+        entity.setCategory(category);
+        entity.setDate(EpochMillisConverter.toEpochMillis(date));
+        entity.setType(type);
+        return entity;
+    }
+
+    private static class RecordingVisitor implements BackupRepository.BackupVisitor {
+        String version;
+        LocalDateTime createdAt;
+        BackupMetadata metadata;
+        final List<BackupTransaction> transactions = new ArrayList<>();
+        final List<BackupCategory> categories = new ArrayList<>();
+        final List<BackupDeletion> deletions = new ArrayList<>();
+        String checksum;
+        boolean hasTransactions;
+        boolean hasCategories;
+
+        @Override
+        public void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata) {
+            this.version = version;
+            this.createdAt = createdAt;
+            this.metadata = metadata;
+        }
+
+        @Override
+        public void onTransaction(BackupTransaction transaction) {
+            transactions.add(transaction);
+        }
+
+        @Override
+        public void onCategory(BackupCategory category) {
+            categories.add(category);
+        }
+
+        @Override
+        public void onDeletion(BackupDeletion deletion) {
+            deletions.add(deletion);
+        }
+
+        @Override
+        public void onChecksum(String checksum) {
+            this.checksum = checksum;
+        }
+
+        @Override
+        public void onEnd(boolean hasTransactions, boolean hasCategories) {
+            this.hasTransactions = hasTransactions;
+            this.hasCategories = hasCategories;
+        }
+    }
+}
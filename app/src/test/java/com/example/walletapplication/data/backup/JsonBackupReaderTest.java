@@ -0,0 +1,121 @@
+package com.example.walletapplication.data.backup;
+
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+import com.example.walletapplication.domain.repository.BackupRepository;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for JsonBackupReader class.
+ */
+public class JsonBackupReaderTest {
+
+    private static final String BACKUP_JSON = "{\n"
+            + "  \"version\": \"1.0\",\n"
+            + "  \"createdAt\": \"2024-03-01T10:15:30\",\n"
+            + "  \"metadata\": {\"appVersion\": \"1.0\", \"transactionCount\": 2, \"categoryCount\": 1},\n"
+            + "  \"transactions\": [\n"
+            + "    {\"id\": 1, \"amount\": \"125.50\", \"description\": \"Market\", \"category\": \"food\","
+            + " \"date\": \"2024-02-28T18:00:00\", \"type\": \"EXPENSE\", \"vendor\": \"A101\"},\n"
+            + "    {\"id\": 2, \"amount\": \"5000.00\", \"category\": \"salary\","
+            + " \"date\": \"2024-02-01T09:00:00\", \"type\": \"INCOME\", \"unknownField\": [1, 2]}\n"
+            + "  ],\n"
+            + "  \"categories\": [\n"
+            + "    {\"id\": 7, \"name\": \"food\", \"displayName\": \"Yemek\", \"type\": \"EXPENSE\", \"isDefault\": true}\n"
+            + "  ]\n"
+            + "}";
+
+    @Test
+    public void read_ShouldVisitHeaderRecordsAndEndInOrder() throws IOException {
+        RecordingVisitor visitor = read(BACKUP_JSON);
+
+        assertEquals("1.0", visitor.version);
+        assertEquals(LocalDateTime.of(2024, 3, 1, 10, 15, 30), visitor.createdAt);
+        assertEquals(2, visitor.metadata.getTransactionCount());
+        assertEquals(1, visitor.metadata.getCategoryCount());
+
+        assertEquals(2, visitor.transactions.size());
+        BackupTransaction expense = visitor.transactions.get(0);
+        assertEquals(Long.valueOf(1), expense.getId());
+        assertEquals(new BigDecimal("125.50"), expense.getAmount());
+        assertEquals(LocalDateTime.of(2024, 2, 28, 18, 0), expense.getDate());
+        assertEquals("EXPENSE", expense.getType());
+        assertEquals("A101", expense.getVendor());
+        assertNull(visitor.transactions.get(1).getDescription());
+
+        assertEquals(1, visitor.categories.size());
+        assertEquals("Yemek", visitor.categories.get(0).getDisplayName());
+        assertTrue(visitor.categories.get(0).isDefault());
+
+        assertTrue(visitor.hasTransactions);
+        assertTrue(visitor.hasCategories);
+        assertEquals(1, visitor.headerCalls);
+    }
+
+    @Test
+    public void read_MissingCategories_ShouldReportIncompleteFile() throws IOException {
+        RecordingVisitor visitor = read("{\"version\": \"1.0\", \"transactions\": []}");
+
+        assertEquals("1.0", visitor.version);
+        assertTrue(visitor.hasTransactions);
+        assertFalse(visitor.hasCategories);
+    }
+
+    @Test(expected = IOException.class)
+    public void read_TruncatedFile_ShouldThrow() throws IOException {
+        read("{\"version\": \"1.0\", \"transactions\": [{\"id\": 1, \"amount\": \"1.00\"");
+    }
+
+    private static RecordingVisitor read(String json) throws IOException {
+        RecordingVisitor visitor = new RecordingVisitor();
+        new JsonBackupReader().read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), visitor);
+        return visitor;
+    }
+
+    private static class RecordingVisitor implements BackupRepository.BackupVisitor {
+        String version;
+        LocalDateTime createdAt;
+        BackupMetadata metadata;
+        int headerCalls;
+        final List<BackupTransaction> transactions = new ArrayList<>();
+        final List<BackupCategory> categories = new ArrayList<>();
+        boolean hasTransactions;
+        boolean hasCategories;
+
+        @Override
+        public void onHeader(String version, LocalDateTime createdAt, BackupMetadata metadata) {
+            this.version = version;
+            this.createdAt = createdAt;
+            this.metadata = metadata;
+            headerCalls++;
+        }
+
+        @Override
+        public void onTransaction(BackupTransaction transaction) {
+            transactions.add(transaction);
+        }
+
+        @Override
+        public void onCategory(BackupCategory category) {
+            categories.add(category);
+        }
+
+        @Override
+        public void onEnd(boolean hasTransactions, boolean hasCategories) {
+            this.hasTransactions = hasTransactions;
+            this.hasCategories = hasCategories;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.walletapplication.data.local.converter;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AmountConverter class.
+ */
+public class AmountConverterTest {
+
+    @Test
+    public void toMinorUnits_ShouldScaleToKurus() {
+        assertEquals(12345L, AmountConverter.toMinorUnits(new BigDecimal("123.45")));
+        assertEquals(2000L, AmountConverter.toMinorUnits(new BigDecimal("20")));
+        assertEquals(0L, AmountConverter.toMinorUnits(null));
+    }
+
+    @Test
+    public void toMinorUnits_ShouldRoundHalfUp() {
+        assertEquals(101L, AmountConverter.toMinorUnits(new BigDecimal("1.005")));
+        assertEquals(100L, AmountConverter.toMinorUnits(new BigDecimal("1.004")));
+    }
+
+    @Test
+    public void fromMinorUnits_ShouldRoundTrip() {
+        BigDecimal amount = new BigDecimal("99.90");
+        assertEquals(amount, AmountConverter.fromMinorUnits(AmountConverter.toMinorUnits(amount)));
+    }
+
+    @Test
+    public void parseToMinorUnits_ShouldCompareNumerically() {
+        // TEXT comparison would order "100" before "20"
+        assertTrue(AmountConverter.parseToMinorUnits("100") > AmountConverter.parseToMinorUnits("20"));
+        assertEquals(0L, AmountConverter.parseToMinorUnits(" "));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.walletapplication.data.local.converter;
+
+import com.example.walletapplication.data.local.entity.TransactionEntity;
+import com.example.walletapplication.domain.entity.TransactionType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TransactionFingerprint class.
+ */
+public class TransactionFingerprintTest {
+
+    @Test
+    public void of_ShouldIgnoreIdAndChangeSeq() {
+        TransactionEntity first = expense(1L, "Market");
+        TransactionEntity second = expense(42L, "Market");
+        second.setChangeSeq(7L);
+
+        assertEquals(TransactionFingerprint.of(first), TransactionFingerprint.of(second));
+    }
+
+    @Test
+    public void of_ShouldMatchColumnOverload() {
+        TransactionEntity entity = expense(1L, "Market");
+
+        assertEquals(TransactionFingerprint.of(entity),
+                TransactionFingerprint.of(1250L, 1700000000000L, "EXPENSE", "food", "Market", "card",
+                        null, null, null));
+    }
+
+    @Test
+    public void of_ShouldDifferWhenAnyFieldDiffers() {
+        long base = TransactionFingerprint.of(expense(1L, "Market"));
+
+        assertNotEquals(base, TransactionFingerprint.of(expense(1L, "Marke")));
+        assertNotEquals(base, TransactionFingerprint.of(1251L, 1700000000000L, "EXPENSE", "food", "Market",
+                "card", null, null, null));
+        assertNotEquals(base, TransactionFingerprint.of(1250L, 1700000000001L, "EXPENSE", "food", "Market",
+                "card", null, null, null));
+        assertNotEquals(base, TransactionFingerprint.of(1250L, 1700000000000L, "INCOME", "food", "Market",
+                "card", null, null, null));
+    }
+
+    @Test
+    public void of_ShouldNotShiftTextBetweenFields() {
+        // Length prefixes keep "ab" + "c" apart from "a" + "bc", and null apart from ""
+        assertNotEquals(
+                TransactionFingerprint.of(0L, 0L, null, "ab", "c", null, null, null, null),
+                TransactionFingerprint.of(0L, 0L, null, "a", "bc", null, null, null, null));
+        assertNotEquals(
+                TransactionFingerprint.of(0L, 0L, null, null, "", null, null, null, null),
+                TransactionFingerprint.of(0L, 0L, null, "", null, null, null, null, null));
+    }
+
+    private static TransactionEntity expense(Long id, String description) {
+        TransactionEntity entity = new TransactionEntity();
+        entity.setId(id);
+        entity.setAmountMinor(1250L);
+        entity.setDate(1700000000000L);
+        entity.setType(TransactionType.EXPENSE);
+        entity.setCategory("food");
+        entity.setDescription(description);
+        entity.setPaymentMethod("card");
+        return entity;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.walletapplication.data.local.database;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the data conversions in WalletMigrations. Runs under Robolectric because the
+ * migrations log through android.util.Log.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class WalletMigrationsTest {
+    private SupportSQLiteDatabase db;
+    private SupportSQLiteStatement update;
+    private Cursor cursor;
+
+    @Before
+    public void setUp() {
+        db = mock(SupportSQLiteDatabase.class);
+        update = mock(SupportSQLiteStatement.class);
+        cursor = mock(Cursor.class);
+        when(db.compileStatement(anyString())).thenReturn(update);
+        when(db.query("SELECT id, amount FROM `transactions`")).thenReturn(cursor);
+    }
+
+    @Test
+    public void migrate2To3_MalformedAmount_ShouldStoreZeroAndFinish() {
+        // Arrange: one valid row, then one written by a build that stored formatted text
+        when(cursor.moveToNext()).thenReturn(true, true, false);
+        when(cursor.getLong(0)).thenReturn(1L, 2L);
+        when(cursor.isNull(1)).thenReturn(false);
+        when(cursor.getString(1)).thenReturn("12.50", "12,50 TL");
+
+        // Act
+        WalletMigrations.MIGRATION_2_3.migrate(db);
+
+        // Assert
+        verify(update).bindLong(1, 1250L);
+        verify(update).bindLong(1, 0L);
+        verify(update, times(2)).executeUpdateDelete();
+        verify(db).execSQL("ALTER TABLE `transactions_new` RENAME TO `transactions`");
+    }
+
+    @Test
+    public void migrate2To3_NullAmount_ShouldStoreZero() {
+        // Arrange
+        when(cursor.moveToNext()).thenReturn(true, false);
+        when(cursor.getLong(0)).thenReturn(3L);
+        when(cursor.isNull(1)).thenReturn(true);
+
+        // Act
+        WalletMigrations.MIGRATION_2_3.migrate(db);
+
+        // Assert
+        verify(update).bindLong(1, 0L);
+        verify(update).bindLong(2, 3L);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.walletapplication.data.local.query;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FtsMatchQuery class.
+ */
+public class FtsMatchQueryTest {
+
+    @Test
+    public void build_SingleToken_ShouldUsePrefixTerm() {
+        assertEquals("\"mark\"*", FtsMatchQuery.build("mark"));
+    }
+
+    @Test
+    public void build_MultipleTokens_ShouldRequireAllTerms() {
+        assertEquals("\"market\"* \"alışveriş\"*", FtsMatchQuery.build("  market   alışveriş "));
+    }
+
+    @Test
+    public void build_OperatorsAndQuotes_ShouldBeTreatedAsSeparators() {
+        assertEquals("\"a\"* \"b\"* \"c\"*", FtsMatchQuery.build("a\" -b* (c):"));
+    }
+
+    @Test
+    public void build_BlankInput_ShouldReturnNull() {
+        assertNull(FtsMatchQuery.build(null));
+        assertNull(FtsMatchQuery.build("  "));
+        assertNull(FtsMatchQuery.build("*\"()"));
+    }
+}
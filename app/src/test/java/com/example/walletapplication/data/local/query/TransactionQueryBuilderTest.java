@@ -0,0 +1,86 @@
+package com.example.walletapplication.data.local.query;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+
+import com.example.walletapplication.domain.entity.SearchFilters;
+import com.example.walletapplication.domain.entity.TransactionType;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TransactionQueryBuilder class.
+ */
+public class TransactionQueryBuilderTest {
+
+    @Test
+    public void build_NoCriteria_ShouldSelectAllOrderedByDate() {
+        SimpleSQLiteQuery query = TransactionQueryBuilder.build(null, null);
+
+        assertEquals("SELECT transactions.* FROM transactions ORDER BY transactions.date DESC", query.getSql());
+        assertEquals(0, query.getArgCount());
+    }
+
+    @Test
+    public void build_TextQuery_ShouldJoinFtsTable() {
+        SimpleSQLiteQuery query = TransactionQueryBuilder.build("market", SearchFilters.empty());
+
+        assertTrue(query.getSql().contains("JOIN transactions_fts ON transactions.id = transactions_fts.docid"));
+        assertTrue(query.getSql().contains("WHERE transactions_fts MATCH ?"));
+        assertEquals(1, query.getArgCount());
+    }
+
+    @Test
+    public void build_TextQuery_ShouldRankByMatchCountThenDate() {
+        SimpleSQLiteQuery query = TransactionQueryBuilder.build("market", null);
+
+        assertTrue(query.getSql().endsWith(
+                " ORDER BY " + FtsMatchQuery.MATCH_COUNT_SQL + " DESC, transactions.date DESC"));
+        assertFalse(query.getSql().contains("ORDER BY length(offsets"));
+    }
+
+    @Test
+    public void build_AllFilters_ShouldBindEveryPredicate() {
+        SearchFilters filters = new SearchFilters.Builder()
+                .setCategory("food")
+                .setType(TransactionType.EXPENSE)
+                .setMinAmount(new BigDecimal("10"))
+                .setMaxAmount(new BigDecimal("20.50"))
+                .setStartDate(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .setEndDate(LocalDateTime.of(2024, 1, 31, 23, 59))
+                .build();
+
+        SimpleSQLiteQuery query = TransactionQueryBuilder.build(null, filters);
+
+        assertFalse(query.getSql().contains("transactions_fts"));
+        assertTrue(query.getSql().contains("transactions.category = ? COLLATE NOCASE"));
+        assertTrue(query.getSql().contains("transactions.type = ?"));
+        assertTrue(query.getSql().contains("transactions.amountMinor >= ? AND transactions.amountMinor <= ?"));
+        assertTrue(query.getSql().contains("transactions.date >= ? AND transactions.date <= ?"));
+        assertEquals(6, query.getArgCount());
+    }
+
+    @Test
+    public void build_MixedCaseCategory_ShouldMatchIgnoringCase() {
+        SearchFilters filters = new SearchFilters.Builder()
+                .setCategory("  MaRKet ")
+                .build();
+
+        SimpleSQLiteQuery query = TransactionQueryBuilder.build(null, filters);
+
+        assertEquals("SELECT transactions.* FROM transactions "
+                + "WHERE transactions.category = ? COLLATE NOCASE ORDER BY transactions.date DESC", query.getSql());
+        assertEquals(1, query.getArgCount());
+    }
+
+    @Test
+    public void build_BlankTextQuery_ShouldNotUseFullText() {
+        SimpleSQLiteQuery query = TransactionQueryBuilder.build("  ", null);
+
+        assertFalse(query.getSql().contains("MATCH"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.walletapplication.data.repository;
+
+import com.example.walletapplication.data.local.entity.CategoryEntity;
+import com.example.walletapplication.domain.entity.Category;
+import com.example.walletapplication.domain.entity.CategoryType;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for CategorySnapshot class.
+ */
+public class CategorySnapshotTest {
+
+    @Test
+    public void getByType_ShouldIncludeBothCategoriesInOrder() {
+        // Arrange
+        CategorySnapshot snapshot = CategorySnapshot.of(Arrays.asList(
+                entity(1L, "food", CategoryType.EXPENSE, true),
+                entity(2L, "other", CategoryType.BOTH, true),
+                entity(3L, "salary", CategoryType.INCOME, true),
+                entity(4L, "pets", CategoryType.EXPENSE, false)));
+
+        // Act
+        List<Category> expenses = snapshot.getByType(CategoryType.EXPENSE);
+
+        // Assert
+        assertEquals(Arrays.asList("food", "other", "pets"), names(expenses));
+        assertEquals(Arrays.asList("other"), names(snapshot.getByType(CategoryType.BOTH)));
+    }
+
+    @Test
+    public void lookups_ShouldIndexByIdNameAndDefaultFlag() {
+        // Arrange
+        CategorySnapshot snapshot = CategorySnapshot.of(Arrays.asList(
+                entity(1L, "food", CategoryType.EXPENSE, true),
+                entity(4L, "pets", CategoryType.EXPENSE, false)));
+
+        // Assert
+        assertEquals("pets", snapshot.getById(4L).getName());
+        assertEquals(Long.valueOf(1L), snapshot.getByName("food").getId());
+        assertNull(snapshot.getByName("travel"));
+        assertEquals(Arrays.asList("food"), names(snapshot.getDefaults()));
+        assertEquals(Arrays.asList("pets"), names(snapshot.getCustom()));
+        assertEquals(2, snapshot.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getAll_ShouldBeUnmodifiable() {
+        CategorySnapshot snapshot = CategorySnapshot.of(Arrays.asList(
+                entity(1L, "food", CategoryType.EXPENSE, true)));
+
+        snapshot.getAll().clear();
+    }
+
+    private static CategoryEntity entity(Long id, String name, CategoryType type, boolean isDefault) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        CategoryEntity entity = new CategoryEntity(name, name, type, "ic_" + name, "#000000", isDefault, now, now);
+        entity.setId(id);
+        return entity;
+    }
+
+    private static List<String> names(List<Category> categories) {
+        List<String> names = new ArrayList<>();
+        for (Category category : categories) {
+            names.add(category.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.walletapplication.data.repository;
+
+import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CoalescingTransactionRepositoryTest {
+
+    @Mock
+    private TransactionRepository mockDelegate;
+
+    private CoalescingTransactionRepository repository;
+
+    @Before
+    public void setUp() {
+        repository = new CoalescingTransactionRepository(mockDelegate);
+    }
+
+    @Test
+    public void getTransactionsByAmountRange_SameAmountDifferentScale_ShouldShareOneRead() {
+        // Arrange
+        CompletableFuture<List<Transaction>> pending = new CompletableFuture<>();
+        when(mockDelegate.getTransactionsByAmountRange(any(), any())).thenReturn(pending);
+
+        // Act
+        CompletableFuture<List<Transaction>> first = repository.getTransactionsByAmountRange(
+                new BigDecimal("10"), new BigDecimal("20.5"));
+        CompletableFuture<List<Transaction>> second = repository.getTransactionsByAmountRange(
+                new BigDecimal("10.00"), new BigDecimal("20.50"));
+        pending.complete(new ArrayList<>());
+
+        // Assert
+        assertTrue(first.join().isEmpty());
+        assertTrue(second.join().isEmpty());
+        verify(mockDelegate, times(1)).getTransactionsByAmountRange(any(), any());
+        assertEquals(1L, repository.getCoalescedReadCount());
+        assertEquals(1L, repository.getExecutedReadCount());
+    }
+
+    @Test
+    public void getTransactionsByAmountRange_NullBounds_ShouldReachDelegate() {
+        // Arrange
+        when(mockDelegate.getTransactionsByAmountRange(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+
+        // Act
+        List<Transaction> result = repository.getTransactionsByAmountRange(null, null).join();
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(mockDelegate).getTransactionsByAmountRange(null, null);
+    }
+}
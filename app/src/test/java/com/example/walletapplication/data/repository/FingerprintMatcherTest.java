@@ -0,0 +1,73 @@
+package com.example.walletapplication.data.repository;
+
+import com.example.walletapplication.data.local.entity.TransactionEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FingerprintMatcher class.
+ */
+public class FingerprintMatcherTest {
+
+    @Test
+    public void selectMissing_DuplicatesAcrossBatches_ShouldMatchStoredRowsOnce() {
+        // Arrange: two identical rows are stored, the import holds three split over two batches
+        List<List<Long>> lookups = new ArrayList<>();
+        FingerprintMatcher matcher = new FingerprintMatcher(new HashMap<>(), lookup -> {
+            lookups.add(lookup);
+            return Arrays.asList(42L, 42L);
+        });
+
+        // Act
+        List<TransactionEntity> firstMissing = matcher.selectMissing(Arrays.asList(entity(42L)));
+        List<TransactionEntity> secondMissing = matcher.selectMissing(Arrays.asList(entity(42L), entity(42L)));
+
+        // Assert
+        assertTrue(firstMissing.isEmpty());
+        assertEquals(1, secondMissing.size());
+        // The stored count is read once and carried into the second batch
+        assertEquals(Collections.singletonList(Arrays.asList(42L)), lookups);
+    }
+
+    @Test
+    public void selectMissing_SharedState_ShouldContinueAcrossMatchers() {
+        // Arrange: each repository call builds its own matcher over the import's map
+        Map<Long, Integer> unmatched = new HashMap<>();
+        new FingerprintMatcher(unmatched, lookup -> Arrays.asList(7L))
+                .selectMissing(Arrays.asList(entity(7L)));
+
+        // Act
+        List<TransactionEntity> missing = new FingerprintMatcher(unmatched, lookup -> Arrays.asList(7L))
+                .selectMissing(Arrays.asList(entity(7L)));
+
+        // Assert
+        assertEquals(1, missing.size());
+    }
+
+    @Test
+    public void selectMissing_NothingStored_ShouldKeepEveryRow() {
+        // Arrange
+        FingerprintMatcher matcher = new FingerprintMatcher(new HashMap<>(), lookup -> new ArrayList<>());
+
+        // Act
+        List<TransactionEntity> missing = matcher.selectMissing(Arrays.asList(entity(1L), entity(1L), entity(2L)));
+
+        // Assert
+        assertEquals(3, missing.size());
+    }
+
+    private static TransactionEntity entity(long fingerprint) {
+        TransactionEntity entity = new TransactionEntity();
+        entity.setFingerprint(fingerprint);
+        return entity;
+    }
+}
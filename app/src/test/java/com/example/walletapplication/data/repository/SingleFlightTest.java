@@ -0,0 +1,97 @@
+package com.example.walletapplication.data.repository;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SingleFlight class.
+ */
+public class SingleFlightTest {
+
+    @Test
+    public void execute_SameKeyInFlight_ShouldShareOneCall() {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> first = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        pending.complete("result");
+
+        // Assert
+        assertEquals("result", first.join());
+        assertEquals("result", second.join());
+        assertEquals(1, calls.get());
+        assertEquals(1L, singleFlight.getHitCount());
+        assertEquals(1L, singleFlight.getMissCount());
+    }
+
+    @Test
+    public void execute_AfterCompletion_ShouldStartNewCall() {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight();
+        singleFlight.execute("key", () -> CompletableFuture.completedFuture("old")).join();
+
+        // Act
+        String result = singleFlight.execute("key", () -> CompletableFuture.completedFuture("new")).join();
+
+        // Assert
+        assertEquals("new", result);
+        assertEquals(0L, singleFlight.getHitCount());
+        assertEquals(2L, singleFlight.getMissCount());
+    }
+
+    @Test
+    public void forgetAll_ShouldStartNewCallWhileOldOneRuns() {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight();
+        CompletableFuture<String> stale = new CompletableFuture<>();
+        singleFlight.execute("key", () -> stale);
+
+        // Act
+        singleFlight.forgetAll();
+        CompletableFuture<String> fresh = singleFlight.execute("key",
+                () -> CompletableFuture.completedFuture("fresh"));
+
+        // Assert
+        assertEquals("fresh", fresh.join());
+        assertEquals(2L, singleFlight.getMissCount());
+    }
+
+    @Test
+    public void execute_FailedCall_ShouldFailAllCallersAndReleaseKey() {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> pending);
+        CompletableFuture<String> second = singleFlight.execute("key", () -> pending);
+
+        // Act
+        pending.completeExceptionally(new IllegalStateException("boom"));
+
+        // Assert
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        try {
+            second.join();
+            fail("Expected the shared failure");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals("retry", singleFlight.execute("key",
+                () -> CompletableFuture.completedFuture("retry")).join());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.walletapplication.data.repository;
+
+import android.content.ComponentCallbacks2;
+
+import com.example.walletapplication.domain.entity.Expense;
+import com.example.walletapplication.domain.entity.Transaction;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TransactionCache class.
+ */
+public class TransactionCacheTest {
+
+    @Test
+    public void get_AfterPut_ShouldReturnCopyOfList() {
+        // Arrange
+        TransactionCache cache = new TransactionCache(10);
+        List<Transaction> transactions = transactions(2);
+        cache.put("all", cache.getVersion(), transactions);
+
+        // Act
+        List<Transaction> first = cache.get("all");
+        first.clear();
+        List<Transaction> second = cache.get("all");
+
+        // Assert
+        assertEquals(transactions, second);
+    }
+
+    @Test
+    public void put_AfterInvalidate_ShouldDropResultReadBeforeWrite() {
+        // Arrange
+        TransactionCache cache = new TransactionCache(10);
+        long versionBeforeWrite = cache.getVersion();
+
+        // Act
+        cache.invalidate();
+        cache.put("all", versionBeforeWrite, transactions(2));
+
+        // Assert
+        assertNull(cache.get("all"));
+    }
+
+    @Test
+    public void put_OverLimit_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        TransactionCache cache = new TransactionCache(5);
+        long version = cache.getVersion();
+        cache.put("a", version, transactions(2));
+        cache.put("b", version, transactions(2));
+        cache.get("a");
+
+        // Act
+        cache.put("c", version, transactions(2));
+
+        // Assert
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void onTrimMemory_UiHidden_ShouldClearEntries() {
+        // Arrange
+        TransactionCache cache = new TransactionCache(10);
+        cache.put("all", cache.getVersion(), transactions(2));
+
+        // Act
+        cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+        // Assert
+        assertNull(cache.get("all"));
+    }
+
+    private static List<Transaction> transactions(int count) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(new Expense.Builder()
+                    .setId((long) i + 1)
+                    .setDescription("Expense " + i)
+                    .setAmount(new BigDecimal("10.00"))
+                    .setCategory("Food")
+                    .setDate(LocalDateTime.of(2024, 1, 1, 12, 0))
+                    .build());
+        }
+        return transactions;
+    }
+}
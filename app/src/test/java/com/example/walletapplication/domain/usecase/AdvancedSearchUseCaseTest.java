@@ -4,12 +4,14 @@ import com.example.walletapplication.domain.entity.Transaction;
 import com.example.walletapplication.domain.entity.TransactionType;
 import com.example.walletapplication.domain.entity.Expense;
 import com.example.walletapplication.domain.entity.Income;
+import com.example.walletapplication.domain.entity.SearchFilters;
 import com.example.walletapplication.domain.repository.TransactionRepository;
 import com.example.walletapplication.domain.usecase.transaction.AdvancedSearchUseCase;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -21,6 +23,9 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -98,12 +103,12 @@ public class AdvancedSearchUseCaseTest {
     }
 
     @Test
-    public void search_WithTextQuery_ShouldFilterByText() {
+    public void search_WithTextQuery_ShouldDelegateTextToRepository() {
         // Arrange
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
-                .setTextQuery("grocery");
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+                .setTextQuery("  grocery ");
+        when(mockRepository.searchTransactions(eq("grocery"), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockTransactions.subList(0, 1)));
 
         // Act
         CompletableFuture<List<Transaction>> result = advancedSearchUseCase.search(criteria);
@@ -112,184 +117,167 @@ public class AdvancedSearchUseCaseTest {
         assertNotNull(result);
         List<Transaction> transactions = result.join();
         assertEquals(1, transactions.size());
-        assertTrue(transactions.get(0).getDescription().toLowerCase().contains("grocery"));
+        assertFalse(captureFilters("grocery").hasActiveFilters());
+        verify(mockRepository, never()).getAllTransactions();
     }
 
     @Test
-    public void search_WithCategory_ShouldFilterByCategory() {
+    public void search_WithCategory_ShouldPassCategoryFilter() {
         // Arrange
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
                 .setCategory("Food");
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(isNull(), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(mockTransactions.get(0), mockTransactions.get(2))));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.search(criteria);
+        List<Transaction> transactions = advancedSearchUseCase.search(criteria).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
         assertEquals(2, transactions.size());
-        assertTrue(transactions.stream().allMatch(t -> t.getCategory().equals("Food")));
+        SearchFilters filters = captureFilters(null);
+        assertEquals("Food", filters.getCategory());
+        assertEquals(1, filters.getActiveFilterCount());
     }
 
     @Test
-    public void search_WithType_ShouldFilterByType() {
+    public void search_WithType_ShouldPassTypeFilter() {
         // Arrange
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
                 .setType(TransactionType.EXPENSE);
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(isNull(), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.search(criteria);
+        advancedSearchUseCase.search(criteria).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
-        assertEquals(2, transactions.size());
-        assertTrue(transactions.stream().allMatch(t -> t.getType() == TransactionType.EXPENSE));
+        assertEquals(TransactionType.EXPENSE, captureFilters(null).getType());
     }
 
     @Test
-    public void search_WithAmountRange_ShouldFilterByAmount() {
+    public void search_WithAmountRange_ShouldPassAmountFilters() {
         // Arrange
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
                 .setAmountRange(new BigDecimal("40.00"), new BigDecimal("80.00"));
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(isNull(), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.search(criteria);
+        advancedSearchUseCase.search(criteria).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
-        assertEquals(2, transactions.size());
-        assertTrue(transactions.stream().allMatch(t -> 
-            t.getAmount().compareTo(new BigDecimal("40.00")) >= 0 && 
-            t.getAmount().compareTo(new BigDecimal("80.00")) <= 0));
+        SearchFilters filters = captureFilters(null);
+        assertEquals(new BigDecimal("40.00"), filters.getMinAmount());
+        assertEquals(new BigDecimal("80.00"), filters.getMaxAmount());
     }
 
     @Test
-    public void search_WithDateRange_ShouldFilterByDate() {
+    public void search_WithDateRange_ShouldPassDateFilters() {
         // Arrange
         LocalDateTime startDate = LocalDateTime.now().minusDays(2);
         LocalDateTime endDate = LocalDateTime.now();
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
                 .setDateRange(startDate, endDate);
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(isNull(), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.search(criteria);
+        advancedSearchUseCase.search(criteria).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
-        assertEquals(2, transactions.size());
-        assertTrue(transactions.stream().allMatch(t -> 
-            !t.getDate().isBefore(startDate) && !t.getDate().isAfter(endDate)));
+        SearchFilters filters = captureFilters(null);
+        assertEquals(startDate, filters.getStartDate());
+        assertEquals(endDate, filters.getEndDate());
     }
 
     @Test
-    public void search_WithMultipleCriteria_ShouldApplyAllFilters() {
+    public void search_WithMultipleCriteria_ShouldIssueSingleQuery() {
         // Arrange
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
                 .setTextQuery("grocery")
                 .setCategory("Food")
                 .setType(TransactionType.EXPENSE)
                 .setAmountRange(new BigDecimal("40.00"), new BigDecimal("60.00"));
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(eq("grocery"), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockTransactions.subList(0, 1)));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.search(criteria);
+        List<Transaction> transactions = advancedSearchUseCase.search(criteria).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
         assertEquals(1, transactions.size());
-        Transaction transaction = transactions.get(0);
-        assertTrue(transaction.getDescription().toLowerCase().contains("grocery"));
-        assertEquals("Food", transaction.getCategory());
-        assertEquals(TransactionType.EXPENSE, transaction.getType());
-        assertTrue(transaction.getAmount().compareTo(new BigDecimal("40.00")) >= 0);
-        assertTrue(transaction.getAmount().compareTo(new BigDecimal("60.00")) <= 0);
+        SearchFilters expected = new SearchFilters.Builder()
+                .setCategory("Food")
+                .setType(TransactionType.EXPENSE)
+                .setMinAmount(new BigDecimal("40.00"))
+                .setMaxAmount(new BigDecimal("60.00"))
+                .build();
+        verify(mockRepository, times(1)).searchTransactions("grocery", expected);
+        verify(mockRepository, never()).getAllTransactions();
     }
 
     @Test
-    public void quickSearch_ValidQuery_ShouldReturnMatchingTransactions() {
+    public void quickSearch_ValidQuery_ShouldSearchByTextOnly() {
         // Arrange
         String query = "salary";
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(eq(query), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockTransactions.subList(1, 2)));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.quickSearch(query);
+        List<Transaction> transactions = advancedSearchUseCase.quickSearch(query).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
         assertEquals(1, transactions.size());
-        assertTrue(transactions.get(0).getDescription().toLowerCase().contains(query));
+        assertFalse(captureFilters(query).hasActiveFilters());
     }
 
     @Test
-    public void searchByCategoryAndType_ValidParameters_ShouldReturnFilteredTransactions() {
+    public void searchByCategoryAndType_ValidParameters_ShouldPassBothFilters() {
         // Arrange
-        String category = "Food";
-        TransactionType type = TransactionType.EXPENSE;
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(isNull(), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.searchByCategoryAndType(category, type);
+        advancedSearchUseCase.searchByCategoryAndType("Food", TransactionType.EXPENSE).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
-        assertEquals(2, transactions.size());
-        assertTrue(transactions.stream().allMatch(t -> 
-            t.getCategory().equals(category) && t.getType() == type));
+        SearchFilters filters = captureFilters(null);
+        assertEquals("Food", filters.getCategory());
+        assertEquals(TransactionType.EXPENSE, filters.getType());
     }
 
     @Test
-    public void searchByAmountRange_ValidRange_ShouldReturnFilteredTransactions() {
+    public void searchByAmountRange_ValidRange_ShouldPassAmountFilters() {
         // Arrange
         BigDecimal minAmount = new BigDecimal("50.00");
         BigDecimal maxAmount = new BigDecimal("100.00");
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(isNull(), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.searchByAmountRange(minAmount, maxAmount);
+        advancedSearchUseCase.searchByAmountRange(minAmount, maxAmount).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
-        assertEquals(2, transactions.size());
-        assertTrue(transactions.stream().allMatch(t -> 
-            t.getAmount().compareTo(minAmount) >= 0 && t.getAmount().compareTo(maxAmount) <= 0));
+        SearchFilters filters = captureFilters(null);
+        assertEquals(minAmount, filters.getMinAmount());
+        assertEquals(maxAmount, filters.getMaxAmount());
     }
 
     @Test
-    public void searchByDateRange_ValidRange_ShouldReturnFilteredTransactions() {
+    public void searchByDateRange_ValidRange_ShouldPassDateFilters() {
         // Arrange
         LocalDateTime startDate = LocalDateTime.now().minusDays(2);
         LocalDateTime endDate = LocalDateTime.now();
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(isNull(), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act
-        CompletableFuture<List<Transaction>> result = advancedSearchUseCase.searchByDateRange(startDate, endDate);
+        advancedSearchUseCase.searchByDateRange(startDate, endDate).join();
 
         // Assert
-        assertNotNull(result);
-        List<Transaction> transactions = result.join();
-        assertEquals(2, transactions.size());
-        assertTrue(transactions.stream().allMatch(t -> 
-            !t.getDate().isBefore(startDate) && !t.getDate().isAfter(endDate)));
+        SearchFilters filters = captureFilters(null);
+        assertEquals(startDate, filters.getStartDate());
+        assertEquals(endDate, filters.getEndDate());
     }
 
     @Test
@@ -297,8 +285,8 @@ public class AdvancedSearchUseCaseTest {
         // Arrange
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
                 .setTextQuery("nonexistent");
-        when(mockRepository.getAllTransactions())
-                .thenReturn(CompletableFuture.completedFuture(mockTransactions));
+        when(mockRepository.searchTransactions(eq("nonexistent"), any(SearchFilters.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
         // Act
         CompletableFuture<List<Transaction>> result = advancedSearchUseCase.search(criteria);
@@ -314,7 +302,7 @@ public class AdvancedSearchUseCaseTest {
         // Arrange
         AdvancedSearchUseCase.SearchCriteria criteria = new AdvancedSearchUseCase.SearchCriteria()
                 .setTextQuery("test");
-        when(mockRepository.getAllTransactions())
+        when(mockRepository.searchTransactions(eq("test"), any(SearchFilters.class)))
                 .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
 
         // Act
@@ -323,4 +311,10 @@ public class AdvancedSearchUseCaseTest {
         // Assert
         assertThrows(RuntimeException.class, result::join);
     }
+
+    private SearchFilters captureFilters(String expectedText) {
+        ArgumentCaptor<SearchFilters> captor = ArgumentCaptor.forClass(SearchFilters.class);
+        verify(mockRepository).searchTransactions(expectedText == null ? isNull() : eq(expectedText), captor.capture());
+        return captor.getValue();
+    }
 } 
\ No newline at end of file
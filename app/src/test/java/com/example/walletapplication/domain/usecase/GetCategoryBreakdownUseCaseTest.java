@@ -0,0 +1,92 @@
+package com.example.walletapplication.domain.usecase;
+
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.CategoryBreakdown;
+import com.example.walletapplication.domain.entity.TransactionType;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+import com.example.walletapplication.domain.usecase.report.GetCategoryBreakdownUseCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GetCategoryBreakdownUseCaseTest {
+
+    @Mock
+    private TransactionRepository mockRepository;
+
+    private GetCategoryBreakdownUseCase getCategoryBreakdownUseCase;
+
+    @Before
+    public void setUp() {
+        getCategoryBreakdownUseCase = new GetCategoryBreakdownUseCase(mockRepository);
+    }
+
+    @Test
+    public void execute_YearMonth_ShouldQueryWholeMonth() {
+        // Arrange
+        List<CategoryBreakdown> breakdown = Arrays.asList(
+                new CategoryBreakdown("Market", TransactionType.EXPENSE, new BigDecimal("250.00"), 4),
+                new CategoryBreakdown("Maaş", TransactionType.INCOME, new BigDecimal("100.00"), 1));
+        when(mockRepository.getCategoryBreakdown(
+                LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 2, 29, 23, 59, 59)))
+                .thenReturn(CompletableFuture.completedFuture(breakdown));
+
+        // Act
+        Result<List<CategoryBreakdown>> result = getCategoryBreakdownUseCase.execute(YearMonth.of(2024, 2)).join();
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(breakdown, result.getDataOrNull());
+        verify(mockRepository, never()).getTransactionsByDateRange(any(), any());
+    }
+
+    @Test
+    public void execute_InvalidRange_ShouldReturnValidationError() {
+        // Act
+        Result<List<CategoryBreakdown>> result = getCategoryBreakdownUseCase.execute(
+                LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0)).join();
+
+        // Assert
+        assertFalse(result.isSuccess());
+        verifyNoInteractions(mockRepository);
+    }
+
+    @Test
+    public void execute_InvalidYear_ShouldReturnValidationError() {
+        // Act
+        Result<List<CategoryBreakdown>> result = getCategoryBreakdownUseCase.execute(1000000).join();
+
+        // Assert
+        assertFalse(result.isSuccess());
+        verifyNoInteractions(mockRepository);
+    }
+
+    @Test
+    public void execute_RepositoryFails_ShouldReturnError() {
+        // Arrange
+        when(mockRepository.getCategoryBreakdown(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
+
+        // Act
+        Result<List<CategoryBreakdown>> result = getCategoryBreakdownUseCase.execute(2024).join();
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertNotNull(result.getErrorOrNull());
+    }
+}
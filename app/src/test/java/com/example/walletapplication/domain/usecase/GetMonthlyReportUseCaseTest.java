@@ -0,0 +1,90 @@
+package com.example.walletapplication.domain.usecase;
+
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.MonthlySummary;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+import com.example.walletapplication.domain.usecase.report.GetMonthlyReportUseCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GetMonthlyReportUseCaseTest {
+
+    @Mock
+    private TransactionRepository mockRepository;
+
+    private GetMonthlyReportUseCase getMonthlyReportUseCase;
+    private final YearMonth month = YearMonth.of(2024, 3);
+
+    @Before
+    public void setUp() {
+        getMonthlyReportUseCase = new GetMonthlyReportUseCase(mockRepository);
+    }
+
+    @Test
+    public void getMonthlySummary_ShouldUseRollupOnly() {
+        // Arrange
+        MonthlySummary summary = new MonthlySummary(month, new BigDecimal("3000.00"), new BigDecimal("125.50"), 1, 3);
+        when(mockRepository.getMonthlySummaries(month, month))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(summary)));
+
+        // Act
+        Result<MonthlySummary> result = getMonthlyReportUseCase.getMonthlySummary(month).join();
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(new BigDecimal("2874.50"), result.getDataOrNull().getBalance());
+        verify(mockRepository, never()).getTotalIncomeByDateRange(any(), any());
+        verify(mockRepository, never()).getTransactionsByDateRange(any(), any());
+    }
+
+    @Test
+    public void getMonthlySummary_NoRollupRows_ShouldReturnZeroTotals() {
+        // Arrange
+        when(mockRepository.getMonthlySummaries(month, month))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        // Act
+        Result<MonthlySummary> result = getMonthlyReportUseCase.getMonthlySummary(month).join();
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(MonthlySummary.empty(month), result.getDataOrNull());
+    }
+
+    @Test
+    public void getMonthlySummary_NullMonth_ShouldReturnValidationError() {
+        // Act
+        Result<MonthlySummary> result = getMonthlyReportUseCase.getMonthlySummary(null).join();
+
+        // Assert
+        assertTrue(result.isError());
+        verifyNoInteractions(mockRepository);
+    }
+
+    @Test
+    public void getMonthlySummary_RepositoryFails_ShouldReturnError() {
+        // Arrange
+        when(mockRepository.getMonthlySummaries(month, month))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
+
+        // Act
+        Result<MonthlySummary> result = getMonthlyReportUseCase.getMonthlySummary(month).join();
+
+        // Assert
+        assertTrue(result.isError());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.walletapplication.domain.usecase;
+
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.MonthlySummary;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+import com.example.walletapplication.domain.usecase.report.GetYearlyReportUseCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GetYearlyReportUseCaseTest {
+
+    @Mock
+    private TransactionRepository mockRepository;
+
+    private GetYearlyReportUseCase getYearlyReportUseCase;
+    private List<MonthlySummary> summaries;
+
+    @Before
+    public void setUp() {
+        getYearlyReportUseCase = new GetYearlyReportUseCase(mockRepository);
+
+        summaries = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            summaries.add(new MonthlySummary(YearMonth.of(2024, month),
+                    new BigDecimal("100.00"), new BigDecimal("40.00"), 1, 2));
+        }
+    }
+
+    @Test
+    public void getYearlyReport_ShouldAggregateTwelveBucketsWithoutTransactions() {
+        // Arrange
+        when(mockRepository.getMonthlySummaries(YearMonth.of(2024, 1), YearMonth.of(2024, 12)))
+                .thenReturn(CompletableFuture.completedFuture(summaries));
+
+        // Act
+        Result<GetYearlyReportUseCase.YearlyReport> result = getYearlyReportUseCase.getYearlyReport(2024).join();
+
+        // Assert
+        assertTrue(result.isSuccess());
+        GetYearlyReportUseCase.YearlyReport report = result.getDataOrNull();
+        assertEquals(12, report.getMonths().size());
+        assertEquals(new BigDecimal("1200.00"), report.getTotalIncome());
+        assertEquals(new BigDecimal("480.00"), report.getTotalExpense());
+        assertEquals(new BigDecimal("720.00"), report.getBalance());
+        assertEquals(36, report.getTransactionCount());
+        assertFalse(report.hasTransactions());
+        verify(mockRepository, times(1)).getMonthlySummaries(any(), any());
+        verify(mockRepository, never()).getTransactionsByDateRange(any(), any());
+    }
+
+    @Test
+    public void getYearlyReport_RepositoryFails_ShouldReturnError() {
+        // Arrange
+        when(mockRepository.getMonthlySummaries(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
+
+        // Act
+        Result<GetYearlyReportUseCase.YearlyReport> result = getYearlyReportUseCase.getYearlyReport(2024).join();
+
+        // Assert
+        assertTrue(result.isError());
+    }
+
+    @Test
+    public void getYearlyReport_InvalidYear_ShouldReturnValidationError() {
+        // Act
+        Result<GetYearlyReportUseCase.YearlyReport> result = getYearlyReportUseCase.getYearlyReport(0).join();
+
+        // Assert
+        assertTrue(result.isError());
+        verifyNoInteractions(mockRepository);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.walletapplication.domain.usecase;
+
+import android.content.Context;
+
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.repository.BackupRepository;
+import com.example.walletapplication.domain.repository.CategoryRepository;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+import com.example.walletapplication.domain.usecase.backup.ImportDataUseCase;
+import com.example.walletapplication.domain.usecase.backup.ImportDataUseCase.ImportSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the streaming import pipeline of ImportDataUseCase. The backup repository
+ * is faked so the parser stage runs on its own thread, as it does when reading a real file.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ImportDataUseCaseTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Mock
+    private TransactionRepository mockTransactionRepository;
+
+    @Mock
+    private CategoryRepository mockCategoryRepository;
+
+    @Mock
+    private BackupRepository mockBackupRepository;
+
+    @Mock
+    private Context mockContext;
+
+    private ExecutorService importExecutor;
+    private ExecutorService parserExecutor;
+    private ImportDataUseCase importDataUseCase;
+
+    @Before
+    public void setUp() {
+        importExecutor = Executors.newFixedThreadPool(2);
+        parserExecutor = Executors.newSingleThreadExecutor();
+        importDataUseCase = new ImportDataUseCase(mockTransactionRepository, mockCategoryRepository,
+                mockBackupRepository, mockContext, importExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        importExecutor.shutdownNow();
+        parserExecutor.shutdownNow();
+    }
+
+    @Test
+    public void importFromFile_MergeMode_ShouldCountImportedAndSkippedRows() throws Exception {
+        // Arrange
+        FakeBackupFile file = new FakeBackupFile(3, 2, -1);
+        givenBackupFile(file);
+        when(mockTransactionRepository.getLastTransactionId()).thenReturn(CompletableFuture.completedFuture(7L));
+        // One of the three rows is already stored
+        when(mockTransactionRepository.insertAllMissing(any(), eq(7L), any()))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(11L, 12L)));
+        when(mockCategoryRepository.upsertAll(any(), eq(false)))
+                .thenReturn(CompletableFuture.completedFuture(2));
+
+        // Act
+        Result<ImportSummary> result = importDataUseCase.importFromFile("backup.json.gz", false)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        ImportSummary summary = result.getDataOrNull();
+        assertEquals(2, summary.getTransactionsImported());
+        assertEquals(1, summary.getTransactionsSkipped());
+        assertEquals(2, summary.getCategoriesImported());
+        verify(mockTransactionRepository, never()).insertAll(any());
+    }
+
+    @Test
+    public void importFromFile_MergeOverSeveralBatches_ShouldShareMatchingState() throws Exception {
+        // Arrange: one row more than an import batch, so the rows reach the repository twice
+        FakeBackupFile file = new FakeBackupFile(501, 0, -1);
+        givenBackupFile(file);
+        when(mockTransactionRepository.getLastTransactionId()).thenReturn(CompletableFuture.completedFuture(7L));
+        List<Map<Long, Integer>> states = new ArrayList<>();
+        when(mockTransactionRepository.insertAllMissing(any(), eq(7L), any())).thenAnswer(invocation -> {
+            List<Transaction> batch = invocation.getArgument(0);
+            states.add(invocation.getArgument(2));
+            return CompletableFuture.completedFuture(new ArrayList<>(Collections.nCopies(batch.size(), 1L)));
+        });
+
+        // Act
+        Result<ImportSummary> result = importDataUseCase.importFromFile("backup.json.gz", false)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(501, result.getDataOrNull().getTransactionsImported());
+        assertEquals(2, states.size());
+        assertSame(states.get(0), states.get(1));
+    }
+
+    @Test
+    public void importFromFile_NoCategoriesArray_ShouldImportTransactions() throws Exception {
+        // Arrange
+        FakeBackupFile file = new FakeBackupFile(2, 0, -1);
+        givenBackupFile(file);
+        when(mockTransactionRepository.insertAll(any()))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(1L, 2L)));
+
+        // Act
+        Result<ImportSummary> result = importDataUseCase.importFromFile("backup.json.gz", true)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getDataOrNull().getTransactionsImported());
+        assertEquals(0, result.getDataOrNull().getCategoriesImported());
+        verify(mockCategoryRepository, never()).upsertAll(any(), anyBoolean());
+    }
+
+    @Test
+    public void importFromFile_WriterFails_ShouldAbortParser() throws Exception {
+        // Arrange
+        FakeBackupFile file = new FakeBackupFile(20_000, 2, -1);
+        givenBackupFile(file);
+        when(mockTransactionRepository.insertAll(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Disk full")));
+
+        // Act
+        Result<ImportSummary> result = importDataUseCase.importFromFile("backup.json.gz", true)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertNotNull(result.getErrorOrNull());
+        assertTrue(file.transactionsDelivered.get() < 20_000);
+        verify(mockTransactionRepository, times(1)).insertAll(any());
+        verify(mockCategoryRepository, never()).upsertAll(any(), anyBoolean());
+    }
+
+    @Test
+    public void importFromFile_ParserFails_ShouldStopWriter() throws Exception {
+        // Arrange
+        FakeBackupFile file = new FakeBackupFile(10, 2, 5);
+        givenBackupFile(file);
+
+        // Act
+        Result<ImportSummary> result = importDataUseCase.importFromFile("backup.json.gz", true)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertNotNull(result.getErrorOrNull());
+        assertEquals(5, file.transactionsDelivered.get());
+        verify(mockCategoryRepository, never()).upsertAll(any(), anyBoolean());
+    }
+
+    private void givenBackupFile(FakeBackupFile file) {
+        when(mockBackupRepository.readBackupFromFile(any(), any(), any())).thenAnswer(invocation -> {
+            BackupRepository.BackupVisitor visitor = invocation.getArgument(1);
+            return CompletableFuture.runAsync(() -> file.read(visitor), parserExecutor);
+        });
+    }
+
+    /**
+     * Streams generated records to the visitor, optionally failing after a number of
+     * transactions like a truncated file would
+     */
+    private static class FakeBackupFile {
+        private final int transactionCount;
+        private final int categoryCount;
+        private final int failAfter;
+        final AtomicInteger transactionsDelivered = new AtomicInteger();
+
+        FakeBackupFile(int transactionCount, int categoryCount, int failAfter) {
+            this.transactionCount = transactionCount;
+            this.categoryCount = categoryCount;
+            this.failAfter = failAfter;
+        }
+
+        void read(BackupRepository.BackupVisitor visitor) {
+            visitor.onHeader("1.0", LocalDateTime.of(2024, 1, 1, 0, 0), null);
+            for (int i = 0; i < transactionCount; i++) {
+                if (i == failAfter) {
+                    throw new IllegalStateException("Unexpected end of file");
+                }
+                visitor.onTransaction(transaction(i));
+                transactionsDelivered.incrementAndGet();
+            }
+            for (int i = 0; i < categoryCount; i++) {
+                visitor.onCategory(category(i));
+            }
+            // Without categories the fake file has no categories array at all
+            visitor.onEnd(true, categoryCount > 0);
+        }
+
+        private static BackupTransaction transaction(int index) {
+            return new BackupTransaction.Builder()
+                    .setAmount(new BigDecimal("12.50"))
+                    .setDescription("Market " + index)
+                    .setCategory("Market")
+                    .setDate(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(index))
+                    .setType("EXPENSE")
+                    .build();
+        }
+
+        private static BackupCategory category(int index) {
+            return new BackupCategory.Builder()
+                    .setName("category_" + index)
+                    .setDisplayName("Kategori " + index)
+                    .setType("EXPENSE")
+                    .build();
+        }
+    }
+}
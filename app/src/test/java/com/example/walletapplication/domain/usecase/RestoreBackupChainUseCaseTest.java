@@ -0,0 +1,301 @@
+package com.example.walletapplication.domain.usecase;
+
+import android.content.Context;
+
+import com.example.walletapplication.domain.common.Result;
+import com.example.walletapplication.domain.entity.BackupCategory;
+import com.example.walletapplication.domain.entity.BackupDeletion;
+import com.example.walletapplication.domain.entity.BackupMetadata;
+import com.example.walletapplication.domain.entity.BackupTransaction;
+import com.example.walletapplication.domain.entity.Category;
+import com.example.walletapplication.domain.entity.CategoryType;
+import com.example.walletapplication.domain.entity.Transaction;
+import com.example.walletapplication.domain.repository.BackupRepository;
+import com.example.walletapplication.domain.repository.CategoryRepository;
+import com.example.walletapplication.domain.repository.TransactionRepository;
+import com.example.walletapplication.domain.usecase.backup.ImportDataUseCase.ImportSummary;
+import com.example.walletapplication.domain.usecase.backup.RestoreBackupChainUseCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RestoreBackupChainUseCaseTest {
+    private static final String FULL_BACKUP = "wallet_backup.json.gz";
+    private static final String DELTA_BACKUP = "wallet_backup_incremental.json.gz";
+
+    @Mock
+    private TransactionRepository mockTransactionRepository;
+
+    @Mock
+    private CategoryRepository mockCategoryRepository;
+
+    @Mock
+    private BackupRepository mockBackupRepository;
+
+    @Mock
+    private Context mockContext;
+
+    private RestoreBackupChainUseCase restoreBackupChainUseCase;
+    private final Map<String, Consumer<BackupRepository.BackupVisitor>> files = new HashMap<>();
+    private final List<String> writes = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        restoreBackupChainUseCase = new RestoreBackupChainUseCase(mockTransactionRepository,
+                mockCategoryRepository, mockBackupRepository, mockContext, Runnable::run);
+    }
+
+    @Test
+    public void execute_EmptyChain_ShouldReturnValidationError() {
+        // Act
+        Result<ImportSummary> result = restoreBackupChainUseCase.execute(Collections.emptyList()).join();
+
+        // Assert
+        assertFalse(result.isSuccess());
+        verifyNoInteractions(mockTransactionRepository);
+    }
+
+    @Test
+    public void execute_FirstFileIncremental_ShouldReturnValidationError() {
+        // Arrange
+        givenMetadata(DELTA_BACKUP, metadata(20L, 10L));
+
+        // Act
+        Result<ImportSummary> result = restoreBackupChainUseCase.execute(Arrays.asList(DELTA_BACKUP)).join();
+
+        // Assert
+        assertFalse(result.isSuccess());
+        verify(mockTransactionRepository, never()).deleteAllTransactions();
+    }
+
+    @Test
+    public void execute_BrokenLink_ShouldNotTouchDatabase() {
+        // Arrange
+        givenMetadata(FULL_BACKUP, metadata(10L, null));
+        givenMetadata(DELTA_BACKUP, metadata(20L, 9L));
+
+        // Act
+        Result<ImportSummary> result = restoreBackupChainUseCase.execute(
+                Arrays.asList(FULL_BACKUP, DELTA_BACKUP)).join();
+
+        // Assert
+        assertFalse(result.isSuccess());
+        verify(mockTransactionRepository, never()).deleteAllTransactions();
+        verify(mockBackupRepository, never()).readBackupFromFile(any(), any());
+    }
+
+    @Test
+    public void execute_ChecksumMismatch_ShouldNotTouchDatabase() {
+        // Arrange
+        givenMetadata(FULL_BACKUP, metadata(10L, null));
+        givenMetadata(DELTA_BACKUP, metadata(20L, 10L));
+        when(mockBackupRepository.isValidBackupFile(FULL_BACKUP, true))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(mockBackupRepository.isValidBackupFile(DELTA_BACKUP, true))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        Result<ImportSummary> result = restoreBackupChainUseCase.execute(
+                Arrays.asList(FULL_BACKUP, DELTA_BACKUP)).join();
+
+        // Assert
+        assertFalse(result.isSuccess());
+        verify(mockTransactionRepository, never()).deleteAllTransactions();
+    }
+
+    @Test
+    public void execute_ValidChain_ShouldApplyDeltaByBackupId() {
+        // Arrange
+        givenValidChain();
+        recordTransactionUpserts();
+        recordTransactionDeletions();
+        recordCategoryUpserts();
+        recordCategoryDeletions();
+        files.put(FULL_BACKUP, visitor -> {
+            visitor.onHeader("1.0", LocalDateTime.now(), null);
+            visitor.onTransaction(transaction(1L, "10.00"));
+            visitor.onTransaction(transaction(2L, "20.00"));
+            visitor.onCategory(category("market"));
+            visitor.onEnd(true, true);
+        });
+        files.put(DELTA_BACKUP, visitor -> {
+            visitor.onHeader("1.0", LocalDateTime.now(), null);
+            visitor.onTransaction(transaction(2L, "25.00"));
+            visitor.onCategory(category("alisveris"));
+            // Renaming "market" wrote the new name and a tombstone for the old one
+            visitor.onDeletion(new BackupDeletion(BackupDeletion.TYPE_CATEGORY, "market"));
+            visitor.onDeletion(new BackupDeletion(BackupDeletion.TYPE_TRANSACTION, "1"));
+            visitor.onEnd(true, true);
+        });
+        Category market = new Category.Builder()
+                .setId(5L)
+                .setName("market")
+                .setDisplayName("Market")
+                .setType(CategoryType.EXPENSE)
+                .build();
+        when(mockCategoryRepository.getCategoryByName("market"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(market)));
+
+        // Act
+        Result<ImportSummary> result = restoreBackupChainUseCase.execute(
+                Arrays.asList(FULL_BACKUP, DELTA_BACKUP)).join();
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.getDataOrNull().getTransactionsImported());
+        assertEquals(2, result.getDataOrNull().getCategoriesImported());
+        assertEquals(Arrays.asList(
+                "deleteAll",
+                "upsertTransactions [1, 2]",
+                "upsertCategories [market]",
+                "upsertTransactions [2]",
+                "upsertCategories [alisveris]",
+                "deleteCategory 5",
+                "deleteTransactions [1]"), writes);
+    }
+
+    @Test
+    public void execute_DeltaWithoutTransactions_ShouldFlushCategoriesBeforeDeletions() {
+        // Arrange
+        givenValidChain();
+        recordTransactionDeletions();
+        recordCategoryUpserts();
+        files.put(FULL_BACKUP, visitor -> {
+            visitor.onHeader("1.0", LocalDateTime.now(), null);
+            visitor.onEnd(true, true);
+        });
+        files.put(DELTA_BACKUP, visitor -> {
+            visitor.onHeader("1.0", LocalDateTime.now(), null);
+            visitor.onCategory(category("fatura"));
+            visitor.onDeletion(new BackupDeletion(BackupDeletion.TYPE_TRANSACTION, "7"));
+            visitor.onDeletion(new BackupDeletion(BackupDeletion.TYPE_CATEGORY, "eski"));
+            visitor.onEnd(false, true);
+        });
+        when(mockCategoryRepository.getCategoryByName("eski"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // Act
+        Result<ImportSummary> result = restoreBackupChainUseCase.execute(
+                Arrays.asList(FULL_BACKUP, DELTA_BACKUP)).join();
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(Arrays.asList(
+                "deleteAll",
+                "upsertCategories [fatura]",
+                "deleteTransactions [7]"), writes);
+        verify(mockCategoryRepository, never()).deleteCategory(any());
+    }
+
+    private void givenMetadata(String filePath, BackupMetadata metadata) {
+        when(mockBackupRepository.readBackupMetadata(filePath))
+                .thenReturn(CompletableFuture.completedFuture(metadata));
+    }
+
+    /**
+     * Links DELTA_BACKUP to FULL_BACKUP and serves both from the files map
+     */
+    private void givenValidChain() {
+        givenMetadata(FULL_BACKUP, metadata(10L, null));
+        givenMetadata(DELTA_BACKUP, metadata(20L, 10L));
+        when(mockBackupRepository.isValidBackupFile(any(), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(mockBackupRepository.readBackupFromFile(any(), any())).thenAnswer(invocation -> {
+            String filePath = invocation.getArgument(0);
+            BackupRepository.BackupVisitor visitor = invocation.getArgument(1);
+            files.get(filePath).accept(visitor);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        when(mockTransactionRepository.deleteAllTransactions()).thenAnswer(invocation -> {
+            writes.add("deleteAll");
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private void recordTransactionUpserts() {
+        when(mockTransactionRepository.upsertAll(any())).thenAnswer(invocation -> {
+            List<Transaction> batch = invocation.getArgument(0);
+            List<Long> ids = new ArrayList<>();
+            for (Transaction transaction : batch) {
+                ids.add(transaction.getId());
+            }
+            writes.add("upsertTransactions " + ids);
+            return CompletableFuture.completedFuture(batch.size());
+        });
+    }
+
+    private void recordTransactionDeletions() {
+        when(mockTransactionRepository.deleteTransactions(any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            writes.add("deleteTransactions " + ids);
+            return CompletableFuture.completedFuture(ids.size());
+        });
+    }
+
+    private void recordCategoryUpserts() {
+        when(mockCategoryRepository.upsertAll(any(), eq(true))).thenAnswer(invocation -> {
+            List<Category> batch = invocation.getArgument(0);
+            List<String> names = new ArrayList<>();
+            for (Category category : batch) {
+                names.add(category.getName());
+            }
+            writes.add("upsertCategories " + names);
+            return CompletableFuture.completedFuture(batch.size());
+        });
+    }
+
+    private void recordCategoryDeletions() {
+        when(mockCategoryRepository.deleteCategory(any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            writes.add("deleteCategory " + id);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private static BackupMetadata metadata(Long changeSeq, Long baseChangeSeq) {
+        return new BackupMetadata.Builder()
+                .setChangeSeq(changeSeq)
+                .setBaseChangeSeq(baseChangeSeq)
+                .build();
+    }
+
+    private static BackupTransaction transaction(Long id, String amount) {
+        return new BackupTransaction.Builder()
+                .setId(id)
+                .setAmount(new BigDecimal(amount))
+                .setDescription("Market")
+                .setCategory("market")
+                .setDate(LocalDateTime.of(2024, 3, 1, 12, 0))
+                .setType("EXPENSE")
+                .build();
+    }
+
+    private static BackupCategory category(String name) {
+        return new BackupCategory.Builder()
+                .setName(name)
+                .setDisplayName(name)
+                .setType("EXPENSE")
+                .build();
+    }
+}